@@ -0,0 +1,172 @@
+package com.example.ddorang.common.config;
+
+import jdk.jfr.consumer.RecordingStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 가상 스레드 전환 전후의 요청 처리량과 캐리어 고정(pinning) 비교
+ *
+ * 요청 REQUESTS 개를 동시에 받아 각 요청이 JDBC 호출 한 번(ioMillis 동안 블로킹)을 하는 상황을 흉내냅니다.
+ * - threads=platform: Tomcat 기본값과 같은 크기(platformThreads)의 플랫폼 스레드 풀 (전환 전)
+ * - threads=virtual: 요청마다 가상 스레드 (spring.threads.virtual.enabled=true)
+ * - ioGuard=synchronized: Connector/J 8.0.x처럼 소켓 I/O를 모니터 안에서 수행 → 가상 스레드가 캐리어에 고정
+ * - ioGuard=lock: Connector/J 9.x처럼 ReentrantLock 안에서 수행 → 고정 없음
+ *
+ * 결과의 처리량 단위는 요청/초이고, pinnedEvents는 측정 구간에 발생한 jdk.VirtualThreadPinned 이벤트 수입니다.
+ * 캐리어 스레드 수를 고정하여 virtual+synchronized 조합이 캐리어 수만큼만 동시 처리되는 것을 드러냅니다.
+ * (JDK 21 기준 - JDK 24부터는 synchronized 안에서 블로킹해도 고정되지 않음)
+ *
+ * ./gradlew jmh -PjmhIncludes=VirtualThreadPinningBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=" + VirtualThreadPinningBenchmark.CARRIERS)
+@State(Scope.Benchmark)
+public class VirtualThreadPinningBenchmark {
+
+    static final String CARRIERS = "4";
+    static final int REQUESTS = 1000;
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // JFR 구독 스레드가 올리는 누적 고정 횟수 (포크된 JVM 하나에 벤치마크 하나)
+    private static final AtomicLong PINNED = new AtomicLong();
+    private static volatile CountDownLatch nextFlush = new CountDownLatch(0);
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"synchronized", "lock"})
+    public String ioGuard;
+
+    // server.tomcat.threads.max 기본값
+    @Param("200")
+    public int platformThreads;
+
+    @Param("20")
+    public int ioMillis;
+
+    private ExecutorService executor;
+    private RecordingStream pinning;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(threads)
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(platformThreads);
+
+        pinning = new RecordingStream();
+        pinning.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(ioMillis / 2));
+        pinning.onEvent(PINNED_EVENT, event -> PINNED.incrementAndGet());
+        pinning.onFlush(() -> nextFlush.countDown());
+        pinning.startAsync();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        pinning.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void handleRequests(Pinning counters) throws Exception {
+        List<Future<?>> requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            Connection connection = "lock".equals(ioGuard) ? new LockConnection() : new MonitorConnection();
+            requests.add(executor.submit(() -> connection.execute(ioMillis)));
+        }
+        for (Future<?> request : requests) {
+            request.get();
+        }
+    }
+
+    /**
+     * 측정 구간(iteration)마다 고정 이벤트 수를 결과에 함께 기록
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Pinning {
+
+        public long pinnedEvents;
+
+        private long startCount;
+
+        @Setup(Level.Iteration)
+        public void start() {
+            startCount = PINNED.get();
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() throws InterruptedException {
+            // JFR 이벤트는 주기적 flush 때 전달되므로 두 번의 flush를 기다린 뒤 집계
+            for (int i = 0; i < 2; i++) {
+                CountDownLatch flushed = new CountDownLatch(1);
+                nextFlush = flushed;
+                flushed.await(5, TimeUnit.SECONDS);
+            }
+            pinnedEvents = PINNED.get() - startCount;
+        }
+    }
+
+    // 드라이버 커넥션 - 요청마다 하나씩 사용하므로 잠금 경쟁은 없고 잠금 종류의 차이만 남음
+    private interface Connection {
+        void execute(int ioMillis);
+    }
+
+    private static final class MonitorConnection implements Connection {
+        @Override
+        public synchronized void execute(int ioMillis) {
+            blockOnSocket(ioMillis);
+        }
+    }
+
+    private static final class LockConnection implements Connection {
+        private final ReentrantLock lock = new ReentrantLock();
+
+        @Override
+        public void execute(int ioMillis) {
+            lock.lock();
+            try {
+                blockOnSocket(ioMillis);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static void blockOnSocket(int ioMillis) {
+        try {
+            Thread.sleep(ioMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
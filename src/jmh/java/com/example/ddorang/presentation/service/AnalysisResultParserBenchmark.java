@@ -0,0 +1,162 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.presentation.dto.AnalysisResultPayload;
+import com.example.ddorang.presentation.entity.PresentationFeedback;
+import com.example.ddorang.presentation.entity.SttResult;
+import com.example.ddorang.presentation.entity.VoiceAnalysis;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FastAPI 분석 결과 파싱 비교 - 스트리밍 파서(TeeParser) vs 이전 Map(트리 모델) 방식
+ *
+ * 같은 결과 조회 응답 바이트에서 VoiceAnalysis / SttResult / PresentationFeedback 와 캐시용 원문 JSON을 만듭니다.
+ * - streaming: AnalysisResultParser.parseEnvelope (토큰 단위로 한 번 읽으며 원문을 함께 기록)
+ * - treeModel: 응답 전체를 Map으로 읽고, 형변환으로 값을 꺼낸 뒤 피드백 목록과 원문을 다시 직렬화 (변경 전 방식)
+ *
+ * sentences는 awkward_sentences 항목 수 (transcription 길이도 함께 늘어남)입니다.
+ * 할당량은 -prof gc 로 함께 확인합니다.
+ *
+ * ./gradlew jmh -PjmhIncludes=AnalysisResultParserBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalysisResultParserBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    @Param({"10", "1000"})
+    public int sentences;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AnalysisResultParser parser;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        parser = new AnalysisResultParser(objectMapper);
+        body = objectMapper.writeValueAsBytes(envelope(sentences));
+    }
+
+    @Benchmark
+    public AnalysisResultPayload streaming() throws IOException {
+        return parser.parseEnvelope(new ByteArrayInputStream(body)).result();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public AnalysisResultPayload treeModel() throws IOException {
+        Map<String, Object> envelope = objectMapper.readValue(new ByteArrayInputStream(body), MAP_TYPE);
+        Map<String, Object> result = (Map<String, Object>) envelope.get("result");
+        Map<String, Object> feedback = (Map<String, Object>) result.get("feedback");
+
+        VoiceAnalysis voiceAnalysis = VoiceAnalysis.builder()
+            .intensityGrade(stringValue(result, "intensity_grade"))
+            .intensityDb(floatValue(result, "intensity_db"))
+            .pitchGrade(stringValue(result, "pitch_grade"))
+            .pitchAvg(floatValue(result, "pitch_avg"))
+            .wpmGrade(stringValue(result, "wpm_grade"))
+            .wpmAvg(floatValue(result, "wpm_avg"))
+            .anxietyGrade(stringValue(result, "anxiety_grade"))
+            .anxietyRatio(floatValue(result, "anxiety_ratio"))
+            .build();
+        SttResult sttResult = SttResult.builder()
+            .transcription(stringValue(result, "transcription"))
+            .pronunciationScore(floatValue(result, "pronunciation_score"))
+            .pronunciationGrade(stringValue(result, "pronunciation_grade"))
+            .adjustedScript(stringValue(result, "adjusted_script"))
+            .build();
+        PresentationFeedback presentationFeedback = PresentationFeedback.builder()
+            .frequentWords(objectMapper.writeValueAsString(feedback.get("frequent_words")))
+            .awkwardSentences(objectMapper.writeValueAsString(feedback.get("awkward_sentences")))
+            .difficultyIssues(objectMapper.writeValueAsString(feedback.get("difficulty_issues")))
+            .predictedQuestions(objectMapper.writeValueAsString(result.get("predicted_questions")))
+            .build();
+
+        return AnalysisResultPayload.builder()
+            .voiceAnalysis(voiceAnalysis)
+            .sttResult(sttResult)
+            .feedback(presentationFeedback)
+            .videoPath(stringValue(result, "video_path"))
+            .rawJson(objectMapper.writeValueAsString(result))
+            .empty(result.isEmpty())
+            .build();
+    }
+
+    private static String stringValue(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    private static Float floatValue(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        if (value instanceof Number number) {
+            return number.floatValue();
+        }
+        return value != null ? Float.parseFloat(value.toString()) : null;
+    }
+
+    // 실제 결과 조회 응답과 같은 구조의 본문
+    private static Map<String, Object> envelope(int sentences) {
+        List<Map<String, Object>> awkward = new ArrayList<>();
+        StringBuilder transcription = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            String sentence = "그래서 음 이번 발표에서는 " + i + "번째 내용을 설명드리겠습니다.";
+            awkward.add(Map.of("sentence", sentence, "reason", "군더더기 표현", "index", i));
+            transcription.append(sentence).append(' ');
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("video_path", "stored_videos/lecture.mp4");
+        result.put("intensity_grade", "보통");
+        result.put("intensity_db", 65.5);
+        result.put("intensity_text", "목소리 크기가 적절합니다");
+        result.put("pitch_grade", "좋음");
+        result.put("pitch_avg", 150.2);
+        result.put("wpm_grade", "빠름");
+        result.put("wpm_avg", 162);
+        result.put("anxiety_grade", "낮음");
+        result.put("anxiety_ratio", 0.12);
+        result.put("transcription", transcription.toString());
+        result.put("adjusted_script", transcription.toString());
+        result.put("pronunciation_score", 0.82);
+        result.put("pronunciation_grade", "B");
+        result.put("feedback", Map.of(
+            "frequent_words", List.of(
+                Map.of("word", "음", "count", sentences),
+                Map.of("word", "그래서", "count", sentences)),
+            "awkward_sentences", awkward,
+            "difficulty_issues", List.of(Map.of("term", "파이프라인", "suggestion", "단계별 전송"))));
+        result.put("predicted_questions", List.of("전송 실패 시 재시도는 어떻게 하나요?", "청크 크기는 어떻게 정하나요?"));
+
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("status", "completed");
+        envelope.put("job_id", "fastapi-job-1");
+        envelope.put("client_job_id", "spring-job-1");
+        envelope.put("result", result);
+        return envelope;
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.ddorang.presentation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 청크 크기별 업로드 시간 비교 - 로컬 가짜 FastAPI /analysis 엔드포인트 대상
+ *
+ * fileSizeMb 크기 파일을 VideoChunkService로 업로드하는 데 걸린 시간을 잽니다.
+ * 가짜 엔드포인트는 모든 연결이 나눠 쓰는 linkMbps 대역폭으로 본문을 읽고,
+ * 청크마다 requestOverheadMillis 만큼 처리 시간(저장, 응답)을 더합니다.
+ * - chunkSizeMb=숫자: 해당 크기로 고정 (min/max/default를 같은 값으로)
+ * - chunkSizeMb=adaptive: ChunkSizePolicy 기본 설정 (앞선 업로드의 전송 속도로 다음 업로드의 크기 결정)
+ *
+ * 결과의 chunkSizeMb / measuredMbps는 측정 구간 마지막 업로드에서 정책이 고른 크기와
+ * 정책이 측정한 전송 속도(fastapi.upload.throughput)입니다. 전체 MB/s는 fileSizeMb / 소요 시간입니다.
+ *
+ * ./gradlew jmh -PjmhIncludes=ChunkSizeBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChunkSizeBenchmark {
+
+    private static final long MB = 1024 * 1024;
+    private static final String ACK = "{\"job_id\":\"bench-job\",\"status\":\"received\","
+        + "\"save_path\":\"/app/uploads/stored_videos/bench.mp4\"}";
+
+    @Param({"8", "32", "100", "adaptive"})
+    public String chunkSizeMb;
+
+    @Param({"1", "3"})
+    public int pipelineWindow;
+
+    @Param("256")
+    public int fileSizeMb;
+
+    @Param("50")
+    public int linkMbps;
+
+    @Param("100")
+    public int requestOverheadMillis;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private AnnotationConfigApplicationContext context;
+    private VideoChunkService videoChunkService;
+    private ChunkSizePolicy chunkSizePolicy;
+    private File video;
+
+    // 가짜 링크가 다음 바이트를 받을 수 있는 시각 (모든 연결이 대역폭을 나눠 씀)
+    private final AtomicLong linkFreeAt = new AtomicLong();
+    // 이번 업로드에서 받은 가장 큰 청크 (마지막 청크를 제외하면 모두 같은 크기)
+    private volatile long lastChunkSize;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        video = File.createTempFile("chunk-benchmark", ".mp4");
+        try (RandomAccessFile file = new RandomAccessFile(video, "rw")) {
+            file.setLength(fileSizeMb * MB);
+        }
+
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/analysis", this::handleChunk);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties()));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(ObjectMapper.class, ObjectMapper::new);
+        // 운영 설정과 같이 본문을 버퍼링하지 않고 스트리밍하는 클라이언트
+        context.registerBean("fastApiUploadRestTemplate", RestTemplate.class,
+            () -> new RestTemplate(new HttpComponentsClientHttpRequestFactory(HttpClients.createDefault())));
+        context.registerBean("chunkUploadExecutor", ThreadPoolTaskExecutor.class, () -> {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(pipelineWindow);
+            return executor;
+        });
+        context.registerBean(ChunkUploadLedgerService.class, () -> mock(ChunkUploadLedgerService.class));
+        context.registerBean(AnalysisProgressTracker.class, () -> mock(AnalysisProgressTracker.class));
+        context.registerBean(AnalysisCancellationService.class, () -> mock(AnalysisCancellationService.class));
+        context.register(VideoChunkService.class, ChunkSizePolicy.class, MemoryPressureGate.class,
+            FastApiCircuitBreakers.class, FastApiEndpointPool.class);
+        context.refresh();
+
+        videoChunkService = context.getBean(VideoChunkService.class);
+        chunkSizePolicy = context.getBean(ChunkSizePolicy.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        video.delete();
+    }
+
+    @Benchmark
+    public String upload(PolicyCounters counters) {
+        lastChunkSize = 0;
+        String jobId = videoChunkService.uploadVideoInChunks(video, Map.of(), null);
+        counters.chunkSizeMb = lastChunkSize / MB;
+        counters.measuredMbps = Math.round(chunkSizePolicy.currentThroughputMbps());
+        return jobId;
+    }
+
+    /**
+     * 정책이 고른 청크 크기와 측정한 전송 속도를 결과에 함께 기록
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PolicyCounters {
+        public long chunkSizeMb;
+        public long measuredMbps;
+    }
+
+    private Map<String, Object> properties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("fastapi.endpoints", "http://localhost:" + server.getAddress().getPort());
+        properties.put("fastapi.upload.pipeline-window", pipelineWindow);
+        if (!"adaptive".equals(chunkSizeMb)) {
+            properties.put("fastapi.upload.chunk.single-chunk-max-mb", 0);
+            properties.put("fastapi.upload.chunk.default-size-mb", chunkSizeMb);
+            properties.put("fastapi.upload.chunk.min-size-mb", chunkSizeMb);
+            properties.put("fastapi.upload.chunk.max-size-mb", chunkSizeMb);
+        }
+        return properties;
+    }
+
+    // 가짜 FastAPI /analysis: 공유 대역폭으로 본문을 읽고 처리 시간 후 ack
+    private void handleChunk(HttpExchange exchange) throws IOException {
+        long received = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream body = exchange.getRequestBody()) {
+            int read;
+            while ((read = body.read(buffer)) > 0) {
+                received += read;
+                throttle(read);
+            }
+        }
+        lastChunkSize = Math.max(lastChunkSize, received);
+        sleep(requestOverheadMillis);
+
+        byte[] response = ACK.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    // 링크에서 bytes 만큼의 전송 시간을 예약하고 그 시각까지 대기
+    private void throttle(int bytes) {
+        long cost = bytes * 1_000_000_000L / (linkMbps * MB);
+        long now = System.nanoTime();
+        long done = linkFreeAt.accumulateAndGet(now, (freeAt, current) -> Math.max(freeAt, current) + cost);
+        long waitNanos = done - now;
+        if (waitNanos > 0) {
+            sleep(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
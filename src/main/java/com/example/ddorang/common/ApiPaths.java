@@ -17,4 +17,7 @@ public interface ApiPaths {
 
     /* Logout */
     String TOKEN_LOGOUT = "/token/logout";
+
+    /* FastAPI 분석 완료 콜백 (HMAC 서명 인증) */
+    String ANALYSIS_CALLBACK = ROOT + "/internal/analysis-callback";
 }
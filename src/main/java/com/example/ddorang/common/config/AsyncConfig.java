@@ -1,14 +1,26 @@
 package com.example.ddorang.common.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -18,33 +30,142 @@ import java.util.concurrent.ThreadPoolExecutor;
  * @Scheduled 어노테이션을 활성화하여 주기적 작업 실행을 지원합니다.
  * VideoAnalysisService의 비동기 영상 분석에 필요
  *
- * 스레드 풀 설정:
- * - Core Pool: 5개 (기본 유지 스레드)
- * - Max Pool: 20개 (최대 스레드)
- * - Queue Capacity: 100개 (대기열)
+ * 작업 종류별로 스레드 풀을 분리하여(bulkhead) 한 종류의 과부하가 다른 작업을 굶기지 않도록 합니다.
+ * - 기본 풀 (@Async 이름 미지정): core 5 / max 20 / queue 100
+ * - analysisUploadExecutor: 대용량 영상 업로드. 작업 큐(worker-slots)가 동시 실행 수를 제한하므로 거부 시 작업 큐가 재시도
+ * - analysisPollingExecutor: 분석 결과 상태 조회. 가벼운 네트워크 호출, 포화 시 폴러 스레드가 직접 실행
+ * - mailExecutor: SMTP 발송. 느린 메일 서버가 다른 작업을 막지 않도록 분리, 포화 시 거부(RejectedExecutionException)
+ *   - 호출한 쪽이 거부를 알 수 있도록 조용히 버리지 않음 (OutboxService는 점유 전 거부된 이벤트를 다음 조회 때 재전달)
+ * - notificationExecutor: 알림 저장/웹소켓 전송. 포화 시 호출 스레드가 직접 실행
+ * - chunkUploadExecutor: 파이프라인 업로드 시 중간 청크 동시 전송 (업로드 1건당 동시 전송 수는 fastapi.upload.pipeline-window 로 제한)
+ * - taskScheduler: @Scheduled 작업 (작업 큐 heartbeat가 긴 폴링 주기에 밀리지 않도록 여러 스레드 사용)
+ *
+ * 각 풀은 executor 메트릭(executor.active, executor.queued 등, name 태그)과
+ * 거부 횟수(executor.rejected.count)를 Micrometer로 노출합니다.
+ *
+ * spring.threads.virtual.enabled=true 이면 가상 스레드 모드로 동작합니다.
+ * - Tomcat 요청 처리 스레드는 Spring Boot가 가상 스레드로 전환
+ * - 위 풀들은 작업마다 가상 스레드를 만드는 executor로 바뀌고, 풀 크기는 동시 실행 한도(bulkhead)로 유지
+ *   (한도 초과 시 upload/mail은 거부, 나머지는 호출 스레드가 대기 - 가상 스레드 대기는 비용이 거의 없음)
+ * - 가상 스레드 모드에서는 스레드 풀 메트릭 대신 동시 실행 한도만 적용됨
+ * 가상 스레드 I/O의 대부분은 JDBC 드라이버 안에서 일어나므로, 캐리어 스레드 고정(pinning)을 피하려면
+ * I/O 경로에 ReentrantLock을 쓰는 MySQL Connector/J 9.x가 필요합니다 (8.0.x는 소켓 I/O를 synchronized 안에서 수행).
+ * 고정 시간은 jvm.threads.virtual.pinned 메트릭(VirtualThreadPinningMonitor)으로 측정합니다.
  */
 @Configuration
 @EnableAsync
 @EnableScheduling
+@RequiredArgsConstructor
 @Slf4j
 public class AsyncConfig implements AsyncConfigurer {
 
+    private final MeterRegistry meterRegistry;
+
+    @Value("${fastapi.upload.transmit-threads:8}")
+    private int chunkTransmitThreads;
+
+    @Value("${app.executor.upload.threads:${fastapi.queue.worker-slots:5}}")
+    private int uploadThreads;
+
+    @Value("${app.executor.polling.threads:4}")
+    private int pollingThreads;
+
+    @Value("${app.executor.polling.queue:100}")
+    private int pollingQueue;
+
+    @Value("${app.executor.mail.threads:2}")
+    private int mailThreads;
+
+    @Value("${app.executor.mail.queue:200}")
+    private int mailQueue;
+
+    @Value("${app.executor.notification.threads:4}")
+    private int notificationThreads;
+
+    @Value("${app.executor.notification.queue:200}")
+    private int notificationQueue;
+
+    @Value("${app.executor.scheduler.threads:4}")
+    private int schedulerThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Override
     public Executor getAsyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("async-video-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        executor.initialize();
+        if (virtualThreads) {
+            return buildVirtualExecutor("async-video", 20, false);
+        }
+        return buildExecutor("async-video", 5, 20, 100, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
 
-        log.info("비동기 스레드 풀 설정 완료: core={}, max={}, queue={}",
-            executor.getCorePoolSize(),
-            executor.getMaxPoolSize(),
-            executor.getQueueCapacity());
+    @Bean(name = "analysisUploadExecutor")
+    public Executor analysisUploadExecutor() {
+        if (virtualThreads) {
+            return buildVirtualExecutor("analysis-upload", uploadThreads, true);
+        }
+        // 동시 실행 수는 작업 큐가 이미 제한하므로 대기열은 최소로 유지
+        return buildExecutor("analysis-upload", uploadThreads, uploadThreads, uploadThreads,
+            new ThreadPoolExecutor.AbortPolicy());
+    }
 
-        return executor;
+    @Bean(name = "analysisPollingExecutor")
+    public Executor analysisPollingExecutor() {
+        if (virtualThreads) {
+            return buildVirtualExecutor("analysis-polling", pollingThreads, false);
+        }
+        return buildExecutor("analysis-polling", pollingThreads, pollingThreads, pollingQueue,
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Bean(name = "mailExecutor")
+    public Executor mailExecutor() {
+        if (virtualThreads) {
+            return buildVirtualExecutor("mail", mailThreads, true);
+        }
+        // 거부는 executor.rejected.count{name=mail}로 집계한 뒤 호출한 쪽에 예외로 알림
+        return buildExecutor("mail", mailThreads, mailThreads, mailQueue,
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean(name = "notificationExecutor")
+    public Executor notificationExecutor() {
+        if (virtualThreads) {
+            return buildVirtualExecutor("notification", notificationThreads, false);
+        }
+        return buildExecutor("notification", notificationThreads, notificationThreads, notificationQueue,
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Bean(name = "chunkUploadExecutor")
+    public Executor chunkUploadExecutor() {
+        if (virtualThreads) {
+            return buildVirtualExecutor("chunk-upload", chunkTransmitThreads, false);
+        }
+        // 대기열이 가득 차면 업로드 작업 스레드가 직접 전송 (자연스러운 back-pressure)
+        return buildExecutor("chunk-upload", chunkTransmitThreads, chunkTransmitThreads, chunkTransmitThreads * 4,
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Bean(name = "taskScheduler")
+    public TaskScheduler taskScheduler() {
+        if (virtualThreads) {
+            // 실행마다 새 가상 스레드 사용 - 긴 폴링 주기가 heartbeat를 막지 않음
+            SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setVirtualThreads(true);
+            scheduler.setThreadNamePrefix("scheduling-");
+            log.info("스케줄러 가상 스레드 모드 설정 완료");
+            return scheduler;
+        }
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(schedulerThreads);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.initialize();
+
+        ExecutorServiceMetrics.monitor(meterRegistry, scheduler.getScheduledExecutor(), "scheduling", List.of());
+        log.info("스케줄러 스레드 풀 설정 완료: threads={}", schedulerThreads);
+        return scheduler;
     }
 
     @Override
@@ -54,4 +175,52 @@ public class AsyncConfig implements AsyncConfigurer {
                 method.getName(), ex.getMessage(), ex);
         };
     }
-}
\ No newline at end of file
+
+    private ThreadPoolTaskExecutor buildExecutor(String name, int coreSize, int maxSize, int queueCapacity,
+                                                 RejectedExecutionHandler rejectionPolicy) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(name + "-");
+        executor.setRejectedExecutionHandler(countingRejections(name, rejectionPolicy));
+        executor.initialize();
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), name, List.of());
+
+        log.info("{} 스레드 풀 설정 완료: core={}, max={}, queue={}",
+            name, executor.getCorePoolSize(), executor.getMaxPoolSize(), executor.getQueueCapacity());
+
+        return executor;
+    }
+
+    /**
+     * 가상 스레드 executor - 작업마다 가상 스레드를 만들고 동시 실행 수만 제한
+     * rejectWhenFull=false 이면 한도 초과 시 호출 스레드가 빈 자리가 날 때까지 대기
+     */
+    private SimpleAsyncTaskExecutor buildVirtualExecutor(String name, int concurrencyLimit, boolean rejectWhenFull) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(name + "-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setRejectTasksWhenLimitReached(rejectWhenFull);
+
+        log.info("{} 가상 스레드 executor 설정 완료: concurrencyLimit={}, rejectWhenFull={}",
+            name, concurrencyLimit, rejectWhenFull);
+
+        return executor;
+    }
+
+    // 거부 횟수를 기록한 뒤 원래 정책에 위임
+    private RejectedExecutionHandler countingRejections(String name, RejectedExecutionHandler delegate) {
+        Counter rejected = Counter.builder("executor.rejected.count")
+            .tag("name", name)
+            .description("스레드 풀 포화로 거부된 작업 수")
+            .register(meterRegistry);
+        return (task, executor) -> {
+            rejected.increment();
+            log.warn("{} 스레드 풀 포화 - 작업 거부 (active={}, queued={})",
+                name, executor.getActiveCount(), executor.getQueue().size());
+            delegate.rejectedExecution(task, executor);
+        };
+    }
+}
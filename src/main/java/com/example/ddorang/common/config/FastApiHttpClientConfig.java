@@ -0,0 +1,173 @@
+package com.example.ddorang.common.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * FastAPI 분석 서버 전용 HTTP 클라이언트 설정
+ *
+ * - 모든 FastAPI 호출이 하나의 연결 풀(route별 상한)을 공유하여 청크/폴링마다 TCP/TLS 연결을 새로 맺지 않음
+ * - 인터셉터를 두지 않아 요청 본문을 byte[]로 버퍼링하지 않고 multipart 본문을 그대로 스트리밍
+ * - 작업 종류(청크 업로드 / 결과 폴링 / 대본 최적화·비교)별로 연결·읽기·유휴 타임아웃을 따로 적용
+ * - 대본 최적화·비교의 비동기 호출은 공유 WebClient(fastApiWebClient)가 별도의 Reactor Netty 연결 풀을 사용
+ *
+ * 유휴 타임아웃은 FastAPI(uvicorn)의 keep-alive 시간(--timeout-keep-alive, 기본 5초)보다 짧아야
+ * 서버가 먼저 닫은 연결을 재사용하는 일이 없습니다.
+ */
+@Configuration
+@Slf4j
+public class FastApiHttpClientConfig {
+
+    @Value("${fastapi.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${fastapi.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    // 이 시간 이상 쉬었던 연결은 재사용 전에 살아있는지 확인
+    @Value("${fastapi.http.validate-after-inactivity-millis:2000}")
+    private long validateAfterInactivityMillis;
+
+    @Bean(name = "fastApiHttpClient")
+    public CloseableHttpClient fastApiHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMillis))
+                .build())
+            .build();
+
+        log.info("FastAPI HTTP 연결 풀 설정 완료: max={}, perRoute={}", maxConnections, maxConnectionsPerRoute);
+
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            // keep-alive 만료된 연결을 백그라운드에서 정리
+            .evictExpiredConnections()
+            .build();
+    }
+
+    /**
+     * 청크 업로드용 - 큰 청크(최대 fastapi.upload.chunk.max-size-mb) 전송 후 FastAPI 응답까지 기다리므로 읽기 타임아웃이 김
+     */
+    @Bean(name = "fastApiUploadRestTemplate")
+    public RestTemplate fastApiUploadRestTemplate(
+            RestTemplateBuilder builder,
+            @Qualifier("fastApiHttpClient") CloseableHttpClient httpClient,
+            @Value("${fastapi.http.upload.connect-timeout-millis:5000}") long connectTimeoutMillis,
+            @Value("${fastapi.http.upload.read-timeout-millis:300000}") long readTimeoutMillis,
+            @Value("${fastapi.http.upload.idle-timeout-millis:4000}") long idleTimeoutMillis) {
+        return buildRestTemplate(builder, httpClient, "upload", connectTimeoutMillis, readTimeoutMillis, idleTimeoutMillis);
+    }
+
+    /**
+     * 결과 폴링용 - 가벼운 GET이므로 짧은 타임아웃
+     */
+    @Bean(name = "fastApiPollRestTemplate")
+    public RestTemplate fastApiPollRestTemplate(
+            RestTemplateBuilder builder,
+            @Qualifier("fastApiHttpClient") CloseableHttpClient httpClient,
+            @Value("${fastapi.http.poll.connect-timeout-millis:2000}") long connectTimeoutMillis,
+            @Value("${fastapi.http.poll.read-timeout-millis:10000}") long readTimeoutMillis,
+            @Value("${fastapi.http.poll.idle-timeout-millis:4000}") long idleTimeoutMillis) {
+        return buildRestTemplate(builder, httpClient, "poll", connectTimeoutMillis, readTimeoutMillis, idleTimeoutMillis);
+    }
+
+    /**
+     * 대본 최적화/비교용 - LLM 응답 시간을 고려한 읽기 타임아웃
+     */
+    @Bean(name = "fastApiScriptRestTemplate")
+    public RestTemplate fastApiScriptRestTemplate(
+            RestTemplateBuilder builder,
+            @Qualifier("fastApiHttpClient") CloseableHttpClient httpClient,
+            @Value("${fastapi.http.script.connect-timeout-millis:3000}") long connectTimeoutMillis,
+            @Value("${fastapi.http.script.read-timeout-millis:120000}") long readTimeoutMillis,
+            @Value("${fastapi.http.script.idle-timeout-millis:4000}") long idleTimeoutMillis) {
+        return buildRestTemplate(builder, httpClient, "script", connectTimeoutMillis, readTimeoutMillis, idleTimeoutMillis);
+    }
+
+    /**
+     * 비동기 대본 최적화/비교용 Reactor Netty 연결 풀 (종료 시 연결 정리)
+     */
+    @Bean(name = "fastApiConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider fastApiConnectionProvider(
+            @Value("${fastapi.http.script.connect-timeout-millis:3000}") long connectTimeoutMillis,
+            @Value("${fastapi.http.script.idle-timeout-millis:4000}") long idleTimeoutMillis) {
+        return ConnectionProvider.builder("fastapi")
+            .maxConnections(maxConnectionsPerRoute)
+            // 풀이 가득 찼을 때 연결을 기다리는 시간
+            .pendingAcquireTimeout(Duration.ofMillis(connectTimeoutMillis))
+            .maxIdleTime(Duration.ofMillis(idleTimeoutMillis))
+            .evictInBackground(Duration.ofSeconds(30))
+            .build();
+    }
+
+    /**
+     * 비동기 대본 최적화/비교용 공유 WebClient - 호출마다 새로 만들지 않음
+     */
+    @Bean(name = "fastApiWebClient")
+    public WebClient fastApiWebClient(
+            WebClient.Builder builder,
+            @Qualifier("fastApiConnectionProvider") ConnectionProvider connectionProvider,
+            @Value("${fastapi.base-url:http://localhost:8000}") String fastApiBaseUrl,
+            @Value("${fastapi.http.script.connect-timeout-millis:3000}") long connectTimeoutMillis,
+            @Value("${fastapi.http.script.read-timeout-millis:120000}") long readTimeoutMillis) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeoutMillis)
+            .responseTimeout(Duration.ofMillis(readTimeoutMillis));
+
+        return builder
+            .baseUrl(fastApiBaseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+
+    @SuppressWarnings("deprecation") // RequestConfig 연결 타임아웃은 요청별 값이 ConnectionConfig보다 우선 적용됨
+    private RestTemplate buildRestTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient, String operation,
+                                           long connectTimeoutMillis, long readTimeoutMillis, long idleTimeoutMillis) {
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+            // 풀에서 연결을 얻기까지의 대기 시간 (풀 포화 시)
+            .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+            .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+            // 서버가 Keep-Alive 헤더를 주지 않을 때 연결을 재사용할 수 있는 유휴 시간
+            .setConnectionKeepAlive(TimeValue.ofMilliseconds(idleTimeoutMillis))
+            .build();
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfig);
+            return context;
+        });
+
+        log.info("FastAPI {} HTTP 클라이언트 설정 완료: connect={}ms, read={}ms, idle={}ms",
+            operation, connectTimeoutMillis, readTimeoutMillis, idleTimeoutMillis);
+
+        return builder
+            .requestFactory(() -> requestFactory)
+            .build();
+    }
+}
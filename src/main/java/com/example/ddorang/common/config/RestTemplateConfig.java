@@ -3,22 +3,18 @@ package com.example.ddorang.common.config;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.MediaType;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.converter.StringHttpMessageConverter;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
-import org.springframework.http.client.ClientHttpRequestInterceptor;
-import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.http.client.ClientHttpRequestExecution;
-import org.springframework.http.HttpRequest;
 
 import java.time.Duration;
 import java.nio.charset.StandardCharsets;
-import java.io.IOException;
-import java.util.Collections;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * 범용 RestTemplate 설정
+ * FastAPI 분석 서버 호출은 연결 풀을 사용하는 전용 클라이언트(FastApiHttpClientConfig)를 사용
+ */
 @Configuration
 @Slf4j
 public class RestTemplateConfig {
@@ -39,46 +35,8 @@ public class RestTemplateConfig {
             }
         });
 
-        restTemplate.setInterceptors(Collections.singletonList(new ClientHttpRequestInterceptor() {
-            @Override
-            public ClientHttpResponse intercept(
-                    HttpRequest request, 
-                    byte[] body, 
-                    ClientHttpRequestExecution execution) throws IOException {
-                
-                log.info("=== RestTemplate 요청 로그 (수정된 설정) ===");
-                log.info("URI: {}", request.getURI());
-                log.info("Method: {}", request.getMethod());
-                log.info("Headers: {}", request.getHeaders());
-
-                // Content-Type이 null이 아니고 multipart가 아닐 때만 body 로깅
-                MediaType contentType = request.getHeaders().getContentType();
-                if (contentType == null || !contentType.includes(MediaType.MULTIPART_FORM_DATA)) {
-                    if (body.length > 0 && body.length < 2048) {
-                        log.info("Body preview (first {} bytes): {}", Math.min(body.length, 64), new String(body, 0, Math.min(body.length, 64), StandardCharsets.UTF_8));
-                    }
-                }
-                log.info("Full Body length: {} bytes", body.length);
-                
-                // 요청 전송 시작 시간 기록
-                long startTime = System.currentTimeMillis();
-                log.info("요청 전송 시작 시간: {}", new java.util.Date(startTime));
-                
-                ClientHttpResponse response = execution.execute(request, body);
-                
-                // 응답 수신 시간 기록
-                long endTime = System.currentTimeMillis();
-                long duration = endTime - startTime;
-                log.info("요청 완료 시간: {} (소요 시간: {}초)", new java.util.Date(endTime), duration / 1000.0);
-                
-                log.info("=== RestTemplate 응답 로그 (수정된 설정) ===");
-                log.info("Status: {}", response.getStatusCode());
-                log.info("Response Headers: {}", response.getHeaders());
-                
-                return response;
-            }
-        }));
+        // 요청 로깅 인터셉터는 두지 않음 - 인터셉터가 있으면 요청 본문 전체를 byte[]로 버퍼링함
 
         return restTemplate;
     }
-} 
\ No newline at end of file
+}
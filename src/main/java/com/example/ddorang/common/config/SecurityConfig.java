@@ -55,7 +55,8 @@ public class SecurityConfig {
                                 "/api/files/**",
                                 "/api/oauth2/login/success",
                                 "/api/oauth2/refresh",
-                                "/ws/**"
+                                "/ws/**",
+                                ApiPaths.ANALYSIS_CALLBACK
                                 ).permitAll()
                         .requestMatchers("/api/settings/**",
                                 "/api/teams/**", 
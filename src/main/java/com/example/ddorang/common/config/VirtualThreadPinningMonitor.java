@@ -0,0 +1,103 @@
+package com.example.ddorang.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 가상 스레드 캐리어 고정(pinning) 측정
+ *
+ * JFR의 jdk.VirtualThreadPinned 이벤트(threshold 이상 고정된 경우)를 앱 안에서 구독하여
+ * jvm.threads.virtual.pinned (Timer, source 태그) 메트릭으로 노출합니다.
+ * source는 고정을 일으킨 첫 번째 비 JDK 프레임의 패키지 앞 두 단계입니다 (예: com.mysql, com.example).
+ * JDBC 드라이버 교체 같은 변경 전후로 같은 부하를 주고 이 메트릭을 비교합니다.
+ *
+ * 가상 스레드 모드(spring.threads.virtual.enabled=true)에서만 동작합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final MeterRegistry meterRegistry;
+
+    // 이보다 짧은 고정은 기록하지 않음 (JFR 기본값 20ms)
+    @Value("${app.virtual-threads.pinning-threshold-millis:20}")
+    private long thresholdMillis;
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMillis))
+                .withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::record);
+            stream.startAsync();
+            log.info("가상 스레드 고정 측정 시작 (임계값 {}ms)", thresholdMillis);
+        } catch (Exception e) {
+            // JFR을 사용할 수 없는 환경이면 측정 없이 동작
+            log.warn("가상 스레드 고정 측정을 시작하지 못함: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void record(RecordedEvent event) {
+        Timer.builder("jvm.threads.virtual.pinned")
+            .tag("source", source(event.getStackTrace()))
+            .description("가상 스레드가 캐리어 스레드에 고정된 시간")
+            .register(meterRegistry)
+            .record(event.getDuration());
+    }
+
+    // 고정을 일으킨 첫 번째 애플리케이션/라이브러리 프레임의 패키지 (태그 수를 제한하기 위해 앞 두 단계만)
+    static String source(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.getMethod() == null || frame.getMethod().getType() == null) {
+                continue;
+            }
+            String className = frame.getMethod().getType().getName();
+            if (className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.")) {
+                continue;
+            }
+            return packagePrefix(className);
+        }
+        return "jdk";
+    }
+
+    static String packagePrefix(String className) {
+        int first = className.indexOf('.');
+        if (first < 0) {
+            return className;
+        }
+        int second = className.indexOf('.', first + 1);
+        return second < 0 ? className.substring(0, first) : className.substring(0, second);
+    }
+}
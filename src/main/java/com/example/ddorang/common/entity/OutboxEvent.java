@@ -0,0 +1,84 @@
+package com.example.ddorang.common.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 트랜잭션 outbox - 상태 변경과 같은 트랜잭션으로 기록하고 OutboxService가 커밋 후 비동기로 전달
+@Entity
+@Table(name = "outbox_event",
+       indexes = @Index(name = "idx_outbox_status_available", columnList = "status, available_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "outbox_event_id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 50, nullable = false)
+    private EventType eventType;
+
+    @Column(name = "aggregate_id")
+    private UUID aggregateId; // 관련 엔티티 ID (분석 작업 ID 등)
+
+    @Column(name = "payload", columnDefinition = "TEXT", nullable = false)
+    private String payload; // 전달에 필요한 값 (JSON)
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    // 이 시각 이후에 전달 시도 (재시도 대기 / 전달 중 점유 만료 시각으로도 사용)
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (availableAt == null) {
+            availableAt = createdAt;
+        }
+    }
+
+    public enum EventType {
+        ANALYSIS_COMPLETE_NOTIFICATION("AI 분석 완료 알림"),
+        ANALYSIS_COMPLETE_EMAIL("AI 분석 완료 이메일");
+
+        private final String description;
+
+        EventType(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    public enum Status {
+        PENDING,    // 전달 대기 (재시도 포함)
+        PUBLISHED,  // 전달 완료
+        DEAD        // 최대 재시도 초과
+    }
+}
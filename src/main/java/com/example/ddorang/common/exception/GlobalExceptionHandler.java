@@ -51,6 +51,14 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.of("VALIDATION_FAILED", "입력값이 올바르지 않습니다."));
     }
 
+    @ExceptionHandler(SpoolFullException.class)
+    public ResponseEntity<ErrorResponse> handleSpoolFullException(SpoolFullException e) {
+        log.warn("업로드 저장 공간 부족: {}", e.getMessage());
+        return ResponseEntity.status(503)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body(ErrorResponse.of("UPLOAD_STORAGE_FULL", e.getMessage()));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException e) {
         log.error("런타임 오류: {}", e.getMessage());
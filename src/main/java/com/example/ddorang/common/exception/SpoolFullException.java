@@ -0,0 +1,19 @@
+package com.example.ddorang.common.exception;
+
+/**
+ * 업로드 임시 저장 공간(spool)의 할당량 또는 디스크 여유가 부족하여 파일을 받을 수 없을 때
+ * 잠시 후 다시 시도하면 되는 상황이므로 503 + Retry-After로 응답합니다.
+ */
+public class SpoolFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public SpoolFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
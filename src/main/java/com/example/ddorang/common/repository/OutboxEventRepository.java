@@ -0,0 +1,52 @@
+package com.example.ddorang.common.repository;
+
+import com.example.ddorang.common.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // 전달할 차례가 된 이벤트 (오래된 순)
+    @Query("SELECT e FROM OutboxEvent e " +
+           "WHERE e.status = com.example.ddorang.common.entity.OutboxEvent.Status.PENDING " +
+           "AND e.availableAt <= :now ORDER BY e.availableAt")
+    List<OutboxEvent> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 전달 점유 - 조건부 갱신으로 여러 인스턴스 중 한 곳만 성공 (점유 만료 전까지 다른 곳에서 가져가지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.availableAt = :leaseUntil, e.attempts = e.attempts + 1 " +
+           "WHERE e.id = :id AND e.status = com.example.ddorang.common.entity.OutboxEvent.Status.PENDING " +
+           "AND e.availableAt <= :now")
+    int claim(@Param("id") UUID id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.example.ddorang.common.entity.OutboxEvent.Status.PUBLISHED, " +
+           "e.publishedAt = :now, e.lastError = NULL WHERE e.id = :id")
+    int markPublished(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.availableAt = :availableAt, e.lastError = :error " +
+           "WHERE e.id = :id")
+    int markFailed(@Param("id") UUID id, @Param("status") OutboxEvent.Status status,
+                   @Param("availableAt") LocalDateTime availableAt, @Param("error") String error);
+
+    // 보관 기간이 지난 전달 완료 이벤트 정리
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.example.ddorang.common.entity.OutboxEvent.Status.PUBLISHED " +
+           "AND e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -112,44 +112,77 @@ public class NotificationService {
      * @param presentationTitle 발표 제목
      * @param presentationId 발표 ID
      */
+    @Async("notificationExecutor")
     public void sendAnalysisCompleteNotification(UUID userId, String presentationTitle, UUID presentationId) {
         try {
-            // 사용자의 알림 설정 확인
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + userId));
-            
-            if (!user.getNotificationEnabled()) {
-                log.info("알림 설정이 꺼진 사용자에게 AI 분석 완료 알림 발송 건너뜀 - 사용자ID: {}", userId);
-                return;
+            if (deliverAnalysisCompleteNotification(userId, presentationTitle, presentationId)) {
+                deliverAnalysisCompleteEmail(userId, presentationTitle, presentationId);
             }
-            
-            String title = "AI 분석이 완료되었습니다";
-            String message = String.format("'%s' 발표의 AI 분석이 완료되었습니다. 결과를 확인해보세요!", presentationTitle);
-            
-            Notification notification = Notification.builder()
-                    .userId(userId)
-                    .type(Notification.NotificationType.AI_ANALYSIS_COMPLETE)
-                    .title(title)
-                    .message(message)
-                    .relatedId(presentationId)
-                    .build();
-            
-            Notification savedNotification = notificationRepository.save(notification);
-            log.info("AI 분석 완료 알림 발송 - 수신자 ID: {}, 발표: {}", userId, presentationTitle);
-            
-            // 실시간 웹 알림 발송
-            sendRealtimeNotification(userId, savedNotification);
-            
-            // 이메일 알림 발송
-            sendAnalysisCompleteEmail(user.getEmail(), user.getName(), presentationTitle, presentationId);
-            
-            // 사용자별 알림 15개 제한 처리
-            cleanupUserNotifications(userId);
         } catch (Exception e) {
             log.error("AI 분석 완료 알림 발송 실패 - 사용자ID: {}, 발표ID: {}", userId, presentationId, e);
         }
     }
 
+    /**
+     * AI 분석 완료 알림 저장 + 실시간 웹 알림 (outbox 릴레이에서 호출, 실패 시 예외를 던져 재시도)
+     * @param userId 발표자 ID
+     * @param presentationTitle 발표 제목
+     * @param presentationId 발표 ID
+     * @return 알림 설정이 꺼져 있어 발송하지 않았으면 false
+     */
+    public boolean deliverAnalysisCompleteNotification(UUID userId, String presentationTitle, UUID presentationId) {
+        // 사용자의 알림 설정 확인
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userId));
+
+        if (!user.getNotificationEnabled()) {
+            log.info("알림 설정이 꺼진 사용자에게 AI 분석 완료 알림 발송 건너뜀 - 사용자ID: {}", userId);
+            return false;
+        }
+
+        String title = "AI 분석이 완료되었습니다";
+        String message = String.format("'%s' 발표의 AI 분석이 완료되었습니다. 결과를 확인해보세요!", presentationTitle);
+
+        Notification notification = Notification.builder()
+                .userId(userId)
+                .type(Notification.NotificationType.AI_ANALYSIS_COMPLETE)
+                .title(title)
+                .message(message)
+                .relatedId(presentationId)
+                .build();
+
+        Notification savedNotification = notificationRepository.save(notification);
+        log.info("AI 분석 완료 알림 발송 - 수신자 ID: {}, 발표: {}", userId, presentationTitle);
+
+        // 실시간 웹 알림 발송
+        sendRealtimeNotification(userId, savedNotification);
+
+        // 사용자별 알림 15개 제한 처리
+        cleanupUserNotifications(userId);
+        return true;
+    }
+
+    /**
+     * AI 분석 완료 이메일 발송 (outbox 릴레이에서 호출, 실패 시 예외를 던져 재시도)
+     * SMTP 응답을 기다리는 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행
+     * @param userId 발표자 ID
+     * @param presentationTitle 발표 제목
+     * @param presentationId 발표 ID
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deliverAnalysisCompleteEmail(UUID userId, String presentationTitle, UUID presentationId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userId));
+
+        if (!user.getNotificationEnabled()) {
+            log.info("알림 설정이 꺼진 사용자에게 AI 분석 완료 이메일 발송 건너뜀 - 사용자ID: {}", userId);
+            return;
+        }
+
+        emailService.deliverAnalysisCompleteEmail(user.getEmail(), user.getName(), presentationTitle, presentationId);
+        log.info("이메일 알림 발송 완료 - 수신자: {}", user.getEmail());
+    }
+
     /**
      * 사용자의 알림을 읽음 처리
      * @param notificationId 알림 ID
@@ -226,30 +259,13 @@ public class NotificationService {
         }
     }
 
-    /**
-     * 이메일 알림 발송
-     * @param userEmail 사용자 이메일
-     * @param userName 사용자 이름
-     * @param presentationTitle 발표 제목
-     * @param presentationId 발표 ID
-     */
-    @Async
-    protected void sendAnalysisCompleteEmail(String userEmail, String userName, String presentationTitle, UUID presentationId) {
-        try {
-            emailService.sendAnalysisCompleteEmail(userEmail, userName, presentationTitle, presentationId);
-            log.info("이메일 알림 발송 완료 - 수신자: {}", userEmail);
-        } catch (Exception e) {
-            log.error("이메일 알림 발송 실패 - 수신자: {}", userEmail, e);
-        }
-    }
-
     /**
      * 영상 분석 완료 이벤트 리스너
      * 트랜잭션 커밋 후 비동기로 알림 발송
      *
      * @param event 분석 완료 이벤트
      */
-    @Async
+    @Async("notificationExecutor")
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleAnalysisCompleteEvent(AnalysisCompleteEvent event) {
@@ -0,0 +1,218 @@
+package com.example.ddorang.common.service;
+
+import com.example.ddorang.common.entity.OutboxEvent;
+import com.example.ddorang.common.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 트랜잭션 outbox 릴레이
+ *
+ * 상태 변경과 함께 발생하는 부가 작업(알림, 이메일)을 같은 트랜잭션에서 outbox_event 행으로 기록하고,
+ * 커밋된 뒤 별도 스레드에서 전달합니다. 호출한 쪽은 SMTP/웹소켓 전송 시간을 기다리지 않습니다.
+ * - 기록: append()는 호출자의 트랜잭션 안에서만 동작 (롤백되면 이벤트도 남지 않음)
+ * - 즉시 전달: 커밋 직후 이벤트 종류별 executor(알림 notificationExecutor, 이메일 mailExecutor)로 전달
+ * - 재시도: 실패하면 지수 백오프로 다시 대기, max-attempts 초과 시 DEAD로 남김
+ * - 복구: 커밋 직후 전달을 놓친 이벤트(재시작, executor 포화 등)는 주기적 조회로 다시 전달
+ * - 중복 방지: 조건부 UPDATE로 점유한 인스턴스만 전달하며, 점유 중 종료되면 lease-seconds 후 다시 전달 (최소 1회 전달)
+ *
+ * 메트릭: outbox.published, outbox.failed, outbox.dead {type}
+ */
+@Service
+@Slf4j
+public class OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Executor notificationExecutor;
+    private final Executor mailExecutor;
+
+    @Value("${app.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    // 첫 재시도 대기 시간 (이후 두 배씩, max-backoff-seconds 까지)
+    @Value("${app.outbox.base-backoff-seconds:10}")
+    private long baseBackoffSeconds;
+
+    @Value("${app.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    // 전달 중 점유 유지 시간 (이 시간 안에 끝나지 않으면 다시 전달 대상)
+    @Value("${app.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${app.outbox.retention-days:7}")
+    private long retentionDays;
+
+    /**
+     * 커밋 후 즉시 전달용 내부 이벤트
+     */
+    public record Appended(UUID eventId, OutboxEvent.EventType eventType) {
+    }
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         NotificationService notificationService,
+                         ApplicationEventPublisher eventPublisher,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Qualifier("notificationExecutor") Executor notificationExecutor,
+                         @Qualifier("mailExecutor") Executor mailExecutor) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.notificationExecutor = notificationExecutor;
+        this.mailExecutor = mailExecutor;
+    }
+
+    /**
+     * 이벤트 기록 - 호출자의 트랜잭션과 함께 커밋/롤백
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UUID append(OutboxEvent.EventType eventType, UUID aggregateId, Map<String, String> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("outbox 이벤트 직렬화 실패: " + eventType, e);
+        }
+
+        OutboxEvent event = outboxEventRepository.save(OutboxEvent.builder()
+            .eventType(eventType)
+            .aggregateId(aggregateId)
+            .payload(json)
+            .build());
+        eventPublisher.publishEvent(new Appended(event.getId(), eventType));
+        return event.getId();
+    }
+
+    /**
+     * 커밋 직후 전달 시작 (호출 스레드는 executor에 넘기기만 함)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAppended(Appended appended) {
+        dispatch(appended.eventId(), appended.eventType());
+    }
+
+    /**
+     * 전달 대기 중인 이벤트(재시도 시각 도래, 점유 만료 포함) 전달
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-millis:5000}")
+    public void relayDue() {
+        List<OutboxEvent> due = outboxEventRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        for (OutboxEvent event : due) {
+            dispatch(event.getId(), event.getEventType());
+        }
+    }
+
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 30 4 * * *}")
+    public void purgePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("전달 완료된 outbox 이벤트 정리: {}개", deleted);
+        }
+    }
+
+    private void dispatch(UUID eventId, OutboxEvent.EventType eventType) {
+        Executor executor = switch (eventType) {
+            case ANALYSIS_COMPLETE_NOTIFICATION -> notificationExecutor;
+            case ANALYSIS_COMPLETE_EMAIL -> mailExecutor;
+        };
+        try {
+            executor.execute(() -> deliver(eventId));
+        } catch (RejectedExecutionException e) {
+            // 점유 전이므로 다음 주기적 조회에서 다시 전달
+            log.warn("outbox 전달 대기열 포화, 다음 조회 때 재시도: {} ({})", eventId, eventType);
+        }
+    }
+
+    // 점유 → 전달 → 결과 기록
+    private void deliver(UUID eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxEventRepository.claim(eventId, now, now.plusSeconds(leaseSeconds)) == 0) {
+            return; // 이미 전달됐거나 다른 곳에서 전달 중
+        }
+        OutboxEvent event = outboxEventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return;
+        }
+
+        String type = event.getEventType().name();
+        try {
+            handle(event);
+            outboxEventRepository.markPublished(eventId, LocalDateTime.now());
+            meterRegistry.counter("outbox.published", "type", type).increment();
+            log.debug("outbox 이벤트 전달 완료: {} ({})", eventId, type);
+        } catch (Exception e) {
+            onFailure(event, e);
+        }
+    }
+
+    private void handle(OutboxEvent event) throws JsonProcessingException {
+        Map<String, String> payload = objectMapper.readValue(event.getPayload(), new TypeReference<>() {
+        });
+        UUID userId = UUID.fromString(payload.get("userId"));
+        UUID presentationId = UUID.fromString(payload.get("presentationId"));
+        String presentationTitle = payload.get("presentationTitle");
+
+        switch (event.getEventType()) {
+            case ANALYSIS_COMPLETE_NOTIFICATION ->
+                notificationService.deliverAnalysisCompleteNotification(userId, presentationTitle, presentationId);
+            case ANALYSIS_COMPLETE_EMAIL ->
+                notificationService.deliverAnalysisCompleteEmail(userId, presentationTitle, presentationId);
+        }
+    }
+
+    private void onFailure(OutboxEvent event, Exception e) {
+        String type = event.getEventType().name();
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        // claim에서 이미 증가된 시도 횟수
+        int attempts = event.getAttempts();
+        if (attempts >= maxAttempts) {
+            outboxEventRepository.markFailed(event.getId(), OutboxEvent.Status.DEAD, LocalDateTime.now(), error);
+            meterRegistry.counter("outbox.dead", "type", type).increment();
+            log.error("outbox 이벤트 전달 포기 ({}회 실패): {} ({})", attempts, event.getId(), type, e);
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffSeconds, baseBackoffSeconds << Math.min(attempts - 1, 20));
+        outboxEventRepository.markFailed(event.getId(), OutboxEvent.Status.PENDING,
+            LocalDateTime.now().plusSeconds(backoff), error);
+        meterRegistry.counter("outbox.failed", "type", type).increment();
+        log.warn("outbox 이벤트 전달 실패 ({}회), {}초 후 재시도: {} ({}) - {}",
+            attempts, backoff, event.getId(), type, error);
+    }
+}
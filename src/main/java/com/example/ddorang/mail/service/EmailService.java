@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -54,7 +55,23 @@ public class EmailService {
      * @param presentationTitle 발표 제목
      * @param presentationId 발표 ID
      */
+    @Async("mailExecutor")
     public void sendAnalysisCompleteEmail(String to, String userName, String presentationTitle, UUID presentationId) {
+        try {
+            deliverAnalysisCompleteEmail(to, userName, presentationTitle, presentationId);
+        } catch (Exception e) {
+            log.error("AI 분석 완료 이메일 발송 실패 - 수신자: {}", to, e);
+        }
+    }
+
+    /**
+     * AI 분석 완료 이메일 동기 발송 (실패 시 예외 - 호출한 쪽에서 재시도)
+     * @param to 수신자 이메일
+     * @param userName 수신자 이름
+     * @param presentationTitle 발표 제목
+     * @param presentationId 발표 ID
+     */
+    public void deliverAnalysisCompleteEmail(String to, String userName, String presentationTitle, UUID presentationId) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
@@ -87,7 +104,7 @@ public class EmailService {
             log.info("AI 분석 완료 이메일 발송 성공 - 수신자: {}", to);
 
         } catch (Exception e) {
-            log.error("AI 분석 완료 이메일 발송 실패 - 수신자: {}", to, e);
+            throw new RuntimeException("메일 전송 실패", e);
         }
     }
 
@@ -0,0 +1,39 @@
+package com.example.ddorang.presentation.controller;
+
+import com.example.ddorang.common.ApiPaths;
+import com.example.ddorang.presentation.service.AnalysisCallbackService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * FastAPI 분석 서버 → Spring 분석 완료 콜백
+ * 사용자 인증 대신 HMAC 서명으로 인증 (AnalysisCallbackService 참고)
+ */
+@RestController
+@RequestMapping(ApiPaths.ANALYSIS_CALLBACK)
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisCallbackController {
+
+    private final AnalysisCallbackService analysisCallbackService;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> receiveCallback(
+            @RequestHeader(value = "X-Callback-Timestamp", required = false) String timestamp,
+            @RequestHeader(value = "X-Callback-Signature", required = false) String signature,
+            @RequestBody String body) {
+
+        UUID jobId = analysisCallbackService.handleCallback(timestamp, signature, body);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("jobId", jobId);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/presentations")
@@ -23,10 +24,11 @@ public class ComparisonController {
     
     /**
      * 두 발표 비교
+     * AI 대본 비교 응답을 기다리는 동안 요청 스레드를 반환 (비동기 요청 처리, spring.mvc.async.request-timeout 적용)
      */
     @PostMapping("/{presentationId}/compare-with/{otherPresentationId}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<ComparisonResponseDto> comparePresentations(
+    public CompletableFuture<ResponseEntity<ComparisonResponseDto>> comparePresentations(
             @PathVariable UUID presentationId,
             @PathVariable UUID otherPresentationId,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
@@ -34,10 +36,9 @@ public class ComparisonController {
         log.info("발표 비교 요청 - 사용자: {}, 발표1: {}, 발표2: {}", 
                 userDetails.getUser().getUserId(), presentationId, otherPresentationId);
         
-        ComparisonResponseDto comparison = comparisonService.comparePresentations(
-                userDetails.getUser().getUserId(), presentationId, otherPresentationId);
-        
-        return ResponseEntity.ok(comparison);
+        return comparisonService.comparePresentations(
+                userDetails.getUser().getUserId(), presentationId, otherPresentationId)
+                .thenApply(ResponseEntity::ok);
     }
     
     /**
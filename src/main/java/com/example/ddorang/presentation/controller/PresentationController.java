@@ -3,18 +3,21 @@ package com.example.ddorang.presentation.controller;
 import com.example.ddorang.common.service.AuthorizationService;
 import com.example.ddorang.common.util.SecurityUtil;
 import com.example.ddorang.common.ApiPaths;
+import com.example.ddorang.common.exception.SpoolFullException;
 import com.example.ddorang.presentation.entity.Presentation;
 import com.example.ddorang.presentation.service.PresentationService;
 import com.example.ddorang.presentation.dto.PresentationResponse;
 import com.example.ddorang.presentation.entity.VideoAnalysisJob;
 import com.example.ddorang.presentation.service.VideoAnalysisService;
-import com.example.ddorang.presentation.service.FastApiPollingService;
+import com.example.ddorang.presentation.service.AnalysisWorkQueue;
+import com.example.ddorang.presentation.service.AnalysisCancellationService;
 import com.example.ddorang.presentation.dto.VideoAnalysisResponse;
 import com.example.ddorang.presentation.dto.VideoAnalysisJobSummary;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -34,7 +37,8 @@ public class PresentationController {
     private final AuthorizationService authorizationService;
     private final ObjectMapper objectMapper;
     private final VideoAnalysisService videoAnalysisService;
-    private final FastApiPollingService fastApiPollingService;
+    private final AnalysisWorkQueue analysisWorkQueue;
+    private final AnalysisCancellationService analysisCancellationService;
     
     // 새 프레젠테이션 생성
     @PostMapping("/topics/{topicId}/presentations")
@@ -196,8 +200,13 @@ public class PresentationController {
             // DB에 초기 상태 저장
             videoAnalysisService.initializeJob(job);
 
-            // FastAPI 폴링 시작 (백그라운드) - 파일을 분석 서버로 직접 전달
-            fastApiPollingService.startVideoAnalysis(job, videoFile);
+            // 작업 큐에 등록 (작업별 spool 디렉터리로 넘겨받은 후 작업 큐가 점유하여 분석 서버로 전달)
+            try {
+                analysisWorkQueue.enqueue(job.getId(), videoFile);
+            } catch (SpoolFullException e) {
+                videoAnalysisService.markJobAsFailed(job.getId(), e.getMessage());
+                throw e;
+            }
 
             // 즉시 응답 반환
             VideoAnalysisResponse response = VideoAnalysisResponse.builder()
@@ -210,6 +219,9 @@ public class PresentationController {
             log.info("분석 작업 시작 완료 - 작업 ID: {}", job.getId());
             return ResponseEntity.ok(response);
 
+        } catch (SpoolFullException e) {
+            // 저장 공간이 날 때까지 잠시 후 재시도하도록 안내
+            throw e;
         } catch (Exception e) {
             log.error("분석 작업 시작 실패: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().build();
@@ -239,7 +251,7 @@ public class PresentationController {
 
     // 분석 결과 조회 - 작업 완료 후 AI 분석 결과를 가져옴
     @GetMapping("/video-analysis/{jobId}/result")
-    public ResponseEntity<Map<String, Object>> getAnalysisResult(@PathVariable UUID jobId) {
+    public ResponseEntity<?> getAnalysisResult(@PathVariable UUID jobId) {
 
         try {
             // 작업 상태 확인
@@ -254,8 +266,8 @@ public class PresentationController {
                     .body(Map.of("error", "분석이 아직 완료되지 않았습니다", "status", progress.get("status")));
             }
 
-            // 결과 캐시에서 분석 결과 조회
-            Map<String, Object> result = videoAnalysisService.getJobResult(jobId);
+            // 결과 캐시에서 분석 결과 원문 조회 (파싱 없이 그대로 응답)
+            String result = videoAnalysisService.getJobResult(jobId);
 
             if (result == null) {
                 return ResponseEntity.notFound()
@@ -263,7 +275,9 @@ public class PresentationController {
             }
 
             log.info("분석 결과 조회 성공: {}", jobId);
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(result);
 
         } catch (Exception e) {
             log.error("분석 결과 조회 실패: {}", jobId, e);
@@ -330,7 +344,7 @@ public class PresentationController {
         }
     }
 
-    // 분석 작업 취소 (대기 중인 작업일 경우에만)
+    // 분석 작업 취소 (대기 중이거나 업로드/분석 중인 작업)
     @DeleteMapping("/video-analysis/{jobId}")
     public ResponseEntity<Void> cancelAnalysisJob(@PathVariable UUID jobId) {
 
@@ -341,17 +355,11 @@ public class PresentationController {
                 return ResponseEntity.notFound().build();
             }
 
-            if ("processing".equals(progress.get("status"))) {
-                return ResponseEntity.badRequest().build(); // 이미 처리 중
-            }
-
-            if (!"pending".equals(progress.get("status"))) {
+            // 업로드 중이면 다음 청크 전에, 결과 대기 중이면 즉시 중단
+            if (!analysisCancellationService.cancel(jobId)) {
                 return ResponseEntity.badRequest().build(); // 이미 완료됨
             }
 
-            // 작업을 취소 상태로 변경
-            videoAnalysisService.markJobAsFailed(jobId, "사용자에 의해 취소됨");
-
             log.info("분석 작업 취소: {}", jobId);
             return ResponseEntity.ok().build();
 
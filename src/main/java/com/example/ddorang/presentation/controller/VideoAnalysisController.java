@@ -3,23 +3,29 @@ package com.example.ddorang.presentation.controller;
 import com.example.ddorang.common.service.AuthorizationService;
 import com.example.ddorang.common.util.SecurityUtil;
 import com.example.ddorang.common.ApiPaths;
+import com.example.ddorang.presentation.service.AnalysisProgressTracker;
+import com.example.ddorang.presentation.service.AnalysisResultParser;
+import com.example.ddorang.presentation.service.AnalysisResultSnapshotService;
 import com.example.ddorang.presentation.service.FastApiService;
 import com.example.ddorang.presentation.service.VoiceAnalysisService;
 import com.example.ddorang.presentation.service.PresentationService;
 import com.example.ddorang.presentation.dto.VoiceAnalysisResponse;
 import com.example.ddorang.presentation.dto.SttResultResponse;
 import com.example.ddorang.presentation.dto.PresentationFeedbackResponse;
+import com.example.ddorang.presentation.entity.AnalysisResultSnapshot;
 import com.example.ddorang.presentation.entity.VideoAnalysisJob;
 import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -35,6 +41,9 @@ public class VideoAnalysisController {
     private final AuthorizationService authorizationService;
     private final PresentationService presentationService;
     private final VideoAnalysisJobRepository videoAnalysisJobRepository;
+    private final AnalysisProgressTracker analysisProgressTracker;
+    private final AnalysisResultSnapshotService analysisResultSnapshotService;
+    private final AnalysisResultParser analysisResultParser;
 
     /**
      * 비디오 파일을 업로드하여 음성 분석 수행
@@ -58,7 +67,8 @@ public class VideoAnalysisController {
             Map<String, Object> analysisResult = fastApiService.analyzeVideo(videoFile, goalTimeSeconds);
 
             // 분석 결과를 DB에 저장
-            voiceAnalysisService.saveAnalysisResults(presentationId, analysisResult);
+            voiceAnalysisService.saveAnalysisResults(presentationId, analysisResultParser.parseResult(analysisResult));
+            analysisResultSnapshotService.render(presentationId);
 
             // 응답 데이터 구성
             Map<String, Object> response = new HashMap<>();
@@ -140,26 +150,45 @@ public class VideoAnalysisController {
 
     /**
      * 프레젠테이션의 모든 분석 결과 조회
+     * 완료 시점에 저장한 스냅샷을 그대로 응답 (gzip 지원 클라이언트에는 압축된 채로, If-None-Match 일치 시 304)
      */
     @GetMapping("/results/{presentationId}")
-    public ResponseEntity<Map<String, Object>> getAllAnalysisResults(@PathVariable UUID presentationId) {
+    public ResponseEntity<?> getAllAnalysisResults(
+            @PathVariable UUID presentationId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            // 프레젠테이션 존재 여부 확인
-            if (!presentationService.hasPresentation(presentationId)) {
-                log.warn("프레젠테이션을 찾을 수 없습니다: {}", presentationId);
-                return ResponseEntity.notFound().build();
+            AnalysisResultSnapshot snapshot = analysisResultSnapshotService.find(presentationId).orElse(null);
+
+            if (snapshot == null) {
+                // 프레젠테이션 존재 여부 확인
+                if (!presentationService.hasPresentation(presentationId)) {
+                    log.warn("프레젠테이션을 찾을 수 없습니다: {}", presentationId);
+                    return ResponseEntity.notFound().build();
+                }
+                // 스냅샷 도입 이전에 완료된 결과는 처음 조회할 때 렌더링
+                snapshot = analysisResultSnapshotService.render(presentationId);
             }
 
-            VoiceAnalysisResponse voiceAnalysis = voiceAnalysisService.getVoiceAnalysis(presentationId);
-            SttResultResponse sttResult = voiceAnalysisService.getSttResult(presentationId);
-            PresentationFeedbackResponse feedback = voiceAnalysisService.getPresentationFeedback(presentationId);
+            if (snapshot == null) {
+                // 아직 분석 결과 없음
+                Map<String, Object> response = new HashMap<>();
+                response.put("voiceAnalysis", null);
+                response.put("sttResult", null);
+                response.put("feedback", null);
+                return ResponseEntity.ok(response);
+            }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("voiceAnalysis", voiceAnalysis);
-            response.put("sttResult", sttResult);
-            response.put("feedback", feedback);
+            // ETag가 If-None-Match와 일치하면 HttpEntityMethodProcessor가 본문 없이 304로 응답
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(snapshot.getETag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
 
-            return ResponseEntity.ok(response);
+            if (acceptsGzip(acceptEncoding)) {
+                return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getContentGzip());
+            }
+            return builder.body(AnalysisResultSnapshotService.decompress(snapshot.getContentGzip()));
 
         } catch (Exception e) {
             log.error("분석 결과 조회 실패: presentationId={}", presentationId, e);
@@ -199,10 +228,12 @@ public class VideoAnalysisController {
                 return ResponseEntity.notFound().build();
             }
 
-            // 프레젠테이션의 최신 분석 작업 조회
-            List<VideoAnalysisJob> jobs = videoAnalysisJobRepository.findByPresentationIdOrderByCreatedAtDesc(presentationId);
-            
-            if (jobs.isEmpty()) {
+            // 프레젠테이션의 최신 분석 작업 1건만 조회
+            VideoAnalysisJob latestJob = videoAnalysisJobRepository
+                .findFirstByPresentationIdOrderByCreatedAtDesc(presentationId)
+                .orElse(null);
+
+            if (latestJob == null) {
                 Map<String, Object> response = new HashMap<>();
                 response.put("presentationId", presentationId);
                 response.put("status", "not_started");
@@ -211,14 +242,21 @@ public class VideoAnalysisController {
                 return ResponseEntity.ok(response);
             }
 
-            VideoAnalysisJob latestJob = jobs.get(0);
             Map<String, Object> response = new HashMap<>();
             response.put("presentationId", presentationId);
+            response.put("jobId", latestJob.getId());
             response.put("status", latestJob.getStatus().toString().toLowerCase());
             response.put("message", getStatusMessage(latestJob));
             response.put("progress", getProgressPercentage(latestJob));
             response.put("createdAt", latestJob.getCreatedAt().toString());
 
+            // 업로드/분석 중이면 실제 진행 정보 (실시간 갱신은 /user/queue/analysis-progress 구독)
+            Map<String, Object> live = analysisProgressTracker.snapshot(latestJob.getId());
+            if (live != null) {
+                response.put("phase", live.get("phase"));
+                response.put("progress", live.get("progress"));
+            }
+
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -227,6 +265,31 @@ public class VideoAnalysisController {
         }
     }
 
+    // Accept-Encoding에 gzip이 있고 q=0으로 거부하지 않았는지
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
     private String getStatusMessage(VideoAnalysisJob job) {
         return switch (job.getStatus()) {
             case PENDING -> "분석 대기 중입니다...";
@@ -238,10 +301,8 @@ public class VideoAnalysisController {
 
     private int getProgressPercentage(VideoAnalysisJob job) {
         return switch (job.getStatus()) {
-            case PENDING -> 10;
-            case PROCESSING -> 50;
+            case PENDING, PROCESSING, FAILED -> 0;
             case COMPLETED -> 100;
-            case FAILED -> 0;
         };
     }
 
@@ -0,0 +1,33 @@
+package com.example.ddorang.presentation.dto;
+
+import com.example.ddorang.presentation.entity.PresentationFeedback;
+import com.example.ddorang.presentation.entity.SttResult;
+import com.example.ddorang.presentation.entity.VoiceAnalysis;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * FastAPI 분석 결과 (AnalysisResultParser가 응답에서 바로 채움)
+ *
+ * 엔티티는 아직 프레젠테이션이 지정되지 않은 상태이며 저장 시 지정됩니다.
+ * feedback의 JSON 컬럼 값은 응답의 원문 하위 트리를 그대로 복사한 문자열입니다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class AnalysisResultPayload {
+
+    private final VoiceAnalysis voiceAnalysis;
+    private final SttResult sttResult;
+    private final PresentationFeedback feedback;
+
+    // FastAPI가 저장한 영상 경로
+    private final String videoPath;
+
+    // result 객체 원문 (결과 캐시/결과 조회 응답용)
+    private final String rawJson;
+
+    // result 객체에 필드가 하나도 없었는지
+    private final boolean empty;
+}
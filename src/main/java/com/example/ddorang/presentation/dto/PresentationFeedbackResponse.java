@@ -18,6 +18,8 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PresentationFeedbackResponse {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     
     private UUID id;
     private UUID presentationId;
@@ -37,7 +39,7 @@ public class PresentationFeedbackResponse {
     
     // Entity에서 DTO로 변환하는 정적 메서드
     public static PresentationFeedbackResponse from(PresentationFeedback feedback) {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = OBJECT_MAPPER;
         
         try {
             List<String> frequentWords = feedback.getFrequentWords() != null ?
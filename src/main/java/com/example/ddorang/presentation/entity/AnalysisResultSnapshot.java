@@ -0,0 +1,34 @@
+package com.example.ddorang.presentation.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 분석 결과 스냅샷 - 완료 시점에 한 번 렌더링한 전체 결과 JSON (gzip 압축, 발표당 1건)
+@Entity
+@Table(name = "analysis_result_snapshot")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class AnalysisResultSnapshot {
+
+    @Id
+    @Column(name = "presentation_id", updatable = false, nullable = false)
+    private UUID presentationId;
+
+    @Lob
+    @Column(name = "content_gzip", nullable = false)
+    private byte[] contentGzip;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;  // 압축 전 JSON의 SHA-256 (ETag)
+
+    @Column(name = "content_length", nullable = false)
+    private Integer contentLength;  // 압축 전 크기
+
+    @Column(name = "rendered_at", nullable = false)
+    private LocalDateTime renderedAt;
+
+    public String getETag() {
+        return "\"" + contentHash + "\"";
+    }
+}
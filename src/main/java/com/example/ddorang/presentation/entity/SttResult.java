@@ -5,7 +5,8 @@ import lombok.*;
 import java.util.UUID;
 
 @Entity
-@Table(name = "stt_result")
+@Table(name = "stt_result",
+       uniqueConstraints = @UniqueConstraint(name = "uk_stt_result_presentation", columnNames = "presentation_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -3,12 +3,17 @@ package com.example.ddorang.presentation.entity;
 import com.example.ddorang.common.enums.JobStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 //비동기 영상 분석 관리 엔터티
+// 상태/점유(lease)/취소 컬럼은 여러 인스턴스가 동시에 바꾸므로 VideoAnalysisJobRepository의 조건부 UPDATE로만 변경
+// 엔티티를 저장하더라도 바뀐 컬럼만 쓰도록 @DynamicUpdate (오래된 복사본이 점유/취소 정보를 덮어쓰지 않도록)
 @Entity
 @Table(name = "video_analysis_job")
+@DynamicUpdate
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class VideoAnalysisJob {
 
@@ -42,6 +47,43 @@ public class VideoAnalysisJob {
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    @Column(name = "fastapi_job_id")
+    private String fastApiJobId;  // 청크 업로드 완료 후 FastAPI가 발급한 job_id
+
+    @Column(name = "fastapi_endpoint")
+    private String fastApiEndpoint;  // 업로드를 받은 FastAPI 인스턴스 (청크/결과 조회는 이 인스턴스로만 전송)
+
+    @Column(name = "upload_chunk_size")
+    private Long uploadChunkSize;  // 업로드에 사용한 청크 크기 (바이트)
+
+    @Column(name = "upload_throughput_mbps")
+    private Double uploadThroughputMbps;  // 업로드 실제 전송 속도 (MB/s)
+
+    @Column(name = "upload_completed_at")
+    private LocalDateTime uploadCompletedAt;  // 모든 청크 전송이 끝난 시각
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;  // 분석 완료 시각 (소요 시간 학습용)
+
+    // 작업 큐 (재시작/다중 인스턴스 대비)
+    @Column(name = "source_file_path")
+    private String sourceFilePath;  // 업로드 대기 중인 원본 영상 파일 경로
+
+    @Column(name = "lease_owner")
+    private String leaseOwner;  // 작업을 점유한 인스턴스 ID
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;  // 점유 만료 시각 (만료되면 다른 인스턴스가 가져갈 수 있음)
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;  // 작업 큐에서 처음 점유(배정)된 시각 - 처리 시간 학습/예측 기준 (대기열 대기 시간 제외)
+
+    @Column(name = "attempt_count")
+    @Builder.Default
+    private Integer attemptCount = 0;  // 점유(시도) 횟수
+
+    @Column(name = "cancel_requested_at")
+    private LocalDateTime cancelRequestedAt;  // 사용자 취소 요청 시각 (진행 중인 업로드/폴링 중단 신호)
 
     // 간단한 비즈니스 메서드들
     // 작업을 실패 상태로 변경 (필요 시)
@@ -55,6 +97,11 @@ public class VideoAnalysisJob {
         return status.isInProgress();
     }
 
+    // 사용자가 취소한 작업인지 확인
+    public boolean isCancelRequested() {
+        return cancelRequestedAt != null;
+    }
+
     // 작업이 완료된건지 확인 (성공/실패 무관)
     public boolean isCompleted() {
         return status.isFinished();
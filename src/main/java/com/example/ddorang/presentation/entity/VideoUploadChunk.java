@@ -0,0 +1,49 @@
+package com.example.ddorang.presentation.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 청크 업로드 원장 - FastAPI가 수신 확인(ack)한 청크를 작업별로 기록 (재개 업로드용)
+@Entity
+@Table(name = "video_upload_chunk",
+       uniqueConstraints = @UniqueConstraint(name = "uk_upload_chunk_job_index", columnNames = {"job_id", "chunk_index"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class VideoUploadChunk {
+
+    @Id @GeneratedValue
+    @Column(name = "upload_chunk_id", updatable = false, nullable = false)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "job_id", nullable = false)
+    private VideoAnalysisJob job;
+
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+
+    @Column(name = "chunk_offset", nullable = false)
+    private Long chunkOffset;  // 원본 파일 내 시작 위치
+
+    @Column(name = "chunk_length", nullable = false)
+    private Long chunkLength;
+
+    @Column(name = "crc32c", nullable = false)
+    private Long crc32c;  // 재개 시 동일한 구간인지 검증
+
+    @Column(name = "fastapi_job_id")
+    private String fastApiJobId;  // 해당 청크 응답에 포함된 job_id (없을 수 있음)
+
+    @Column(name = "video_path")
+    private String videoPath;  // 해당 청크 응답의 save_path/video_path (마지막 청크만, 모든 청크가 복원된 재개 시 사용)
+
+    @Column(name = "acknowledged_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime acknowledgedAt = LocalDateTime.now();
+
+    // 현재 파일 구간과 원장 기록이 일치하는지 확인
+    public boolean matches(long offset, long length, long checksum) {
+        return chunkOffset == offset && chunkLength == length && crc32c == checksum;
+    }
+}
@@ -5,7 +5,8 @@ import lombok.*;
 import java.util.UUID;
 
 @Entity
-@Table(name = "voice_analysis")
+@Table(name = "voice_analysis",
+       uniqueConstraints = @UniqueConstraint(name = "uk_voice_analysis_presentation", columnNames = "presentation_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,6 +2,7 @@ package com.example.ddorang.presentation.repository;
 
 import com.example.ddorang.presentation.entity.PresentationFeedback;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -28,4 +29,16 @@ public interface PresentationFeedbackRepository extends JpaRepository<Presentati
     // 특정 토픽의 모든 피드백 조회
     @Query("SELECT pf FROM PresentationFeedback pf WHERE pf.presentation.topic.id = :topicId")
     List<PresentationFeedback> findByTopicId(@Param("topicId") UUID topicId);
+
+    // 분석 결과 저장 - presentation_id 기준 upsert (기존 행은 ID를 유지한 채 값만 갱신)
+    @Modifying
+    @Query(value = "INSERT INTO presentation_feedback (feedback_id, presentation_id, " +
+           "frequent_words, awkward_sentences, difficulty_issues, predicted_questions) " +
+           "VALUES (:id, :presentationId, :#{#pf.frequentWords}, :#{#pf.awkwardSentences}, " +
+           ":#{#pf.difficultyIssues}, :#{#pf.predictedQuestions}) " +
+           "ON DUPLICATE KEY UPDATE " +
+           "frequent_words = VALUES(frequent_words), awkward_sentences = VALUES(awkward_sentences), " +
+           "difficulty_issues = VALUES(difficulty_issues), predicted_questions = VALUES(predicted_questions)",
+           nativeQuery = true)
+    int upsert(@Param("id") UUID id, @Param("presentationId") UUID presentationId, @Param("pf") PresentationFeedback feedback);
 } 
\ No newline at end of file
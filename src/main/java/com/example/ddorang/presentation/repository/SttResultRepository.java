@@ -2,6 +2,7 @@ package com.example.ddorang.presentation.repository;
 
 import com.example.ddorang.presentation.entity.SttResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -36,4 +37,18 @@ public interface SttResultRepository extends JpaRepository<SttResult, UUID> {
     // 텍스트 검색
     @Query("SELECT sr FROM SttResult sr WHERE sr.transcription LIKE %:keyword%")
     List<SttResult> findByTranscriptionContaining(@Param("keyword") String keyword);
+
+    // 분석 결과 저장 - presentation_id 기준 upsert (기존 행은 ID를 유지한 채 값만 갱신)
+    @Modifying
+    @Query(value = "INSERT INTO stt_result (stt_result_id, presentation_id, transcription, " +
+           "pronunciation_score, pronunciation_grade, pronunciation_comment, adjusted_script, corrected_script) " +
+           "VALUES (:id, :presentationId, :#{#sr.transcription}, " +
+           ":#{#sr.pronunciationScore}, :#{#sr.pronunciationGrade}, :#{#sr.pronunciationComment}, " +
+           ":#{#sr.adjustedScript}, :#{#sr.correctedScript}) " +
+           "ON DUPLICATE KEY UPDATE " +
+           "transcription = VALUES(transcription), pronunciation_score = VALUES(pronunciation_score), " +
+           "pronunciation_grade = VALUES(pronunciation_grade), pronunciation_comment = VALUES(pronunciation_comment), " +
+           "adjusted_script = VALUES(adjusted_script), corrected_script = VALUES(corrected_script)",
+           nativeQuery = true)
+    int upsert(@Param("id") UUID id, @Param("presentationId") UUID presentationId, @Param("sr") SttResult sttResult);
 } 
\ No newline at end of file
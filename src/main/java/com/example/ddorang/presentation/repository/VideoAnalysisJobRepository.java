@@ -3,10 +3,13 @@ package com.example.ddorang.presentation.repository;
 import com.example.ddorang.common.enums.JobStatus;
 import com.example.ddorang.presentation.entity.VideoAnalysisJob;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -44,6 +47,16 @@ public interface VideoAnalysisJobRepository extends JpaRepository<VideoAnalysisJ
            "ORDER BY vaj.createdAt DESC")
     Optional<VideoAnalysisJob> findLatestCompletedJobByPresentationId(@Param("presentationId") UUID presentationId);
 
+    // 특정 발표의 가장 최근 작업 1건 (상태 조회용)
+    Optional<VideoAnalysisJob> findFirstByPresentationIdOrderByCreatedAtDesc(UUID presentationId);
+
+    // 작업 소유자(토픽 작성자) ID 조회 - 진행률 푸시 대상
+    @Query("SELECT t.user.userId FROM VideoAnalysisJob vaj " +
+           "JOIN vaj.presentation p " +
+           "JOIN p.topic t " +
+           "WHERE vaj.id = :jobId")
+    Optional<UUID> findOwnerUserId(@Param("jobId") UUID jobId);
+
     // 상태별 작업 조회 (생성 시간 순)
     List<VideoAnalysisJob> findByStatusOrderByCreatedAt(JobStatus status);
 
@@ -76,6 +89,144 @@ public interface VideoAnalysisJobRepository extends JpaRepository<VideoAnalysisJ
            "AND vaj.status IN (com.example.ddorang.common.enums.JobStatus.COMPLETED, com.example.ddorang.common.enums.JobStatus.FAILED)")
     List<VideoAnalysisJob> findOldFinishedJobs(@Param("cutoffTime") LocalDateTime cutoffTime);
 
+    // FastAPI job_id로 작업 조회 (분석 완료 콜백용)
+    @EntityGraph(attributePaths = {"presentation", "presentation.topic", "presentation.topic.user"})
+    Optional<VideoAnalysisJob> findByFastApiJobId(String fastApiJobId);
+
+    // 최근 완료 작업 조회 (분석 소요 시간 예측 초기화용)
+    List<VideoAnalysisJob> findTop50ByStatusAndCompletedAtIsNotNullOrderByCompletedAtDesc(JobStatus status);
+
+    // 작업 큐 - 회수 대상 작업 ID 조회 (이미 시작되었으나 점유가 만료된 작업, 오래된 순)
+    @Query("SELECT vaj.id FROM VideoAnalysisJob vaj " +
+           "WHERE vaj.sourceFilePath IS NOT NULL " +
+           "AND vaj.status = com.example.ddorang.common.enums.JobStatus.PROCESSING " +
+           "AND (vaj.leaseExpiresAt IS NULL OR vaj.leaseExpiresAt < :now) " +
+           "ORDER BY vaj.createdAt")
+    List<UUID> findReclaimableJobIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 수락 제어 - 대기 중인 작업 (원본 파일 등록 완료, 아직 점유되지 않음, 등록 순)
+    @Query("SELECT vaj FROM VideoAnalysisJob vaj " +
+           "JOIN FETCH vaj.presentation p " +
+           "JOIN FETCH p.topic t " +
+           "JOIN FETCH t.user " +
+           "WHERE vaj.sourceFilePath IS NOT NULL " +
+           "AND vaj.status = com.example.ddorang.common.enums.JobStatus.PENDING " +
+           "AND (vaj.leaseExpiresAt IS NULL OR vaj.leaseExpiresAt < :now) " +
+           "ORDER BY vaj.createdAt")
+    List<VideoAnalysisJob> findQueuedJobs(@Param("now") LocalDateTime now);
+
+    // 수락 제어 - 진행 중으로 간주하는 작업 (처리 중이거나, 점유되어 곧 시작될 대기 작업)
+    @Query("SELECT vaj FROM VideoAnalysisJob vaj " +
+           "JOIN FETCH vaj.presentation p " +
+           "JOIN FETCH p.topic t " +
+           "JOIN FETCH t.user " +
+           "WHERE vaj.status = com.example.ddorang.common.enums.JobStatus.PROCESSING " +
+           "OR (vaj.status = com.example.ddorang.common.enums.JobStatus.PENDING AND vaj.leaseExpiresAt >= :now)")
+    List<VideoAnalysisJob> findRunningJobs(@Param("now") LocalDateTime now);
+
+    // 작업 큐 - 조건부 점유 (다른 인스턴스가 먼저 점유했으면 0 반환), 최초 점유 시각은 처음 한 번만 기록
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.leaseOwner = :owner, vaj.leaseExpiresAt = :expiresAt, " +
+           "vaj.attemptCount = COALESCE(vaj.attemptCount, 0) + 1, vaj.dispatchedAt = COALESCE(vaj.dispatchedAt, :now) " +
+           "WHERE vaj.id = :jobId " +
+           "AND vaj.status IN (com.example.ddorang.common.enums.JobStatus.PENDING, com.example.ddorang.common.enums.JobStatus.PROCESSING) " +
+           "AND (vaj.leaseExpiresAt IS NULL OR vaj.leaseExpiresAt < :now)")
+    int claimLease(@Param("jobId") UUID jobId, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 작업 큐 - 인스턴스가 점유한 진행 중 작업의 점유 연장 (heartbeat)
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.leaseExpiresAt = :expiresAt " +
+           "WHERE vaj.leaseOwner = :owner " +
+           "AND vaj.status IN (com.example.ddorang.common.enums.JobStatus.PENDING, com.example.ddorang.common.enums.JobStatus.PROCESSING)")
+    int renewLeases(@Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 작업 큐 - 점유 해제 (availableAt 이후 다시 점유 가능, 재시도 대기용)
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.leaseOwner = NULL, vaj.leaseExpiresAt = :availableAt " +
+           "WHERE vaj.id = :jobId AND vaj.leaseOwner = :owner")
+    int releaseLease(@Param("jobId") UUID jobId, @Param("owner") String owner,
+                     @Param("availableAt") LocalDateTime availableAt);
+
+    // 작업 큐 - 인스턴스가 점유한 모든 작업의 점유 해제 (종료 시)
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.leaseOwner = NULL, vaj.leaseExpiresAt = NULL " +
+           "WHERE vaj.leaseOwner = :owner")
+    int releaseAllLeases(@Param("owner") String owner);
+
+    // 작업 취소 - 대기/진행 중인 작업만 실패 처리하고 취소 시각 기록 (이미 끝난 작업이면 0 반환)
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.status = com.example.ddorang.common.enums.JobStatus.FAILED, " +
+           "vaj.errorMessage = :message, vaj.cancelRequestedAt = :now " +
+           "WHERE vaj.id = :jobId " +
+           "AND vaj.status IN (com.example.ddorang.common.enums.JobStatus.PENDING, com.example.ddorang.common.enums.JobStatus.PROCESSING)")
+    int requestCancel(@Param("jobId") UUID jobId, @Param("message") String message, @Param("now") LocalDateTime now);
+
+    // 진행 상태 변경 - 대기/진행 중이고 취소되지 않은 작업만 (엔티티 전체 저장으로 취소/점유 정보를 덮어쓰지 않도록 컬럼만 갱신)
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.status = :status " +
+           "WHERE vaj.id = :jobId AND vaj.cancelRequestedAt IS NULL " +
+           "AND vaj.status IN (com.example.ddorang.common.enums.JobStatus.PENDING, com.example.ddorang.common.enums.JobStatus.PROCESSING)")
+    int updateActiveStatus(@Param("jobId") UUID jobId, @Param("status") JobStatus status);
+
+    // 작업 실패 - 대기/진행 중이고 취소되지 않은 작업만 (취소 사유와 이미 끝난 작업의 결과 유지)
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.status = com.example.ddorang.common.enums.JobStatus.FAILED, " +
+           "vaj.errorMessage = :message " +
+           "WHERE vaj.id = :jobId AND vaj.cancelRequestedAt IS NULL " +
+           "AND vaj.status IN (com.example.ddorang.common.enums.JobStatus.PENDING, com.example.ddorang.common.enums.JobStatus.PROCESSING)")
+    int markFailed(@Param("jobId") UUID jobId, @Param("message") String message);
+
+    // 청크 업로드 완료 기록 (FastAPI job_id와 FastAPI가 저장한 영상 경로 보관, 경로가 없으면 기존 값 유지)
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.fastApiJobId = :fastApiJobId, vaj.uploadCompletedAt = :now, " +
+           "vaj.videoPath = COALESCE(:videoPath, vaj.videoPath) " +
+           "WHERE vaj.id = :jobId")
+    int recordUploadCompleted(@Param("jobId") UUID jobId, @Param("fastApiJobId") String fastApiJobId,
+                              @Param("videoPath") String videoPath, @Param("now") LocalDateTime now);
+
+    // 작업 완료 - 대기/진행 중이고 취소되지 않은 작업만 완료 처리 (폴러/콜백/다른 인스턴스가 먼저 완료했거나 취소됐으면 0 반환)
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.status = com.example.ddorang.common.enums.JobStatus.COMPLETED, " +
+           "vaj.completedAt = :now, vaj.videoPath = COALESCE(:videoPath, vaj.videoPath) " +
+           "WHERE vaj.id = :jobId AND vaj.cancelRequestedAt IS NULL " +
+           "AND vaj.status IN (com.example.ddorang.common.enums.JobStatus.PENDING, com.example.ddorang.common.enums.JobStatus.PROCESSING)")
+    int markCompleted(@Param("jobId") UUID jobId, @Param("videoPath") String videoPath, @Param("now") LocalDateTime now);
+
+    // 작업 취소 - 인스턴스가 점유 중인 작업 중 취소 요청된 작업 (다른 인스턴스에서 취소한 경우 감지용)
+    @Query("SELECT vaj.id FROM VideoAnalysisJob vaj " +
+           "WHERE vaj.leaseOwner = :owner AND vaj.cancelRequestedAt IS NOT NULL")
+    List<UUID> findCancelRequestedJobIds(@Param("owner") String owner);
+
+    // 작업 큐 - 원본 파일 등록 (등록된 뒤부터 점유 대상이 됨)
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.sourceFilePath = :path WHERE vaj.id = :jobId")
+    int assignSourceFile(@Param("jobId") UUID jobId, @Param("path") String path);
+
+    // 업로드를 받을 FastAPI 인스턴스 기록
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.fastApiEndpoint = :endpoint WHERE vaj.id = :jobId")
+    int assignFastApiEndpoint(@Param("jobId") UUID jobId, @Param("endpoint") String endpoint);
+
+    // 업로드 청크 크기와 전송 속도 기록
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoAnalysisJob vaj SET vaj.uploadChunkSize = :chunkSize, vaj.uploadThroughputMbps = :throughput " +
+           "WHERE vaj.id = :jobId")
+    int recordUploadStats(@Param("jobId") UUID jobId, @Param("chunkSize") Long chunkSize,
+                          @Param("throughput") Double throughput);
+
     // 연관 엔티티를 미리 로딩하여 조회 (LazyInitializationException 방지)
     @EntityGraph(attributePaths = {"presentation", "presentation.topic", "presentation.topic.user"})
     @Override
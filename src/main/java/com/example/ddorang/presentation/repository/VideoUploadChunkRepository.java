@@ -0,0 +1,30 @@
+package com.example.ddorang.presentation.repository;
+
+import com.example.ddorang.presentation.entity.VideoUploadChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface VideoUploadChunkRepository extends JpaRepository<VideoUploadChunk, UUID> {
+
+    // 작업의 수신 확인된 청크 목록 (chunk_index 순)
+    @Query("SELECT c FROM VideoUploadChunk c WHERE c.job.id = :jobId ORDER BY c.chunkIndex")
+    List<VideoUploadChunk> findByJobIdOrderByChunkIndex(@Param("jobId") UUID jobId);
+
+    // 작업의 원장 전체 삭제
+    @Modifying
+    @Query("DELETE FROM VideoUploadChunk c WHERE c.job.id = :jobId")
+    void deleteByJobId(@Param("jobId") UUID jobId);
+
+    // 여러 작업의 원장 일괄 삭제 (발표 삭제 시)
+    @Modifying
+    @Query("DELETE FROM VideoUploadChunk c WHERE c.job.id IN :jobIds")
+    void deleteByJobIds(@Param("jobIds") Collection<UUID> jobIds);
+}
@@ -2,6 +2,7 @@ package com.example.ddorang.presentation.repository;
 
 import com.example.ddorang.presentation.entity.VoiceAnalysis;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -40,4 +41,22 @@ public interface VoiceAnalysisRepository extends JpaRepository<VoiceAnalysis, UU
     // WPM 등급별 조회
     @Query("SELECT va FROM VoiceAnalysis va WHERE va.wpmGrade = :grade")
     List<VoiceAnalysis> findByWpmGrade(@Param("grade") String grade);
+
+    // 분석 결과 저장 - presentation_id 기준 upsert (기존 행은 ID를 유지한 채 값만 갱신)
+    @Modifying
+    @Query(value = "INSERT INTO voice_analysis (voice_analysis_id, presentation_id, " +
+           "intensity_grade, intensity_db, intensity_text, pitch_grade, pitch_avg, pitch_text, " +
+           "wpm_grade, wpm_avg, wpm_comment, anxiety_grade, anxiety_ratio, anxiety_comment) " +
+           "VALUES (:id, :presentationId, " +
+           ":#{#va.intensityGrade}, :#{#va.intensityDb}, :#{#va.intensityText}, " +
+           ":#{#va.pitchGrade}, :#{#va.pitchAvg}, :#{#va.pitchText}, " +
+           ":#{#va.wpmGrade}, :#{#va.wpmAvg}, :#{#va.wpmComment}, " +
+           ":#{#va.anxietyGrade}, :#{#va.anxietyRatio}, :#{#va.anxietyComment}) " +
+           "ON DUPLICATE KEY UPDATE " +
+           "intensity_grade = VALUES(intensity_grade), intensity_db = VALUES(intensity_db), intensity_text = VALUES(intensity_text), " +
+           "pitch_grade = VALUES(pitch_grade), pitch_avg = VALUES(pitch_avg), pitch_text = VALUES(pitch_text), " +
+           "wpm_grade = VALUES(wpm_grade), wpm_avg = VALUES(wpm_avg), wpm_comment = VALUES(wpm_comment), " +
+           "anxiety_grade = VALUES(anxiety_grade), anxiety_ratio = VALUES(anxiety_ratio), anxiety_comment = VALUES(anxiety_comment)",
+           nativeQuery = true)
+    int upsert(@Param("id") UUID id, @Param("presentationId") UUID presentationId, @Param("va") VoiceAnalysis voiceAnalysis);
 } 
\ No newline at end of file
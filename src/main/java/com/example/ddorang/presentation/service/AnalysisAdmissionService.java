@@ -0,0 +1,248 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.presentation.entity.VideoAnalysisJob;
+import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * 영상 분석 작업 수락(admission) 제어
+ *
+ * 동시에 진행되는 분석 작업 수를 전체(global-limit)와 사용자별(per-user-limit)로 제한합니다.
+ * 한도를 넘는 작업은 PENDING 상태로 대기하며, 대기열 순서는 사용자 간 공정하게 정해집니다.
+ * - 사용자별로 (진행 중 작업 수 + 해당 사용자 대기 순번)이 작은 작업이 먼저
+ * - 같으면 예상 처리 비용이 작은 작업이 먼저 (aging 적용한 최단 작업 우선)
+ * - 같으면 먼저 등록된 작업이 먼저
+ * 따라서 한 사용자가 영상을 여러 개 올려도 다른 사용자의 첫 작업이 그 뒤로 밀리지 않고,
+ * 짧은 연습 영상이 다른 사용자의 긴 리허설 영상 뒤에서 오래 기다리지 않습니다.
+ *
+ * 예상 처리 비용 = 파일 크기 × 학습된 초/MB (AnalysisEtaEstimator) - aging-factor × 대기 시간(초)
+ * 오래 기다린 작업일수록 비용이 줄어들어 긴 작업도 결국 배정됩니다 (기아 방지).
+ * 배정된 작업의 대기 시간은 analysis.dispatch.wait (size 태그: short/medium/long)로 노출합니다.
+ *
+ * 상태 조회(getQueueStatus)는 주기적으로 계산해 둔 대기열 스냅샷에서 읽으므로, 조회가 많아도 DB 조회는 늘지 않습니다.
+ *
+ * 한도는 DB 상태 기준이므로 여러 인스턴스가 동시에 수락하면 일시적으로 worker-slots 만큼 초과할 수 있습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisAdmissionService {
+
+    private final VideoAnalysisJobRepository videoAnalysisJobRepository;
+    private final AnalysisEtaEstimator analysisEtaEstimator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${fastapi.admission.global-limit:10}")
+    private int globalLimit;
+
+    @Value("${fastapi.admission.per-user-limit:2}")
+    private int perUserLimit;
+
+    // 대기 1초당 줄어드는 예상 비용(초) - 클수록 도착 순서에 가까워짐
+    @Value("${fastapi.admission.aging-factor:1.0}")
+    private double agingFactor;
+
+    // 파일 크기를 모르는 작업의 예상 처리 시간
+    @Value("${fastapi.admission.unknown-cost-seconds:300}")
+    private long unknownCostSeconds;
+
+    // 대기 시간 메트릭의 작업 크기 구분 기준 (예상 처리 시간)
+    @Value("${fastapi.admission.short-job-seconds:120}")
+    private long shortJobSeconds;
+
+    @Value("${fastapi.admission.long-job-seconds:900}")
+    private long longJobSeconds;
+
+    // 대기 작업별 순번/예상 시작 시각 (refreshQueueSnapshot이 교체)
+    private volatile Map<UUID, QueueStatus> queueSnapshot = Map.of();
+
+    /**
+     * 지금 시작할 수 있는 대기 작업 ID (공정 순서, 최대 capacity개)
+     */
+    public List<UUID> selectAdmissible(int capacity) {
+        LocalDateTime now = LocalDateTime.now();
+        List<VideoAnalysisJob> running = videoAnalysisJobRepository.findRunningJobs(now);
+        int free = globalLimit - running.size();
+        if (free <= 0 || capacity <= 0) {
+            return List.of();
+        }
+
+        Map<UUID, Integer> activeByUser = countByUser(running);
+        List<UUID> admissible = new ArrayList<>();
+        for (VideoAnalysisJob job : fairOrder(videoAnalysisJobRepository.findQueuedJobs(now), activeByUser, now)) {
+            if (admissible.size() >= Math.min(free, capacity)) {
+                break;
+            }
+            UUID userId = ownerOf(job);
+            int active = activeByUser.getOrDefault(userId, 0);
+            if (active >= perUserLimit) {
+                continue; // 사용자 한도 초과 - 다른 사용자 작업 먼저
+            }
+            activeByUser.put(userId, active + 1);
+            admissible.add(job.getId());
+        }
+        return admissible;
+    }
+
+    /**
+     * 대기 중인 작업의 대기열 순번(1부터)과 예상 시작 시각 (대기 중이 아니면 null)
+     * 마지막 스냅샷 기준이므로 최대 snapshot-millis 만큼 늦게 반영됨
+     */
+    public QueueStatus getQueueStatus(UUID jobId) {
+        return queueSnapshot.get(jobId);
+    }
+
+    /**
+     * 대기열 스냅샷 갱신 - 공정 순서와 예상 시작 시각을 한 번에 계산
+     */
+    @Scheduled(fixedDelayString = "${fastapi.admission.snapshot-millis:2000}")
+    public void refreshQueueSnapshot() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<VideoAnalysisJob> running = videoAnalysisJobRepository.findRunningJobs(now);
+            List<VideoAnalysisJob> queue = fairOrder(videoAnalysisJobRepository.findQueuedJobs(now), countByUser(running), now);
+            queueSnapshot = simulate(running, queue, now);
+        } catch (Exception e) {
+            log.warn("대기열 스냅샷 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    // 슬롯이 비는 시각을 시뮬레이션: 진행 중 작업의 예상 완료 시각 → 대기 작업들이 순서대로 슬롯을 차지
+    private Map<UUID, QueueStatus> simulate(List<VideoAnalysisJob> running, List<VideoAnalysisJob> queue,
+                                            LocalDateTime now) {
+        if (queue.isEmpty()) {
+            return Map.of();
+        }
+
+        PriorityQueue<LocalDateTime> slotFreeAt = new PriorityQueue<>();
+        for (VideoAnalysisJob job : running) {
+            LocalDateTime eta = analysisEtaEstimator.estimateCompletion(job);
+            slotFreeAt.add(eta == null || eta.isBefore(now) ? now : eta);
+        }
+        while (slotFreeAt.size() < globalLimit) {
+            slotFreeAt.add(now);
+        }
+        // 진행 중 작업이 한도보다 많으면 초과분이 먼저 끝나야 슬롯이 생기므로 이른 완료 시각부터 버림
+        while (slotFreeAt.size() > globalLimit) {
+            slotFreeAt.poll();
+        }
+
+        Map<UUID, QueueStatus> statuses = new HashMap<>();
+        for (int i = 0; i < queue.size(); i++) {
+            VideoAnalysisJob job = queue.get(i);
+            LocalDateTime startAt = slotFreeAt.poll();
+            slotFreeAt.add(startAt.plusSeconds(expectedSeconds(job)));
+            statuses.put(job.getId(), new QueueStatus(i + 1, queue.size(), startAt));
+        }
+        return Map.copyOf(statuses);
+    }
+
+    /**
+     * 작업이 처음 배정될 때 대기 시간 기록 (AnalysisWorkQueue가 점유 직후 호출)
+     */
+    public void recordDispatch(VideoAnalysisJob job) {
+        if (job.getCreatedAt() == null) {
+            return;
+        }
+        long expected = expectedSeconds(job);
+        Duration waited = Duration.between(job.getCreatedAt(), LocalDateTime.now());
+        Timer.builder("analysis.dispatch.wait")
+            .tag("size", sizeClass(expected))
+            .description("분석 작업 등록부터 배정까지 대기 시간")
+            .register(meterRegistry)
+            .record(waited);
+        log.info("분석 작업 배정: {} (예상 처리 {}초, 대기 {}초)", job.getId(), expected, waited.toSeconds());
+    }
+
+    /**
+     * 공정 순서로 정렬 - (사용자 진행 중 작업 수 + 사용자 내 대기 순번), aging 적용 예상 비용, 등록 시각 순
+     * 사용자 내 대기 순번도 예상 비용 순으로 매겨 같은 사용자의 짧은 영상이 먼저 처리됨
+     */
+    private List<VideoAnalysisJob> fairOrder(List<VideoAnalysisJob> queued, Map<UUID, Integer> activeByUser,
+                                             LocalDateTime now) {
+        Map<UUID, Double> cost = new HashMap<>();
+        for (VideoAnalysisJob job : queued) {
+            cost.put(job.getId(), effectiveCost(job, now));
+        }
+        Comparator<VideoAnalysisJob> byCost = Comparator.<VideoAnalysisJob>comparingDouble(job -> cost.get(job.getId()))
+            .thenComparing(VideoAnalysisJob::getCreatedAt);
+
+        List<VideoAnalysisJob> byCostOrder = new ArrayList<>(queued);
+        byCostOrder.sort(byCost);
+
+        Map<UUID, Integer> seen = new HashMap<>();
+        Map<UUID, Integer> rank = new HashMap<>();
+        for (VideoAnalysisJob job : byCostOrder) {
+            UUID userId = ownerOf(job);
+            int order = seen.merge(userId, 1, Integer::sum) - 1;
+            rank.put(job.getId(), activeByUser.getOrDefault(userId, 0) + order);
+        }
+
+        List<VideoAnalysisJob> ordered = new ArrayList<>(byCostOrder);
+        ordered.sort(Comparator.<VideoAnalysisJob>comparingInt(job -> rank.get(job.getId())).thenComparing(byCost));
+        if (log.isDebugEnabled()) {
+            ordered.forEach(job -> log.debug("대기 순서: {} (rank={}, cost={})",
+                job.getId(), rank.get(job.getId()), String.format("%.0f", cost.get(job.getId()))));
+        }
+        return ordered;
+    }
+
+    // 대기 시간만큼 줄어든 예상 처리 비용 (초)
+    private double effectiveCost(VideoAnalysisJob job, LocalDateTime now) {
+        long waitedSeconds = job.getCreatedAt() == null ? 0 : Duration.between(job.getCreatedAt(), now).toSeconds();
+        return expectedSeconds(job) - agingFactor * Math.max(0, waitedSeconds);
+    }
+
+    private String sizeClass(long expectedSeconds) {
+        if (expectedSeconds <= shortJobSeconds) {
+            return "short";
+        }
+        return expectedSeconds <= longJobSeconds ? "medium" : "long";
+    }
+
+    private Map<UUID, Integer> countByUser(List<VideoAnalysisJob> jobs) {
+        Map<UUID, Integer> counts = new HashMap<>();
+        for (VideoAnalysisJob job : jobs) {
+            counts.merge(ownerOf(job), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    // 예상 처리 시간 (초) - 파일 크기 기준
+    private long expectedSeconds(VideoAnalysisJob job) {
+        if (job.getFileSize() == null) {
+            return unknownCostSeconds;
+        }
+        return (long) (job.getFileSize() / (1024.0 * 1024.0) * analysisEtaEstimator.currentSecondsPerMb());
+    }
+
+    private UUID ownerOf(VideoAnalysisJob job) {
+        return job.getPresentation().getTopic().getUser().getUserId();
+    }
+
+    /**
+     * 대기열 상태
+     *
+     * @param position 대기 순번 (1부터)
+     * @param queueLength 전체 대기 작업 수
+     * @param estimatedStartAt 예상 시작 시각
+     */
+    public record QueueStatus(int position, int queueLength, LocalDateTime estimatedStartAt) {
+    }
+}
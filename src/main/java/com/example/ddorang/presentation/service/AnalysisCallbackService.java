@@ -0,0 +1,172 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.presentation.entity.VideoAnalysisJob;
+import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * FastAPI 분석 완료 콜백(webhook) 처리
+ *
+ * FastAPI가 분석을 마치면 fastapi.callback.url 로 결과를 POST 합니다.
+ * 요청은 공유 비밀키로 서명되어야 하며 (X-Callback-Timestamp, X-Callback-Signature),
+ * 검증된 결과는 폴링과 동일한 경로(completeJob / markJobAsFailed)로 저장됩니다.
+ * 폴러와 동시에 같은 작업을 처리하지 않도록 FastApiJobPoller에서 작업을 먼저 가져간(claim) 쪽만 처리합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisCallbackService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final VideoAnalysisService videoAnalysisService;
+    private final VideoAnalysisJobRepository videoAnalysisJobRepository;
+    private final FastApiJobPoller fastApiJobPoller;
+    private final AnalysisResultParser analysisResultParser;
+
+    @Value("${fastapi.callback.enabled:false}")
+    private boolean callbackEnabled;
+
+    @Value("${fastapi.callback.url:}")
+    private String callbackUrl;
+
+    @Value("${fastapi.callback.secret:}")
+    private String callbackSecret;
+
+    // 서명 타임스탬프 허용 오차 (재전송 공격 방지)
+    @Value("${fastapi.callback.max-skew-seconds:300}")
+    private long maxSkewSeconds;
+
+    public boolean isEnabled() {
+        return callbackEnabled && !callbackUrl.isBlank() && !callbackSecret.isBlank();
+    }
+
+    /**
+     * FastAPI 요청 메타데이터에 콜백 정보 추가 (비활성화 상태면 아무것도 하지 않음)
+     */
+    public void appendCallbackMetadata(Map<String, Object> metadata, UUID jobId) {
+        if (!isEnabled()) {
+            return;
+        }
+        metadata.put("callback_url", callbackUrl);
+        metadata.put("client_job_id", jobId.toString());
+    }
+
+    /**
+     * 서명 검증 후 콜백 본문 처리
+     *
+     * @return 처리된 Spring 작업 ID
+     */
+    public UUID handleCallback(String timestamp, String signature, String rawBody) {
+        verifySignature(timestamp, signature, rawBody);
+
+        AnalysisResultParser.Envelope payload;
+        try {
+            payload = analysisResultParser.parseEnvelope(rawBody);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("콜백 본문을 해석할 수 없습니다: " + e.getMessage());
+        }
+
+        VideoAnalysisJob job = resolveJob(payload)
+            .orElseThrow(() -> new IllegalArgumentException("콜백에 해당하는 작업이 없습니다: " + payload.jobId()));
+        UUID jobId = job.getId();
+
+        // 이 인스턴스의 폴러가 추적 중이면 가져오고, 이미 종료된 작업이면 무시 (중복 콜백)
+        // 다른 인스턴스의 폴러와 동시에 처리되더라도 완료/실패 전환은 조건부 UPDATE라 한 곳만 반영됨
+        if (!fastApiJobPoller.claim(jobId) && job.isCompleted()) {
+            log.info("이미 처리된 작업의 콜백 무시: {} ({})", jobId, job.getStatus());
+            return jobId;
+        }
+
+        String status = String.valueOf(payload.status());
+        log.info("FastAPI 콜백 수신: {} - {}", jobId, status);
+
+        switch (status) {
+            case "completed":
+                videoAnalysisService.completeJob(jobId, payload.result());
+                break;
+
+            case "error":
+                String error = payload.error();
+                videoAnalysisService.markJobAsFailed(jobId, "FastAPI 분석 오류: " + error);
+                break;
+
+            default:
+                throw new IllegalArgumentException("지원하지 않는 콜백 상태: " + status);
+        }
+
+        return jobId;
+    }
+
+    private Optional<VideoAnalysisJob> resolveJob(AnalysisResultParser.Envelope payload) {
+        // client_job_id(요청 시 전달한 Spring 작업 ID) 우선, 없으면 FastAPI job_id로 조회
+        String clientJobId = payload.clientJobId();
+        if (clientJobId != null && !clientJobId.isBlank()) {
+            try {
+                return videoAnalysisJobRepository.findById(UUID.fromString(clientJobId));
+            } catch (IllegalArgumentException e) {
+                log.warn("잘못된 client_job_id: {}", clientJobId);
+            }
+        }
+
+        String fastApiJobId = payload.jobId();
+        if (fastApiJobId != null && !fastApiJobId.isBlank()) {
+            return videoAnalysisJobRepository.findByFastApiJobId(fastApiJobId);
+        }
+        return Optional.empty();
+    }
+
+    private void verifySignature(String timestamp, String signature, String rawBody) {
+        if (!isEnabled()) {
+            throw new SecurityException("분석 완료 콜백이 비활성화되어 있습니다");
+        }
+        if (timestamp == null || signature == null) {
+            throw new SecurityException("콜백 서명이 없습니다");
+        }
+
+        long epochSeconds;
+        try {
+            epochSeconds = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            throw new SecurityException("콜백 타임스탬프 형식이 잘못되었습니다");
+        }
+        if (Math.abs(Instant.now().getEpochSecond() - epochSeconds) > maxSkewSeconds) {
+            throw new SecurityException("콜백 타임스탬프가 허용 범위를 벗어났습니다");
+        }
+
+        byte[] expected = sign(timestamp + "." + rawBody);
+        byte[] actual;
+        try {
+            actual = HexFormat.of().parseHex(signature.trim().toLowerCase());
+        } catch (IllegalArgumentException e) {
+            throw new SecurityException("콜백 서명 형식이 잘못되었습니다");
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new SecurityException("콜백 서명이 일치하지 않습니다");
+        }
+    }
+
+    private byte[] sign(String message) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(callbackSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("콜백 서명 계산 실패", e);
+        }
+    }
+}
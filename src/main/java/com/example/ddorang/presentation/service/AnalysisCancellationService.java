@@ -0,0 +1,130 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.presentation.entity.VideoAnalysisJob;
+import com.example.ddorang.presentation.entity.VideoUploadChunk;
+import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 영상 분석 작업 취소 (협조적 취소)
+ *
+ * 취소 요청 시 작업을 "사용자에 의해 취소됨"으로 실패 처리하고 cancelRequestedAt을 기록한 뒤
+ * - 이 인스턴스: 취소 표시 → 청크 전송 루프는 다음 청크 전에, 결과 폴러는 즉시 추적을 중단
+ * - 다른 인스턴스: 점유 중인 작업의 cancelRequestedAt을 AnalysisWorkQueue가 주기적으로 확인하여 같은 처리
+ * - FastAPI: 분석 작업(또는 진행 중인 업로드 세션)에 취소 요청 (응답을 기다리지 않음)
+ * - 원본 파일: 아직 점유되지 않은 작업은 즉시 반납, 업로드 중이면 업로드를 멈춘 작업 큐가 반납
+ *
+ * 이미 전송 중인 청크 하나는 끝까지 보내므로 중단까지 걸리는 시간은 청크 하나의 전송 시간 이내입니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisCancellationService {
+
+    public static final String CANCELLED_MESSAGE = "사용자에 의해 취소됨";
+
+    private final VideoAnalysisJobRepository videoAnalysisJobRepository;
+    private final ChunkUploadLedgerService chunkUploadLedgerService;
+    private final FastApiJobPoller fastApiJobPoller;
+    private final FastApiService fastApiService;
+    private final AnalysisProgressTracker analysisProgressTracker;
+    private final UploadSpool uploadSpool;
+
+    // 이 인스턴스에서 취소가 확인된 작업 → 확인 시각
+    private final Map<UUID, Instant> cancelled = new ConcurrentHashMap<>();
+
+    /**
+     * 작업 취소
+     *
+     * @return 대기/진행 중이던 작업을 취소했으면 true (없거나 이미 끝난 작업이면 false)
+     */
+    public boolean cancel(UUID jobId) {
+        VideoAnalysisJob job = videoAnalysisJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (videoAnalysisJobRepository.requestCancel(jobId, CANCELLED_MESSAGE, now) == 0) {
+            return false;
+        }
+        log.info("분석 작업 취소: {} (상태 {}, 점유 {})", jobId, job.getStatus(), job.getLeaseOwner());
+
+        cancelLocally(jobId);
+        analysisProgressTracker.finished(jobId, false, CANCELLED_MESSAGE);
+
+        // 분석 중이면 분석 작업, 업로드 중이면 업로드 세션 취소
+        String fastApiJobId = job.getFastApiJobId() != null ? job.getFastApiJobId() : findUploadSessionId(jobId);
+        if (fastApiJobId != null) {
+            cancelRemote(job.getFastApiEndpoint(), fastApiJobId);
+        }
+
+        boolean leased = job.getLeaseExpiresAt() != null && job.getLeaseExpiresAt().isAfter(now);
+        if (job.getSourceFilePath() != null && !leased) {
+            uploadSpool.release(jobId, new File(job.getSourceFilePath()));
+        }
+        return true;
+    }
+
+    /**
+     * 이 인스턴스에서 진행 중인 업로드/폴링 중단 표시 (다른 인스턴스에서 취소된 작업 포함)
+     */
+    public void cancelLocally(UUID jobId) {
+        if (cancelled.putIfAbsent(jobId, Instant.now()) == null) {
+            fastApiJobPoller.untrack(jobId);
+        }
+    }
+
+    /**
+     * FastAPI 측 작업 취소 요청 (업로드 직후 취소가 확인된 경우 등)
+     */
+    public void cancelRemote(String endpoint, String fastApiJobId) {
+        fastApiService.cancelAnalysisAsync(endpoint, fastApiJobId);
+    }
+
+    public boolean isCancelled(UUID jobId) {
+        return jobId != null && cancelled.containsKey(jobId);
+    }
+
+    /**
+     * 취소된 작업이면 CancellationException - 청크 사이, 재시도 전에 확인
+     */
+    public void throwIfCancelled(UUID jobId) {
+        if (isCancelled(jobId)) {
+            throw new CancellationException(CANCELLED_MESSAGE + ": " + jobId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fastapi.cancel.evict-interval-millis:600000}")
+    public void evictExpired() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(1));
+        cancelled.values().removeIf(cancelledAt -> cancelledAt.isBefore(cutoff));
+    }
+
+    // 첫 청크 응답으로 받은 FastAPI 업로드 세션 job_id
+    private String findUploadSessionId(UUID jobId) {
+        try {
+            return chunkUploadLedgerService.findAcknowledged(jobId).values().stream()
+                .map(VideoUploadChunk::getFastApiJobId)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+        } catch (Exception e) {
+            log.warn("청크 원장 조회 실패: {} - {}", jobId, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.common.enums.JobStatus;
+import com.example.ddorang.presentation.entity.VideoAnalysisJob;
+import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 영상 분석 소요 시간 예측
+ *
+ * 완료된 작업의 처리 시간(dispatchedAt → completedAt)을 파일 크기로 나눈 초/MB 값을
+ * 지수 이동 평균(EWMA)으로 학습하여, 진행 중인 작업의 예상 완료 시각을 계산합니다.
+ * 학습과 예측 모두 작업 큐에서 처음 배정된 시각(dispatchedAt)을 기준으로 하므로
+ * 대기열에서 기다린 시간은 포함되지 않습니다 (대기 시간은 AnalysisAdmissionService가 따로 추정).
+ * 서버 시작 시 최근 완료 작업으로 초기값을 채웁니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisEtaEstimator {
+
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+    // 1MB 미만 파일은 고정 오버헤드가 지배적이므로 학습에서 제외
+    private static final double MIN_SAMPLE_MB = 1.0;
+
+    private final VideoAnalysisJobRepository videoAnalysisJobRepository;
+
+    // 학습 이력이 없을 때 사용하는 초/MB
+    @Value("${fastapi.eta.default-seconds-per-mb:3.0}")
+    private double defaultSecondsPerMb;
+
+    // EWMA 가중치 (클수록 최근 작업 반영 비율이 큼)
+    @Value("${fastapi.eta.smoothing:0.2}")
+    private double smoothing;
+
+    private double secondsPerMb = Double.NaN;
+    private long sampleCount;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            List<VideoAnalysisJob> recent = videoAnalysisJobRepository
+                .findTop50ByStatusAndCompletedAtIsNotNullOrderByCompletedAtDesc(JobStatus.COMPLETED);
+            // 오래된 작업부터 반영해야 EWMA가 최근 값에 가까워짐
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                record(recent.get(i));
+            }
+            log.info("분석 소요 시간 예측 초기화: {}건 학습, {}초/MB", sampleCount, String.format("%.2f", currentSecondsPerMb()));
+        } catch (Exception e) {
+            log.warn("분석 소요 시간 예측 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 완료된 작업의 처리 시간을 학습에 반영
+     */
+    public synchronized void record(VideoAnalysisJob job) {
+        // 배정 시각이 없는 작업(작업 큐를 거치지 않은 직접 분석 등)은 처리 시간을 알 수 없으므로 제외
+        if (job.getFileSize() == null || job.getDispatchedAt() == null || job.getCompletedAt() == null) {
+            return;
+        }
+        double sizeMb = job.getFileSize() / BYTES_PER_MB;
+        if (sizeMb < MIN_SAMPLE_MB) {
+            return;
+        }
+        double elapsedSeconds = Duration.between(job.getDispatchedAt(), job.getCompletedAt()).toMillis() / 1000.0;
+        if (elapsedSeconds <= 0) {
+            return;
+        }
+
+        double sample = elapsedSeconds / sizeMb;
+        secondsPerMb = Double.isNaN(secondsPerMb) ? sample : smoothing * sample + (1 - smoothing) * secondsPerMb;
+        sampleCount++;
+    }
+
+    public synchronized double currentSecondsPerMb() {
+        return Double.isNaN(secondsPerMb) ? defaultSecondsPerMb : secondsPerMb;
+    }
+
+    /**
+     * 배정된 작업의 예상 완료 시각 (파일 크기를 모르거나 아직 배정되지 않았으면 null)
+     */
+    public LocalDateTime estimateCompletion(VideoAnalysisJob job) {
+        return estimateCompletion(job, job.getDispatchedAt());
+    }
+
+    /**
+     * startAt에 처리를 시작할 때의 예상 완료 시각 (대기 중인 작업은 예상 시작 시각을 넘김)
+     */
+    public LocalDateTime estimateCompletion(VideoAnalysisJob job, LocalDateTime startAt) {
+        Duration expected = expectedDuration(job);
+        if (expected == null || startAt == null) {
+            return null;
+        }
+        return startAt.plus(expected);
+    }
+
+    /**
+     * 예상 처리 시간 (파일 크기를 모르면 null)
+     */
+    public Duration expectedDuration(VideoAnalysisJob job) {
+        if (job.getFileSize() == null) {
+            return null;
+        }
+        double sizeMb = job.getFileSize() / BYTES_PER_MB;
+        return Duration.ofMillis((long) (sizeMb * currentSecondsPerMb() * 1000));
+    }
+}
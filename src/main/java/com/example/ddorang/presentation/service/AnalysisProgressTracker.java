@@ -0,0 +1,239 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 영상 분석 작업 진행률 추적 및 WebSocket 푸시
+ *
+ * 업로드 중에는 실제 전송한 바이트/청크 수, 분석 대기 중에는 예상 완료 시각 대비 경과 시간으로 진행률을 계산하여
+ * 작업 소유자에게 /user/queue/analysis-progress 로 보냅니다. (클라이언트는 /video-analysis/{jobId}/progress 폴링 대신 구독)
+ * - 진행률: 업로드 0 ~ upload-weight %, 분석 upload-weight ~ 99 %, 완료 100 %
+ * - 같은 단계 안에서는 push-interval-millis 마다 최대 한 번만 보내고, 단계가 바뀌거나 업로드가 끝나면 즉시 보냄
+ *
+ * 진행 정보는 업로드/폴링을 수행하는 인스턴스의 메모리에만 있으므로 재시작 후에는 다음 청크/폴링부터 다시 채워집니다.
+ */
+@Component
+@Slf4j
+public class AnalysisProgressTracker {
+
+    public static final String DESTINATION = "/queue/analysis-progress";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final VideoAnalysisJobRepository videoAnalysisJobRepository;
+    private final Map<UUID, Progress> live = new ConcurrentHashMap<>();
+
+    @Value("${app.progress.push-interval-millis:500}")
+    private long pushIntervalMillis;
+
+    // 전체 진행률 중 업로드 단계가 차지하는 비율 (%)
+    @Value("${app.progress.upload-weight:40}")
+    private int uploadWeight;
+
+    // 이 시간 동안 갱신이 없는 진행 정보는 정리 (업로드 실패 후 다른 인스턴스가 가져간 경우 등)
+    @Value("${app.progress.stale-minutes:60}")
+    private long staleMinutes;
+
+    public AnalysisProgressTracker(SimpMessagingTemplate messagingTemplate,
+                                   VideoAnalysisJobRepository videoAnalysisJobRepository) {
+        this.messagingTemplate = messagingTemplate;
+        this.videoAnalysisJobRepository = videoAnalysisJobRepository;
+    }
+
+    public enum Phase {
+        UPLOADING, ANALYZING, COMPLETED, FAILED
+    }
+
+    /**
+     * 업로드 시작 - 원장에서 복원한 청크는 이미 전송한 것으로 계산
+     */
+    public void uploadStarted(UUID jobId, long totalBytes, int totalChunks, long resumedBytes, int resumedChunks) {
+        if (jobId == null) {
+            return;
+        }
+        Progress progress = live.computeIfAbsent(jobId, Progress::new);
+        progress.phase = Phase.UPLOADING;
+        progress.totalBytes = totalBytes;
+        progress.totalChunks = totalChunks;
+        progress.bytesSent.set(resumedBytes);
+        progress.resumedBytes = resumedBytes;
+        progress.chunksSent.set(resumedChunks);
+        progress.uploadStartedAt = Instant.now();
+        push(progress, true);
+    }
+
+    /**
+     * 청크 전송 완료
+     */
+    public void chunkSent(UUID jobId, long bytes) {
+        Progress progress = jobId != null ? live.get(jobId) : null;
+        if (progress == null) {
+            return;
+        }
+        progress.bytesSent.addAndGet(bytes);
+        int sent = progress.chunksSent.incrementAndGet();
+        push(progress, sent >= progress.totalChunks);
+    }
+
+    /**
+     * 업로드가 끝나고 FastAPI 분석 결과를 기다리는 중
+     */
+    public void analysisStarted(UUID jobId, LocalDateTime expectedCompletion) {
+        Progress progress = live.computeIfAbsent(jobId, Progress::new);
+        progress.phase = Phase.ANALYZING;
+        progress.analysisStartedAt = Instant.now();
+        progress.expectedCompletion = expectedCompletion;
+        push(progress, true);
+    }
+
+    /**
+     * 분석 대기 중 상태 조회 시 갱신 (경과 시간 기반 진행률)
+     */
+    public void analysisPolled(UUID jobId) {
+        Progress progress = live.get(jobId);
+        if (progress != null && progress.phase == Phase.ANALYZING) {
+            push(progress, false);
+        }
+    }
+
+    /**
+     * 작업 종료 - 마지막 진행률을 보내고 추적 종료
+     */
+    public void finished(UUID jobId, boolean succeeded, String message) {
+        Progress progress = live.remove(jobId);
+        if (progress == null) {
+            progress = new Progress(jobId);
+        }
+        progress.phase = succeeded ? Phase.COMPLETED : Phase.FAILED;
+        progress.message = message;
+        push(progress, true);
+    }
+
+    /**
+     * 진행 중인 작업의 진행 정보 (이 인스턴스에서 추적 중이 아니면 null)
+     */
+    public Map<String, Object> snapshot(UUID jobId) {
+        Progress progress = live.get(jobId);
+        return progress != null ? progress.toPayload(uploadWeight) : null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.progress.stale-check-millis:600000}")
+    public void evictStale() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(staleMinutes));
+        live.values().removeIf(progress -> progress.lastUpdatedAt.isBefore(cutoff));
+    }
+
+    private void push(Progress progress, boolean force) {
+        long now = System.currentTimeMillis();
+        progress.lastUpdatedAt = Instant.ofEpochMilli(now);
+        long last = progress.lastPushedAt.get();
+        if (!force && now - last < pushIntervalMillis) {
+            return;
+        }
+        if (!progress.lastPushedAt.compareAndSet(last, now) && !force) {
+            return; // 다른 스레드(파이프라인 청크)가 방금 보냄
+        }
+
+        try {
+            UUID ownerId = progress.ownerId;
+            if (ownerId == null) {
+                ownerId = videoAnalysisJobRepository.findOwnerUserId(progress.jobId).orElse(null);
+                if (ownerId == null) {
+                    return;
+                }
+                progress.ownerId = ownerId;
+            }
+            messagingTemplate.convertAndSendToUser(ownerId.toString(), DESTINATION, progress.toPayload(uploadWeight));
+        } catch (Exception e) {
+            log.debug("진행률 푸시 실패: {} - {}", progress.jobId, e.getMessage());
+        }
+    }
+
+    private static final class Progress {
+        private final UUID jobId;
+        private final AtomicLong bytesSent = new AtomicLong();
+        private final AtomicInteger chunksSent = new AtomicInteger();
+        private final AtomicLong lastPushedAt = new AtomicLong();
+        private volatile UUID ownerId;
+        private volatile Phase phase = Phase.UPLOADING;
+        private volatile long totalBytes;
+        private volatile long resumedBytes;
+        private volatile int totalChunks;
+        private volatile Instant uploadStartedAt;
+        private volatile Instant analysisStartedAt;
+        private volatile LocalDateTime expectedCompletion;
+        private volatile Instant lastUpdatedAt = Instant.now();
+        private volatile String message;
+
+        private Progress(UUID jobId) {
+            this.jobId = jobId;
+        }
+
+        private int percent(int uploadWeight) {
+            return switch (phase) {
+                case UPLOADING -> totalBytes > 0
+                    ? (int) (uploadWeight * Math.min(1.0, (double) bytesSent.get() / totalBytes))
+                    : 0;
+                case ANALYZING -> uploadWeight + (int) ((99 - uploadWeight) * analysisFraction());
+                case COMPLETED -> 100;
+                case FAILED -> 0;
+            };
+        }
+
+        // 분석 시작부터 예상 완료 시각까지 경과 비율 (예상 시각을 모르면 0)
+        private double analysisFraction() {
+            if (expectedCompletion == null || analysisStartedAt == null) {
+                return 0;
+            }
+            Instant eta = expectedCompletion.atZone(ZoneId.systemDefault()).toInstant();
+            long total = Duration.between(analysisStartedAt, eta).toMillis();
+            if (total <= 0) {
+                return 1;
+            }
+            long elapsed = Duration.between(analysisStartedAt, Instant.now()).toMillis();
+            return Math.min(1.0, (double) elapsed / total);
+        }
+
+        private Map<String, Object> toPayload(int uploadWeight) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("jobId", jobId.toString());
+            payload.put("phase", phase.name().toLowerCase());
+            payload.put("progress", percent(uploadWeight));
+            if (totalChunks > 0) {
+                payload.put("bytesSent", bytesSent.get());
+                payload.put("totalBytes", totalBytes);
+                payload.put("chunksSent", chunksSent.get());
+                payload.put("totalChunks", totalChunks);
+            }
+            Instant startedAt = uploadStartedAt;
+            if (phase == Phase.UPLOADING && startedAt != null) {
+                long elapsedMillis = Math.max(1, Duration.between(startedAt, Instant.now()).toMillis());
+                payload.put("uploadMbps", ((bytesSent.get() - resumedBytes) / (1024.0 * 1024.0)) / (elapsedMillis / 1000.0));
+            }
+            if (phase == Phase.ANALYZING && expectedCompletion != null) {
+                payload.put("estimatedCompletionAt", expectedCompletion.toString());
+                payload.put("estimatedRemainingSeconds",
+                    Math.max(0, Duration.between(LocalDateTime.now(), expectedCompletion).toSeconds()));
+            }
+            if (message != null) {
+                payload.put("message", message);
+            }
+            return payload;
+        }
+    }
+}
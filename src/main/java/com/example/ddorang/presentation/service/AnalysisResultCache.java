@@ -0,0 +1,175 @@
+package com.example.ddorang.presentation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * FastAPI 분석 원본 결과 캐시 (2단계)
+ *
+ * 결과는 FastAPI 응답의 result 원문 JSON 그대로 보관하며 조회 응답도 파싱 없이 그대로 내보냅니다.
+ * - 로컬: Caffeine, 직렬화 크기(바이트) 기준 가중치로 local.max-bytes 까지만 보관
+ *         빈도 기반 승인(W-TinyLFU)으로 한 번만 조회되는 큰 결과가 자주 조회되는 결과를 밀어내지 않음
+ * - 공유: Redis (RedisConfig의 Lettuce 연결), 재시작 후나 다른 인스턴스에서도 조회 가능
+ *         value-max-bytes 보다 큰 결과는 Redis에 올리지 않음
+ *
+ * 조회 순서: 로컬 → Redis (적중 시 로컬에 다시 적재). Redis 장애 시 로컬만으로 동작합니다.
+ * 메트릭: cache.* {cache=analysis.result.local}, analysis.result.cache.local.bytes,
+ *         analysis.result.cache.redis.{hits,misses,errors,skipped}, analysis.result.cache.redis.value.bytes
+ */
+@Component
+@Slf4j
+public class AnalysisResultCache {
+
+    private static final String LOCAL_CACHE_NAME = "analysis.result.local";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<UUID, Entry> local;
+    private final Duration ttl;
+
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+    private final Counter redisSkipped;
+    private final DistributionSummary redisValueBytes;
+
+    @Value("${app.result-cache.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${app.result-cache.redis.key-prefix:analysis:result:}")
+    private String keyPrefix;
+
+    @Value("${app.result-cache.redis.value-max-bytes:8388608}")
+    private long redisValueMaxBytes;
+
+    /**
+     * 로컬 캐시 항목 - 원문 JSON과 가중치용 UTF-8 크기
+     */
+    private record Entry(String json, int bytes) {
+    }
+
+    public AnalysisResultCache(RedisTemplate<String, String> redisTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.result-cache.local.max-bytes:67108864}") long localMaxBytes,
+                               @Value("${app.result-cache.ttl-hours:24}") long ttlHours) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.local = Caffeine.newBuilder()
+            .maximumWeight(localMaxBytes)
+            .weigher((UUID key, Entry entry) -> entry.bytes())
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, LOCAL_CACHE_NAME);
+        Gauge.builder("analysis.result.cache.local.bytes", local,
+                cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+            .baseUnit("bytes")
+            .description("로컬 결과 캐시에 보관 중인 직렬화 크기 합계")
+            .register(meterRegistry);
+        this.redisHits = Counter.builder("analysis.result.cache.redis.hits")
+            .description("Redis 결과 캐시 적중 수")
+            .register(meterRegistry);
+        this.redisMisses = Counter.builder("analysis.result.cache.redis.misses")
+            .description("Redis 결과 캐시 미적중 수")
+            .register(meterRegistry);
+        this.redisErrors = Counter.builder("analysis.result.cache.redis.errors")
+            .description("Redis 결과 캐시 읽기/쓰기 실패 수")
+            .register(meterRegistry);
+        this.redisSkipped = Counter.builder("analysis.result.cache.redis.skipped")
+            .description("크기 제한으로 Redis에 저장하지 않은 결과 수")
+            .register(meterRegistry);
+        this.redisValueBytes = DistributionSummary.builder("analysis.result.cache.redis.value.bytes")
+            .baseUnit("bytes")
+            .description("Redis에 저장한 결과 크기")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 결과 원문 저장 (로컬 + Redis)
+     */
+    public void put(UUID jobId, String json) {
+        if (json == null) {
+            return;
+        }
+        int bytes = json.getBytes(StandardCharsets.UTF_8).length;
+        local.put(jobId, new Entry(json, bytes));
+
+        if (!redisEnabled) {
+            return;
+        }
+        if (bytes > redisValueMaxBytes) {
+            redisSkipped.increment();
+            log.debug("분석 결과가 커서 Redis에 저장하지 않음: {} ({}바이트)", jobId, bytes);
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key(jobId), json, ttl);
+            redisValueBytes.record(bytes);
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("Redis 결과 캐시 저장 실패: {} - {}", jobId, e.getMessage());
+        }
+    }
+
+    /**
+     * 결과 원문 조회 - 로컬에 없으면 Redis에서 가져와 로컬에 적재 (둘 다 없으면 null)
+     */
+    public String get(UUID jobId) {
+        Entry entry = local.getIfPresent(jobId);
+        if (entry != null) {
+            return entry.json();
+        }
+        if (!redisEnabled) {
+            return null;
+        }
+
+        String json;
+        try {
+            json = redisTemplate.opsForValue().get(key(jobId));
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("Redis 결과 캐시 조회 실패: {} - {}", jobId, e.getMessage());
+            return null;
+        }
+        if (json == null) {
+            redisMisses.increment();
+            return null;
+        }
+        redisHits.increment();
+        local.put(jobId, new Entry(json, json.getBytes(StandardCharsets.UTF_8).length));
+        return json;
+    }
+
+    /**
+     * 결과 제거 (로컬 + Redis)
+     */
+    public void evict(UUID jobId) {
+        local.invalidate(jobId);
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.delete(key(jobId));
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("Redis 결과 캐시 삭제 실패: {} - {}", jobId, e.getMessage());
+        }
+    }
+
+    private String key(UUID jobId) {
+        return keyPrefix + jobId;
+    }
+}
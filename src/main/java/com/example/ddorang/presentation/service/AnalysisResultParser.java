@@ -0,0 +1,360 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.presentation.dto.AnalysisResultPayload;
+import com.example.ddorang.presentation.entity.PresentationFeedback;
+import com.example.ddorang.presentation.entity.SttResult;
+import com.example.ddorang.presentation.entity.VoiceAnalysis;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.Map;
+
+/**
+ * FastAPI 분석 결과 스트리밍 파서
+ *
+ * 응답을 Map으로 만들지 않고 토큰 단위로 읽어 VoiceAnalysis / SttResult / PresentationFeedback 값을 바로 채웁니다.
+ * - feedback 하위 목록과 predicted_questions는 원문 하위 트리를 그대로 복사 (다시 직렬화하지 않음)
+ * - result 객체는 한 번만 읽으며, 읽은 토큰을 그대로 생성기에 흘려 원문을 만듦 (원문을 복사한 뒤 다시 파싱하지 않음)
+ *   원문은 결과 캐시에 그대로 저장
+ * - result 안에 다시 result 객체가 있으면(이전 응답 구조) 안쪽 값을 사용
+ * - pronunciation 필드는 올바른 철자와 오타(pronounciation_*) 모두 지원
+ */
+@Component
+@Slf4j
+public class AnalysisResultParser {
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+
+    public AnalysisResultParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * 결과 조회/콜백 응답 ({status, job_id, client_job_id, error, result})
+     */
+    public record Envelope(String status, String jobId, String clientJobId, String error,
+                           AnalysisResultPayload result) {
+    }
+
+    public Envelope parseEnvelope(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readEnvelope(parser);
+        }
+    }
+
+    public Envelope parseEnvelope(String body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readEnvelope(parser);
+        }
+    }
+
+    /**
+     * 이미 Map으로 받은 결과 (동기 분석 API 응답)
+     * 문자열로 직렬화하지 않고 토큰 버퍼로 옮겨 읽음
+     */
+    public AnalysisResultPayload parseResult(Map<String, Object> result) throws IOException {
+        if (result == null) {
+            return null;
+        }
+        TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+        objectMapper.writeValue(buffer, result);
+        try (JsonParser parser = buffer.asParser()) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("분석 결과가 JSON 객체가 아닙니다");
+            }
+            return readResult(parser);
+        }
+    }
+
+    private Envelope readEnvelope(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("FastAPI 응답이 JSON 객체가 아닙니다");
+        }
+
+        String status = null;
+        String jobId = null;
+        String clientJobId = null;
+        String error = null;
+        AnalysisResultPayload result = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "status" -> status = text(parser);
+                case "job_id" -> jobId = text(parser);
+                case "client_job_id" -> clientJobId = text(parser);
+                case "error" -> error = text(parser);
+                case "result" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        result = readResult(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return new Envelope(status, jobId, clientJobId, error, result);
+    }
+
+    // result 객체(현재 토큰이 START_OBJECT)를 한 번 읽으며 값 추출과 원문 기록을 함께 수행
+    private AnalysisResultPayload readResult(JsonParser source) throws IOException {
+        Fields fields = new Fields();
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            readFields(new TeeParser(source, generator), fields);
+        }
+        String rawJson = writer.toString();
+
+        Fields values = fields.nested != null ? fields.nested : fields;
+        String videoPath = values.videoPath != null ? values.videoPath : fields.videoPath;
+        return AnalysisResultPayload.builder()
+            .voiceAnalysis(values.voiceAnalysis())
+            .sttResult(values.sttResult())
+            .feedback(values.feedback())
+            .videoPath(videoPath)
+            .rawJson(rawJson)
+            .empty(values.fieldCount == 0)
+            .build();
+    }
+
+    private void readFields(JsonParser parser, Fields f) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            f.fieldCount++;
+            switch (field) {
+                case "result" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        f.nested = new Fields();
+                        readFields(parser, f.nested);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "video_path" -> f.videoPath = text(parser);
+
+                // 음성 분석
+                case "intensity_grade" -> f.voice.intensityGrade(text(parser));
+                case "intensity_db" -> f.voice.intensityDb(floatValue(parser, field));
+                case "intensity_text" -> f.voice.intensityText(text(parser));
+                case "pitch_grade" -> f.voice.pitchGrade(text(parser));
+                case "pitch_avg" -> f.voice.pitchAvg(floatValue(parser, field));
+                case "pitch_text" -> f.voice.pitchText(text(parser));
+                case "wpm_grade" -> f.voice.wpmGrade(text(parser));
+                case "wpm_avg" -> f.voice.wpmAvg(floatValue(parser, field));
+                case "wpm_comment" -> f.voice.wpmComment(text(parser));
+                case "anxiety_grade" -> f.anxietyGrade = text(parser);
+                case "anxiety_ratio" -> f.voice.anxietyRatio(floatValue(parser, field));
+                case "anxiety_comment" -> f.voice.anxietyComment(text(parser));
+                // 문자열이면 등급, 객체면 내부의 grade (anxiety_grade가 있으면 그 값 우선)
+                case "anxiety_analysis" -> f.anxietyFromAnalysis = token == JsonToken.START_OBJECT
+                    ? gradeOf(parser)
+                    : text(parser);
+
+                // STT
+                case "transcription" -> f.stt.transcription(text(parser));
+                case "pronunciation_score" -> f.pronunciationScore = floatValue(parser, field);
+                case "pronounciation_score" -> f.pronunciationScoreTypo = floatValue(parser, field);
+                case "pronunciation_grade" -> f.pronunciationGrade = text(parser);
+                case "pronounciation_grade" -> f.pronunciationGradeTypo = text(parser);
+                case "pronunciation_comment" -> f.pronunciationComment = text(parser);
+                case "pronunciation_text" -> f.pronunciationText = text(parser);
+                case "pronounciation_text" -> f.pronunciationTextTypo = text(parser);
+                case "adjusted_script" -> f.stt.adjustedScript(text(parser));
+                case "corrected_transcription" -> f.stt.correctedScript(text(parser));
+
+                // 피드백 (JSON 컬럼에 원문 그대로 저장)
+                case "feedback" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        f.hasFeedback = true;
+                        readFeedback(parser, f);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "predicted_questions" -> f.predictedQuestions = raw(parser);
+
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private void readFeedback(JsonParser parser, Fields f) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "frequent_words" -> f.frequentWords = raw(parser);
+                case "awkward_sentences" -> f.awkwardSentences = raw(parser);
+                case "difficulty_issues" -> f.difficultyIssues = raw(parser);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    // anxiety_analysis 객체에서 grade만 추출
+    private String gradeOf(JsonParser parser) throws IOException {
+        String grade = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("grade".equals(field)) {
+                grade = text(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return grade;
+    }
+
+    // 스칼라는 문자열로, 객체/배열은 원문 그대로
+    private String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            return raw(parser);
+        }
+        return parser.getValueAsString();
+    }
+
+    private Float floatValue(JsonParser parser, String field) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getFloatValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Float.parseFloat(parser.getText());
+            } catch (NumberFormatException e) {
+                log.warn("Float 변환 실패: {} = {}", field, parser.getText());
+                return null;
+            }
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    // 현재 값(하위 트리 포함)을 원문 JSON으로 복사
+    private String raw(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 읽은 토큰을 생성기에도 그대로 기록하는 파서 (생성 시점의 현재 토큰부터)
+     * 건너뛴 하위 트리(skipChildren)도 원문에 남도록 토큰 단위로 읽으며 넘김
+     */
+    private static final class TeeParser extends JsonParserDelegate {
+
+        private final JsonGenerator tee;
+
+        private TeeParser(JsonParser source, JsonGenerator tee) throws IOException {
+            super(source);
+            this.tee = tee;
+            tee.copyCurrentEventExact(source);
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            JsonToken token = delegate.nextToken();
+            if (token != null) {
+                tee.copyCurrentEventExact(delegate);
+            }
+            return token;
+        }
+
+        @Override
+        public JsonParser skipChildren() throws IOException {
+            JsonToken token = currentToken();
+            if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+                return this;
+            }
+            int depth = 1;
+            while (depth > 0) {
+                token = nextToken();
+                if (token == null) {
+                    break;
+                }
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * 파싱 중 누적 값 (엔티티 빌더 + 우선순위가 있는 필드)
+     */
+    private static final class Fields {
+        private final VoiceAnalysis.VoiceAnalysisBuilder voice = VoiceAnalysis.builder();
+        private final SttResult.SttResultBuilder stt = SttResult.builder();
+        private Fields nested;
+        private int fieldCount;
+        private String videoPath;
+
+        private String anxietyGrade;
+        private String anxietyFromAnalysis;
+
+        private Float pronunciationScore;
+        private Float pronunciationScoreTypo;
+        private String pronunciationGrade;
+        private String pronunciationGradeTypo;
+        private String pronunciationComment;
+        private String pronunciationText;
+        private String pronunciationTextTypo;
+
+        private boolean hasFeedback;
+        private String frequentWords;
+        private String awkwardSentences;
+        private String difficultyIssues;
+        private String predictedQuestions;
+
+        private VoiceAnalysis voiceAnalysis() {
+            return voice.anxietyGrade(anxietyGrade != null ? anxietyGrade : anxietyFromAnalysis).build();
+        }
+
+        private SttResult sttResult() {
+            return stt
+                .pronunciationScore(pronunciationScore != null ? pronunciationScore : pronunciationScoreTypo)
+                .pronunciationGrade(pronunciationGrade != null ? pronunciationGrade : pronunciationGradeTypo)
+                .pronunciationComment(pronunciationComment != null ? pronunciationComment
+                    : pronunciationText != null ? pronunciationText : pronunciationTextTypo)
+                .build();
+        }
+
+        // feedback 객체가 없으면 빈 목록으로 기본 피드백 생성
+        private PresentationFeedback feedback() {
+            return PresentationFeedback.builder()
+                .frequentWords(hasFeedback ? frequentWords : "[]")
+                .awkwardSentences(hasFeedback ? awkwardSentences : "[]")
+                .difficultyIssues(hasFeedback ? difficultyIssues : "[]")
+                .predictedQuestions(predictedQuestions)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.ddorang.presentation.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 분석 결과 테이블의 presentation_id 유니크 인덱스 확인 (시작 시 1회)
+ *
+ * 결과 저장은 presentation_id 기준 upsert(ON DUPLICATE KEY UPDATE)라 유니크 인덱스가 없으면 갱신 대신 행이 계속 늘어납니다.
+ * 중복 행이 있는 기존 DB에서는 ddl-auto: update 가 제약 추가에 실패해도 경고만 남기므로,
+ * 인덱스가 없으면 애플리케이션 시작을 중단하고 정리 스크립트(db/analysis-result-unique-presentation.sql)를 안내합니다.
+ *
+ * Hibernate 스키마 갱신이 끝난 뒤 확인하도록 EntityManagerFactory 초기화 이후에 실행됩니다.
+ */
+@Component
+@Slf4j
+public class AnalysisResultSchemaVerifier {
+
+    private static final List<String> TABLES = List.of("voice_analysis", "stt_result", "presentation_feedback");
+    private static final String COLUMN = "presentation_id";
+    private static final String MIGRATION_SCRIPT = "db/analysis-result-unique-presentation.sql";
+
+    private final DataSource dataSource;
+
+    @Value("${app.schema.verify-result-constraints:true}")
+    private boolean enabled;
+
+    // entityManagerFactory는 스키마 갱신(ddl-auto) 이후에 확인하기 위한 초기화 순서 의존성
+    public AnalysisResultSchemaVerifier(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void verify() throws SQLException {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : TABLES) {
+                if (!hasUniqueIndexOnPresentation(metaData, connection, table)) {
+                    missing.add(table);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException(String.format(
+                "분석 결과 테이블에 presentation_id 유니크 인덱스가 없습니다: %s "
+                    + "(중복 행을 정리하고 인덱스를 추가하는 %s 를 실행한 뒤 다시 시작하세요. "
+                    + "확인을 건너뛰려면 app.schema.verify-result-constraints=false)",
+                missing, MIGRATION_SCRIPT));
+        }
+        log.info("분석 결과 테이블 presentation_id 유니크 인덱스 확인 완료: {}", TABLES);
+    }
+
+    // presentation_id 하나로만 이루어진 유니크 인덱스가 있는지 (식별자 대소문자는 DB마다 다르므로 양쪽 모두 조회)
+    private boolean hasUniqueIndexOnPresentation(DatabaseMetaData metaData, Connection connection, String table)
+            throws SQLException {
+        for (String name : List.of(table, table.toUpperCase(Locale.ROOT))) {
+            Map<String, List<String>> columnsByIndex = new HashMap<>();
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), name,
+                    true, false)) {
+                while (indexes.next()) {
+                    String index = indexes.getString("INDEX_NAME");
+                    String column = indexes.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        columnsByIndex.computeIfAbsent(index, key -> new ArrayList<>()).add(column);
+                    }
+                }
+            }
+            boolean found = columnsByIndex.values().stream()
+                .anyMatch(columns -> columns.size() == 1 && COLUMN.equalsIgnoreCase(columns.get(0)));
+            if (found) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.presentation.dto.PresentationFeedbackResponse;
+import com.example.ddorang.presentation.dto.SttResultResponse;
+import com.example.ddorang.presentation.dto.VoiceAnalysisResponse;
+import com.example.ddorang.presentation.entity.AnalysisResultSnapshot;
+import com.example.ddorang.presentation.repository.AnalysisResultSnapshotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 분석 결과 스냅샷 저장소
+ *
+ * 분석이 끝나면 결과가 바뀌지 않으므로 /video-analysis/results/{presentationId} 응답 문서
+ * (voiceAnalysis, sttResult, feedback)를 완료 시점에 한 번 렌더링하여 gzip으로 저장합니다.
+ * 조회는 기본키 조회 한 번으로 끝나고 JSON 파싱/직렬화가 없으며, 압축 전 JSON의 SHA-256을 ETag로 사용합니다.
+ * - 분석 결과가 다시 저장되거나 발표 제목이 바뀌면 다시 렌더링/삭제 (삭제된 경우 다음 조회 때 렌더링)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisResultSnapshotService {
+
+    private final AnalysisResultSnapshotRepository analysisResultSnapshotRepository;
+    private final VoiceAnalysisService voiceAnalysisService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 발표의 현재 분석 결과로 스냅샷 생성/갱신
+     *
+     * @return 저장된 스냅샷 (분석 결과가 하나도 없으면 null)
+     */
+    @Transactional
+    public AnalysisResultSnapshot render(UUID presentationId) {
+        VoiceAnalysisResponse voiceAnalysis = voiceAnalysisService.getVoiceAnalysis(presentationId);
+        SttResultResponse sttResult = voiceAnalysisService.getSttResult(presentationId);
+        PresentationFeedbackResponse feedback = voiceAnalysisService.getPresentationFeedback(presentationId);
+        if (voiceAnalysis == null && sttResult == null && feedback == null) {
+            return null;
+        }
+
+        // 같은 결과면 같은 해시가 나오도록 키 순서 고정
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("voiceAnalysis", voiceAnalysis);
+        document.put("sttResult", sttResult);
+        document.put("feedback", feedback);
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException("분석 결과 스냅샷 직렬화 실패: " + presentationId, e);
+        }
+
+        AnalysisResultSnapshot snapshot = AnalysisResultSnapshot.builder()
+            .presentationId(presentationId)
+            .contentGzip(gzip(json))
+            .contentHash(sha256(json))
+            .contentLength(json.length)
+            .renderedAt(LocalDateTime.now())
+            .build();
+        analysisResultSnapshotRepository.save(snapshot);
+        log.info("분석 결과 스냅샷 저장: {} ({}바이트 → {}바이트)",
+            presentationId, json.length, snapshot.getContentGzip().length);
+        return snapshot;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<AnalysisResultSnapshot> find(UUID presentationId) {
+        return analysisResultSnapshotRepository.findById(presentationId);
+    }
+
+    /**
+     * gzip을 지원하지 않는 클라이언트용 압축 해제
+     */
+    public static byte[] decompress(byte[] gzipped) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("분석 결과 스냅샷 압축 해제 실패", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("분석 결과 스냅샷 압축 실패", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.presentation.entity.VideoAnalysisJob;
+import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * DB 기반 영상 분석 작업 큐
+ *
+ * 작업은 video_analysis_job 테이블 자체가 큐 역할을 합니다.
+ * - 등록: 원본 파일 경로(sourceFilePath)를 기록하면 점유 대상이 됨
+ * - 점유: 조건부 UPDATE로 점유(lease)를 얻은 인스턴스만 업로드/폴링을 수행
+ * - 연장: 점유한 인스턴스가 살아있는 동안 heartbeat로 만료 시각을 연장
+ * - 회수: 인스턴스가 죽어 점유가 만료되면 다른 인스턴스(또는 재시작한 자신)가 가져감
+ *   업로드가 끝난 작업(fastApiJobId 보유)은 결과 폴링만 재개하고, 아니면 청크 원장 기준으로 업로드를 이어감
+ *
+ * 점유 컬럼(leaseOwner, leaseExpiresAt)과 상태는 조건부 UPDATE로만 바꾸며, 작업 엔티티 전체를 저장하는 경로는 두지 않습니다.
+ * (조회한 엔티티를 저장하면 그 사이에 다른 인스턴스가 갱신한 점유/취소 정보가 되돌아감)
+ *
+ * 원본 파일은 UploadSpool의 작업별 디렉터리에 두며, 업로드가 끝나거나 작업이 종료되면 반납합니다.
+ * 다중 인스턴스에서 사용하려면 원본 파일 경로(app.spool.dir)가 모든 인스턴스에서 접근 가능한 저장소여야 합니다.
+ */
+@Service
+@Slf4j
+public class AnalysisWorkQueue {
+
+    private final VideoAnalysisJobRepository videoAnalysisJobRepository;
+    private final FastApiPollingService fastApiPollingService;
+    private final FastApiJobPoller fastApiJobPoller;
+    private final AnalysisEtaEstimator analysisEtaEstimator;
+    private final VideoAnalysisService videoAnalysisService;
+    private final AnalysisAdmissionService analysisAdmissionService;
+    private final UploadSpool uploadSpool;
+    private final AnalysisCancellationService analysisCancellationService;
+
+    private final String nodeId;
+    // 이 인스턴스에서 동시에 진행하는 업로드 수 제한
+    private final Semaphore uploadSlots;
+
+    @Value("${fastapi.queue.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${fastapi.queue.max-attempts:3}")
+    private int maxAttempts;
+
+    // 업로드 실패 후 다시 점유 가능해질 때까지의 대기 시간
+    @Value("${fastapi.queue.retry-delay-seconds:30}")
+    private long retryDelaySeconds;
+
+    // 점유 정보도 원본 파일도 없이 이 시간 이상 처리 중인 작업은 복구 불가로 보고 실패 처리
+    @Value("${fastapi.queue.stranded-minutes:60}")
+    private long strandedMinutes;
+
+    public AnalysisWorkQueue(VideoAnalysisJobRepository videoAnalysisJobRepository,
+                             FastApiPollingService fastApiPollingService,
+                             FastApiJobPoller fastApiJobPoller,
+                             AnalysisEtaEstimator analysisEtaEstimator,
+                             VideoAnalysisService videoAnalysisService,
+                             AnalysisAdmissionService analysisAdmissionService,
+                             UploadSpool uploadSpool,
+                             AnalysisCancellationService analysisCancellationService,
+                             @Value("${fastapi.queue.node-id:}") String nodeId,
+                             @Value("${fastapi.queue.worker-slots:5}") int workerSlots) {
+        this.videoAnalysisJobRepository = videoAnalysisJobRepository;
+        this.fastApiPollingService = fastApiPollingService;
+        this.fastApiJobPoller = fastApiJobPoller;
+        this.analysisEtaEstimator = analysisEtaEstimator;
+        this.videoAnalysisService = videoAnalysisService;
+        this.analysisAdmissionService = analysisAdmissionService;
+        this.uploadSpool = uploadSpool;
+        this.analysisCancellationService = analysisCancellationService;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.uploadSlots = new Semaphore(workerSlots);
+        log.info("영상 분석 작업 큐 초기화: nodeId={}, workerSlots={}", this.nodeId, workerSlots);
+    }
+
+    /**
+     * 작업 등록 - 이미 디스크에 저장된 원본 파일
+     * 호출한 트랜잭션이 커밋된 뒤에 점유 대상이 됨
+     */
+    public void enqueue(UUID jobId, File sourceFile) {
+        videoAnalysisJobRepository.assignSourceFile(jobId, sourceFile.getAbsolutePath());
+        log.info("분석 작업 큐 등록: {} ({})", jobId, sourceFile.getName());
+    }
+
+    /**
+     * 작업 등록 - 업로드된 MultipartFile을 작업별 spool 디렉터리로 넘겨받은 뒤 등록
+     * 요청이 끝나면 MultipartFile이 정리되므로 트랜잭션 커밋 전에 호출해야 함
+     */
+    public void enqueue(UUID jobId, MultipartFile videoFile) throws IOException {
+        enqueue(jobId, uploadSpool.spool(jobId, videoFile));
+    }
+
+    /**
+     * 점유 가능한 작업을 가져와 처리 시작
+     * 1. 점유가 만료된 진행 중 작업 회수 (이미 수락된 작업이므로 수락 제어 대상 아님)
+     * 2. 수락 제어(AnalysisAdmissionService)를 통과한 대기 작업 시작
+     */
+    @Scheduled(fixedDelayString = "${fastapi.queue.claim-interval-millis:2000}")
+    public void dispatch() {
+        int capacity = uploadSlots.availablePermits();
+        if (capacity <= 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = claimAll(videoAnalysisJobRepository.findReclaimableJobIds(now, PageRequest.of(0, capacity)), now);
+        if (claimed < capacity) {
+            claimAll(analysisAdmissionService.selectAdmissible(capacity - claimed), now);
+        }
+    }
+
+    /**
+     * 업로드 슬롯을 먼저 확보한 뒤 점유
+     * 점유(claimLease)가 시도 횟수와 배정 시각을 기록하므로, 슬롯이 없어 점유를 되돌리는 일이 없도록 순서를 지킴
+     */
+    private int claimAll(List<UUID> jobIds, LocalDateTime now) {
+        int claimed = 0;
+        for (UUID jobId : jobIds) {
+            if (!uploadSlots.tryAcquire()) {
+                break;
+            }
+            boolean uploading = false;
+            try {
+                if (videoAnalysisJobRepository.claimLease(jobId, nodeId, now, now.plusSeconds(leaseSeconds)) == 1) {
+                    claimed++;
+                    uploading = start(jobId);
+                }
+            } finally {
+                // 업로드를 시작하지 않았으면 슬롯 반납 (시작했으면 업로드가 끝날 때 반납)
+                if (!uploading) {
+                    uploadSlots.release();
+                }
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * 이 인스턴스가 점유한 진행 중 작업의 점유 연장 (업로드 중/결과 대기 중 모두 포함)
+     */
+    @Scheduled(fixedDelayString = "${fastapi.queue.heartbeat-millis:20000}")
+    public void heartbeat() {
+        int renewed = videoAnalysisJobRepository.renewLeases(nodeId, LocalDateTime.now().plusSeconds(leaseSeconds));
+        if (renewed > 0) {
+            log.debug("작업 점유 연장: {}건 ({})", renewed, nodeId);
+        }
+    }
+
+    /**
+     * 다른 인스턴스에서 취소된 작업 감지 - 이 인스턴스의 업로드/폴링을 멈추고 점유 해제
+     * (원본 파일은 업로드가 멈춘 뒤 afterUpload에서 반납)
+     */
+    @Scheduled(fixedDelayString = "${fastapi.cancel.check-millis:3000}")
+    public void syncCancellations() {
+        for (UUID jobId : videoAnalysisJobRepository.findCancelRequestedJobIds(nodeId)) {
+            log.info("취소된 작업 처리 중단: {} ({})", jobId, nodeId);
+            analysisCancellationService.cancelLocally(jobId);
+            videoAnalysisJobRepository.releaseLease(jobId, nodeId, null);
+        }
+    }
+
+    /**
+     * 큐 도입 이전에 시작되어 점유 정보도 원본 파일도 없는 작업 정리
+     * (VideoAnalysisJobRepository.findStuckJobs 기반)
+     */
+    @Scheduled(fixedDelayString = "${fastapi.queue.stranded-check-millis:600000}")
+    public void failStrandedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        videoAnalysisJobRepository.findStuckJobs(now.minusMinutes(strandedMinutes)).stream()
+            .filter(job -> job.getSourceFilePath() == null && job.getFastApiJobId() == null)
+            .filter(job -> job.getLeaseExpiresAt() == null || job.getLeaseExpiresAt().isBefore(now))
+            .forEach(job -> {
+                log.warn("복구할 수 없는 작업 실패 처리: {} (생성 {})", job.getId(), job.getCreatedAt());
+                videoAnalysisService.markJobAsFailed(job.getId(), "서버 재시작으로 분석 작업이 중단되었습니다");
+            });
+    }
+
+    @PreDestroy
+    public void releaseOnShutdown() {
+        try {
+            int released = videoAnalysisJobRepository.releaseAllLeases(nodeId);
+            log.info("종료 전 작업 점유 해제: {}건 ({})", released, nodeId);
+        } catch (Exception e) {
+            log.warn("종료 전 작업 점유 해제 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 점유한 작업 처리 시작 (호출 시점에 업로드 슬롯 하나를 확보한 상태)
+     *
+     * @return 업로드를 시작했으면 true (슬롯은 업로드가 끝날 때 반납), 아니면 false (호출한 쪽이 반납)
+     */
+    private boolean start(UUID jobId) {
+        VideoAnalysisJob job = videoAnalysisJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return false;
+        }
+
+        // 업로드까지 끝난 작업은 결과 폴링만 재개
+        if (job.getFastApiJobId() != null) {
+            log.info("♻️ 점유한 작업의 결과 폴링 재개: {} → {}", jobId, job.getFastApiJobId());
+            fastApiJobPoller.track(jobId, job.getFastApiJobId(), job.getFastApiEndpoint(),
+                analysisEtaEstimator.estimateCompletion(job));
+            return false;
+        }
+
+        File sourceFile = new File(job.getSourceFilePath());
+        if (job.getAttemptCount() != null && job.getAttemptCount() > maxAttempts) {
+            log.error("분석 작업 재시도 횟수 초과: {} ({}회)", jobId, job.getAttemptCount() - 1);
+            videoAnalysisService.markJobAsFailed(jobId, "분석 서버 업로드 재시도 횟수 초과");
+            uploadSpool.release(jobId, sourceFile);
+            return false;
+        }
+        if (!sourceFile.exists()) {
+            log.error("분석 작업 원본 파일 없음: {} ({})", jobId, sourceFile.getAbsolutePath());
+            videoAnalysisService.markJobAsFailed(jobId, "원본 영상 파일을 찾을 수 없습니다");
+            return false;
+        }
+
+        log.info("분석 작업 점유: {} (시도 {}회, {})", jobId, job.getAttemptCount(), nodeId);
+        if (job.getAttemptCount() != null && job.getAttemptCount() == 1) {
+            analysisAdmissionService.recordDispatch(job);
+        }
+        try {
+            fastApiPollingService.startVideoAnalysis(job, sourceFile)
+                .whenComplete((ignored, error) -> {
+                    uploadSlots.release();
+                    afterUpload(jobId, sourceFile);
+                });
+            return true;
+        } catch (RuntimeException e) {
+            log.error("분석 작업 시작 실패: {}", jobId, e);
+            videoAnalysisJobRepository.releaseLease(jobId, nodeId, LocalDateTime.now().plusSeconds(retryDelaySeconds));
+            return false;
+        }
+    }
+
+    /**
+     * 업로드 단계 종료 후 처리
+     * - 업로드 성공 또는 작업 종료: 원본 파일 삭제 (점유는 결과 폴링 동안 유지)
+     * - 그 외: 원본 파일을 남기고 점유 해제하여 retry-delay 이후 재시도
+     */
+    private void afterUpload(UUID jobId, File sourceFile) {
+        try {
+            VideoAnalysisJob job = videoAnalysisJobRepository.findById(jobId).orElse(null);
+            if (job == null || job.getFastApiJobId() != null || job.isCompleted()) {
+                uploadSpool.release(jobId, sourceFile);
+                return;
+            }
+            log.warn("분석 작업 업로드 미완료, {}초 후 재시도: {}", retryDelaySeconds, jobId);
+            videoAnalysisJobRepository.releaseLease(jobId, nodeId, LocalDateTime.now().plusSeconds(retryDelaySeconds));
+        } catch (Exception e) {
+            log.error("업로드 후 작업 큐 처리 실패: {}", jobId, e);
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
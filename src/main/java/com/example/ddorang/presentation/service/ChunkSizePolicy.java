@@ -0,0 +1,124 @@
+package com.example.ddorang.presentation.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 업로드별 청크 크기 결정
+ *
+ * 고정 50MB 대신 업로드 시작 시점에 다음을 보고 청크 크기를 정합니다. (한 업로드 안에서는 크기가 바뀌지 않음 - total_chunks 고정)
+ * - 전송 속도: 최근 청크 전송 속도(MB/s)의 이동 평균 × target-chunk-seconds (청크 하나가 목표 시간 안에 전송되도록)
+ * - 파일 크기: single-chunk-max 이하이면 한 번에 전송, max-chunks 를 넘지 않도록 하한 적용
+ * 청크는 파일 구간에서 스트리밍되어 청크 크기가 힙/다이렉트 메모리 사용량을 바꾸지 않으므로 메모리 여유는 반영하지 않습니다.
+ * (메모리 여유는 전송 시작 시 MemoryPressureGate가 확인)
+ * 결과는 min-size ~ max-size 범위로 제한하고 1MB 단위로 맞춥니다.
+ *
+ * 메트릭: fastapi.upload.throughput (MB/s 이동 평균), fastapi.upload.chunk.size (선택된 크기)
+ */
+@Component
+@Slf4j
+public class ChunkSizePolicy {
+
+    private static final long MB = 1024 * 1024;
+
+    private final DistributionSummary chosenSizes;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 최근 청크 전송 속도 이동 평균 (MB/s, 측정 전이면 NaN)
+    private double throughputMbps = Double.NaN;
+
+    @Value("${fastapi.upload.chunk.default-size-mb:50}")
+    private long defaultSizeMb;
+
+    @Value("${fastapi.upload.chunk.min-size-mb:8}")
+    private long minSizeMb;
+
+    @Value("${fastapi.upload.chunk.max-size-mb:100}")
+    private long maxSizeMb;
+
+    // 이 크기 이하 파일은 나누지 않고 한 청크로 전송
+    @Value("${fastapi.upload.chunk.single-chunk-max-mb:20}")
+    private long singleChunkMaxMb;
+
+    @Value("${fastapi.upload.chunk.max-chunks:200}")
+    private int maxChunks;
+
+    // 청크 하나의 목표 전송 시간
+    @Value("${fastapi.upload.chunk.target-chunk-seconds:15}")
+    private double targetChunkSeconds;
+
+    @Value("${fastapi.upload.chunk.smoothing:0.3}")
+    private double smoothing;
+
+    public ChunkSizePolicy(MeterRegistry meterRegistry) {
+        this.chosenSizes = DistributionSummary.builder("fastapi.upload.chunk.size")
+            .baseUnit("bytes")
+            .description("업로드별로 선택된 청크 크기")
+            .register(meterRegistry);
+        Gauge.builder("fastapi.upload.throughput", this, ChunkSizePolicy::currentThroughputMbps)
+            .baseUnit("MB/s")
+            .description("최근 청크 전송 속도 이동 평균")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 업로드할 파일의 청크 크기 (바이트)
+     *
+     * @param fileSize 파일 크기
+     */
+    public long chooseChunkSize(long fileSize) {
+        if (fileSize <= singleChunkMaxMb * MB) {
+            long size = Math.max(fileSize, 1);
+            chosenSizes.record(size);
+            return size;
+        }
+
+        double rate = currentThroughputMbps();
+        long bySpeed = Double.isNaN(rate) ? defaultSizeMb * MB : (long) (rate * targetChunkSeconds * MB);
+        long byCount = (fileSize + maxChunks - 1) / maxChunks;
+
+        long size = Math.max(bySpeed, byCount);
+        size = Math.max(minSizeMb * MB, Math.min(maxSizeMb * MB, size));
+        size = Math.max(MB, size / MB * MB);
+        if (size >= fileSize) {
+            size = fileSize;
+        }
+
+        log.info("청크 크기 결정: {}MB (파일 {}MB, 전송 속도 {} MB/s, 속도 기준 {}MB, 개수 기준 {}MB)",
+            size / MB, fileSize / MB, Double.isNaN(rate) ? "-" : String.format("%.2f", rate),
+            bySpeed / MB, byCount / MB);
+        chosenSizes.record(size);
+        return size;
+    }
+
+    /**
+     * 청크 전송 결과 반영 (성공한 전송만)
+     */
+    public void recordTransfer(long bytes, long elapsedMillis) {
+        if (bytes < MB || elapsedMillis <= 0) {
+            return; // 너무 작은 청크는 고정 오버헤드가 지배적이라 속도 측정에서 제외
+        }
+        double sample = (bytes / (double) MB) / (elapsedMillis / 1000.0);
+        lock.lock();
+        try {
+            throughputMbps = Double.isNaN(throughputMbps) ? sample : smoothing * sample + (1 - smoothing) * throughputMbps;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double currentThroughputMbps() {
+        lock.lock();
+        try {
+            return throughputMbps;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.presentation.entity.VideoAnalysisJob;
+import com.example.ddorang.presentation.entity.VideoUploadChunk;
+import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
+import com.example.ddorang.presentation.repository.VideoUploadChunkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 청크 업로드 원장 관리
+ * FastAPI가 수신 확인한 chunk_index와 CRC32C를 작업별로 저장하여,
+ * 재시도/재시작 시 이미 전송된 청크를 건너뛰고 누락된 청크부터 이어서 업로드
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkUploadLedgerService {
+
+    private final VideoUploadChunkRepository videoUploadChunkRepository;
+    private final VideoAnalysisJobRepository videoAnalysisJobRepository;
+
+    // 작업의 수신 확인된 청크 (chunk_index → 원장 기록)
+    @Transactional(readOnly = true)
+    public Map<Integer, VideoUploadChunk> findAcknowledged(UUID jobId) {
+        return videoUploadChunkRepository.findByJobIdOrderByChunkIndex(jobId).stream()
+            .collect(Collectors.toMap(VideoUploadChunk::getChunkIndex, Function.identity()));
+    }
+
+    // 청크 수신 확인 기록 (파이프라인 전송 시 여러 스레드에서 동시에 호출됨)
+    @Transactional
+    public void recordAck(UUID jobId, int chunkIndex, long offset, long length, long crc32c, String fastApiJobId,
+                          String videoPath) {
+        videoUploadChunkRepository.save(VideoUploadChunk.builder()
+            .job(videoAnalysisJobRepository.getReferenceById(jobId))
+            .chunkIndex(chunkIndex)
+            .chunkOffset(offset)
+            .chunkLength(length)
+            .crc32c(crc32c)
+            .fastApiJobId(fastApiJobId)
+            .videoPath(videoPath)
+            .build());
+        log.debug("청크 ack 기록: {} - {}", jobId, chunkIndex);
+    }
+
+    // 업로드 세션이 속한 FastAPI 인스턴스 (기록 전이면 null)
+    @Transactional(readOnly = true)
+    public String findEndpoint(UUID jobId) {
+        return videoAnalysisJobRepository.findById(jobId)
+            .map(VideoAnalysisJob::getFastApiEndpoint)
+            .orElse(null);
+    }
+
+    // 업로드 세션이 속한 FastAPI 인스턴스 기록 (새 세션을 시작할 때)
+    public void assignEndpoint(UUID jobId, String endpoint) {
+        videoAnalysisJobRepository.assignFastApiEndpoint(jobId, endpoint);
+    }
+
+    // 업로드에 사용한 청크 크기와 실제 전송 속도 기록 (청크 크기 정책 검증용)
+    public void recordUploadStats(UUID jobId, long chunkSize, double throughputMbps) {
+        videoAnalysisJobRepository.recordUploadStats(jobId, chunkSize, throughputMbps);
+    }
+
+    // 작업의 원장 삭제 (업로드 완료 또는 구간 불일치 시)
+    @Transactional
+    public void clear(UUID jobId) {
+        videoUploadChunkRepository.deleteByJobId(jobId);
+    }
+}
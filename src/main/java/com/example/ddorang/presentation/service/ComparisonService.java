@@ -18,12 +18,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,56 +42,88 @@ public class ComparisonService {
     private final UserRepository userRepository;
     private final FastApiService fastApiService;
     private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
     
     /**
      * 두 발표를 비교하는 메인 메서드
+     * 1. 비교 데이터와 최적화된 대본을 준비 (호출 스레드, 짧은 트랜잭션)
+     * 2. FastAPI 대본 비교 요청 - 응답을 기다리는 동안 스레드를 점유하지 않음
+     * 3. 응답이 오면 결과 저장 (별도 트랜잭션, 블로킹 작업용 스케줄러)
+     * FastAPI 응답을 기다리는 동안 DB 연결/트랜잭션을 잡고 있지 않습니다.
      */
-    @Transactional
-    public ComparisonResponseDto comparePresentations(UUID userId, UUID presentationId1, UUID presentationId2) {
+    public CompletableFuture<ComparisonResponseDto> comparePresentations(UUID userId, UUID presentationId1, UUID presentationId2) {
         log.info("발표 비교 시작 - 사용자: {}, 발표1: {}, 발표2: {}", userId, presentationId1, presentationId2);
-        
-        // 1. 기존 비교 기록이 있는지 확인 (있으면 삭제하고 새로 생성)
-        Optional<PresentationComparison> existingComparison = 
-            comparisonRepository.findExistingComparison(userId, presentationId1, presentationId2);
-            
-        if (existingComparison.isPresent()) {
-            log.info("기존 비교 기록 발견, 삭제 후 최신 데이터로 재생성");
-            comparisonRepository.delete(existingComparison.get());
-        }
-        
-        // 2. 발표 및 사용자 정보 조회
+
+        // 검증 실패(권한, 데이터 없음)는 호출 스레드에서 바로 예외로 전달
+        PreparedComparison prepared = transactionTemplate.execute(status ->
+            prepareComparison(userId, presentationId1, presentationId2));
+
+        return generateAiComparisonResult(prepared)
+            .publishOn(Schedulers.boundedElastic())
+            .map(aiComparisonResult -> transactionTemplate.execute(status ->
+                saveComparison(userId, presentationId1, presentationId2, prepared.comparisonData(), aiComparisonResult)))
+            .toFuture();
+    }
+
+    private PreparedComparison prepareComparison(UUID userId, UUID presentationId1, UUID presentationId2) {
+        // 1. 발표 및 사용자 정보 조회
         User user = getUserById(userId);
         Presentation presentation1 = getPresentationById(presentationId1);
         Presentation presentation2 = getPresentationById(presentationId2);
-        
-        // 3. 권한 검증 - 두 발표 모두 해당 사용자의 것인지 확인
+
+        // 2. 권한 검증 - 두 발표 모두 해당 사용자의 것인지 확인
         validateUserOwnership(user, presentation1, presentation2);
-        
-        // 4. 음성 분석 데이터 조회
+
+        // 3. 음성 분석 데이터 조회
         VoiceAnalysis analysis1 = getVoiceAnalysis(presentationId1);
         VoiceAnalysis analysis2 = getVoiceAnalysis(presentationId2);
-        
-        // 5. 비교 데이터 생성
+
+        // 4. 비교 데이터 생성
         ComparisonDataDto comparisonData = createComparisonData(analysis1, analysis2);
-        
-        // 6. AI 기반 최적화된 대본 비교 분석
-        Map<String, Object> aiComparisonResult = generateAiComparisonResult(presentation1, presentation2);
-        
-        // 7. 비교 결과 저장
+
+        // 5. 최적화된 대본 조회 (없으면 AI 비교 생략)
+        String optimizedScript1 = null;
+        String optimizedScript2 = null;
+        try {
+            optimizedScript1 = getOptimizedScript(getSttResult(presentationId1));
+            optimizedScript2 = getOptimizedScript(getSttResult(presentationId2));
+        } catch (Exception e) {
+            log.error("AI 대본 비교용 대본 조회 실패: {}", e.getMessage());
+        }
+        return new PreparedComparison(comparisonData, optimizedScript1, optimizedScript2);
+    }
+
+    private ComparisonResponseDto saveComparison(UUID userId, UUID presentationId1, UUID presentationId2,
+                                                 ComparisonDataDto comparisonData, Map<String, Object> aiComparisonResult) {
+        // 기존 비교 기록이 있는지 확인 (있으면 삭제하고 새로 생성)
+        Optional<PresentationComparison> existingComparison =
+            comparisonRepository.findExistingComparison(userId, presentationId1, presentationId2);
+
+        if (existingComparison.isPresent()) {
+            log.info("기존 비교 기록 발견, 삭제 후 최신 데이터로 재생성");
+            comparisonRepository.delete(existingComparison.get());
+        }
+
         PresentationComparison comparison = PresentationComparison.builder()
-                .user(user)
-                .presentation1(presentation1)
-                .presentation2(presentation2)
+                .user(getUserById(userId))
+                .presentation1(getPresentationById(presentationId1))
+                .presentation2(getPresentationById(presentationId2))
                 .comparisonData(convertToJson(comparisonData))
                 .comparisonSummary(convertMapToJson(aiComparisonResult))
                 .build();
-        
+
         PresentationComparison savedComparison = comparisonRepository.save(comparison);
         log.info("발표 비교 완료, 결과 저장됨 - ID: {}", savedComparison.getId());
-        
+
         return convertToResponseDto(savedComparison);
     }
-    
+
+    /**
+     * 비교 요청 준비 결과 (대본이 없으면 null)
+     */
+    private record PreparedComparison(ComparisonDataDto comparisonData, String optimizedScript1, String optimizedScript2) {
+    }
+
     /**
      * 두 음성 분석 데이터를 비교하여 ComparisonDataDto 생성
      */
@@ -168,43 +204,20 @@ public class ComparisonService {
     
     /**
      * AI 기반 최적화된 대본 비교 분석 (구조화된 결과 반환)
+     * FastAPI 장애/타임아웃은 FastApiService가 목 결과로 대체하므로 이 Mono는 실패하지 않음
      */
-    private Map<String, Object> generateAiComparisonResult(Presentation p1, Presentation p2) {
-        log.debug("AI 대본 비교 분석 시작 - '{}' vs '{}'", p1.getTitle(), p2.getTitle());
-
-        try {
-            // 1. 최적화된 대본 조회
-            SttResult sttResult1 = getSttResult(p1.getId());
-            SttResult sttResult2 = getSttResult(p2.getId());
-
-            // 2. 최적화된 대본 추출 (adjustedScript 우선, 없으면 correctedScript)
-            String optimizedScript1 = getOptimizedScript(sttResult1);
-            String optimizedScript2 = getOptimizedScript(sttResult2);
-
-            // 3. FastAPI에 대본 비교 요청
-            Map<String, Object> comparisonResult = fastApiService.compareOptimizedScripts(
-                optimizedScript1, optimizedScript2);
-
-            // 4. FastAPI 응답을 그대로 반환 (구조화된 데이터)
-            return comparisonResult;
-
-        } catch (Exception e) {
-            log.error("AI 대본 비교 분석 실패: {}", e.getMessage(), e);
+    private Mono<Map<String, Object>> generateAiComparisonResult(PreparedComparison prepared) {
+        if (prepared.optimizedScript1() == null || prepared.optimizedScript2() == null) {
             // 실패 시 기본 구조 반환
             Map<String, Object> fallbackResult = new HashMap<>();
             fallbackResult.put("strengths_comparison", "AI 대본 비교 분석을 수행할 수 없습니다.");
             fallbackResult.put("improvement_suggestions", "대본 데이터를 확인해주세요.");
             fallbackResult.put("overall_feedback", "분석 결과를 불러올 수 없습니다.");
-            return fallbackResult;
+            return Mono.just(fallbackResult);
         }
-    }
 
-    /**
-     * AI 기반 최적화된 대본 비교 분석 (텍스트 요약 반환 - 하위 호환성을 위해 유지)
-     */
-    private String generateAiComparisonSummary(Presentation p1, Presentation p2) {
-        Map<String, Object> result = generateAiComparisonResult(p1, p2);
-        return extractComparisonSummary(result);
+        // FastAPI 응답을 그대로 반환 (구조화된 데이터)
+        return fastApiService.compareOptimizedScriptsAsync(prepared.optimizedScript1(), prepared.optimizedScript2());
     }
 
     /**
@@ -220,33 +233,6 @@ public class ComparisonService {
         }
     }
 
-    /**
-     * FastAPI 응답에서 비교 요약 추출
-     */
-    private String extractComparisonSummary(Map<String, Object> comparisonResult) {
-        StringBuilder summary = new StringBuilder();
-
-        // 강점 비교
-        String strengths = (String) comparisonResult.get("strengths_comparison");
-        if (strengths != null) {
-            summary.append("【강점 비교】\n").append(strengths).append("\n\n");
-        }
-
-        // 개선 제안
-        String improvements = (String) comparisonResult.get("improvement_suggestions");
-        if (improvements != null) {
-            summary.append("【개선 제안】\n").append(improvements).append("\n\n");
-        }
-
-        // 전반적 피드백
-        String feedback = (String) comparisonResult.get("overall_feedback");
-        if (feedback != null) {
-            summary.append("【종합 평가】\n").append(feedback);
-        }
-
-        return summary.toString().trim();
-    }
-    
     // === 유틸리티 메서드들 ===
     
     private User getUserById(UUID userId) {
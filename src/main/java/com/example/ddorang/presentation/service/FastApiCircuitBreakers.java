@@ -0,0 +1,154 @@
+package com.example.ddorang.presentation.service;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FastAPI 분석 서버 호출용 서킷 브레이커
+ *
+ * 작업 종류(영상 업로드 / 결과 폴링 / 대본 최적화·비교)마다 응답 시간 특성이 달라 브레이커를 따로 두고,
+ * FastAPI 인스턴스(endpoint)별로도 나눕니다 (이름: fastapi-upload@http://host:port).
+ * 인스턴스 하나가 죽어도 그 인스턴스의 브레이커만 열리고 나머지 인스턴스로 가는 호출은 계속 허용됩니다.
+ * - 최근 호출(sliding-window-size) 중 실패율 또는 느린 호출 비율이 임계치를 넘으면 OPEN
+ * - OPEN 동안은 FastAPI를 호출하지 않고 즉시 CallNotPermittedException (호출부는 목 결과/재시도 대기로 처리)
+ * - open-seconds 후 HALF_OPEN으로 전환되어 half-open-calls 만큼 시험 호출, 성공하면 CLOSED로 복구
+ *
+ * 4xx 응답은 서버 장애가 아니므로 실패로 집계하지 않습니다 (RestTemplate, WebClient 모두).
+ * 상태/호출 수/실패율은 resilience4j.circuitbreaker.* 메트릭으로, 상태 전환 횟수는
+ * fastapi.circuit.transitions(name, endpoint, from, to 태그)로 노출합니다.
+ */
+@Component
+@Slf4j
+public class FastApiCircuitBreakers {
+
+    private static final String UPLOAD = "fastapi-upload";
+    private static final String POLL = "fastapi-poll";
+    private static final String SCRIPT = "fastapi-script";
+
+    private final CircuitBreakerRegistry registry;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CircuitBreakerConfig> configs;
+    // "작업 종류@endpoint" → 브레이커 (처음 호출될 때 생성)
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public FastApiCircuitBreakers(MeterRegistry meterRegistry,
+                                  @Value("${fastapi.circuit.failure-rate-threshold:50}") float failureRateThreshold,
+                                  @Value("${fastapi.circuit.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+                                  @Value("${fastapi.circuit.sliding-window-size:20}") int slidingWindowSize,
+                                  @Value("${fastapi.circuit.minimum-calls:10}") int minimumCalls,
+                                  @Value("${fastapi.circuit.open-seconds:30}") long openSeconds,
+                                  @Value("${fastapi.circuit.half-open-calls:3}") int halfOpenCalls,
+                                  @Value("${fastapi.circuit.upload.slow-call-millis:120000}") long uploadSlowCallMillis,
+                                  @Value("${fastapi.circuit.poll.slow-call-millis:5000}") long pollSlowCallMillis,
+                                  @Value("${fastapi.circuit.script.slow-call-millis:60000}") long scriptSlowCallMillis) {
+        CircuitBreakerConfig base = CircuitBreakerConfig.custom()
+            .failureRateThreshold(failureRateThreshold)
+            .slowCallRateThreshold(slowCallRateThreshold)
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(slidingWindowSize)
+            .minimumNumberOfCalls(minimumCalls)
+            .waitDurationInOpenState(Duration.ofSeconds(openSeconds))
+            .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            .recordException(FastApiCircuitBreakers::isServerFailure)
+            .build();
+
+        this.meterRegistry = meterRegistry;
+        this.registry = CircuitBreakerRegistry.of(base);
+        this.configs = Map.of(
+            UPLOAD, withSlowCall(base, uploadSlowCallMillis),
+            POLL, withSlowCall(base, pollSlowCallMillis),
+            SCRIPT, withSlowCall(base, scriptSlowCallMillis));
+
+        // 이후 추가되는 브레이커도 메트릭에 자동 등록됨
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        log.info("FastAPI 서킷 브레이커 설정 완료: 실패율 {}%, 느린 호출 {}%, window={}, open={}초",
+            failureRateThreshold, slowCallRateThreshold, slidingWindowSize, openSeconds);
+    }
+
+    /** 청크 업로드, 단일 파일 분석 (영상 전체 전송) */
+    public CircuitBreaker upload(String endpoint) {
+        return breaker(UPLOAD, endpoint);
+    }
+
+    /** 결과 폴링 */
+    public CircuitBreaker poll(String endpoint) {
+        return breaker(POLL, endpoint);
+    }
+
+    /** 대본 최적화/비교 */
+    public CircuitBreaker script(String endpoint) {
+        return breaker(SCRIPT, endpoint);
+    }
+
+    /**
+     * 브레이커가 열려 호출하지 않은 실패인지 (래핑된 예외 포함)
+     */
+    public static boolean isOpen(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CallNotPermittedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 실패로 집계할 예외인지 - 4xx 응답(요청 오류)은 제외
+     */
+    static boolean isServerFailure(Throwable e) {
+        if (e instanceof HttpClientErrorException) {
+            return false;
+        }
+        if (e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            return false;
+        }
+        return true;
+    }
+
+    private CircuitBreaker breaker(String name, String endpoint) {
+        return breakers.computeIfAbsent(name + "@" + endpoint, key -> create(key, name, endpoint));
+    }
+
+    private CircuitBreaker create(String key, String name, String endpoint) {
+        CircuitBreaker breaker = registry.circuitBreaker(key, configs.get(name));
+
+        breaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition transition = event.getStateTransition();
+            Counter.builder("fastapi.circuit.transitions")
+                .tag("name", name)
+                .tag("endpoint", endpoint)
+                .tag("from", transition.getFromState().name())
+                .tag("to", transition.getToState().name())
+                .description("FastAPI 서킷 브레이커 상태 전환 횟수")
+                .register(meterRegistry)
+                .increment();
+            if (transition.getToState() == CircuitBreaker.State.OPEN) {
+                log.error("FastAPI 서킷 브레이커 OPEN: {} ({})", key, transition);
+            } else {
+                log.info("FastAPI 서킷 브레이커 상태 전환: {} ({})", key, transition);
+            }
+        });
+        return breaker;
+    }
+
+    private static CircuitBreakerConfig withSlowCall(CircuitBreakerConfig base, long slowCallMillis) {
+        return CircuitBreakerConfig.from(base)
+            .slowCallDurationThreshold(Duration.ofMillis(slowCallMillis))
+            .build();
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.ddorang.presentation.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * FastAPI 분석 서버 인스턴스 풀 (클라이언트 측 로드 밸런싱)
+ *
+ * fastapi.endpoints에 여러 인스턴스를 지정하면 새 작업/대본 요청은 진행 중 요청 수가 가장 적은 인스턴스로 보냅니다.
+ * 업로드가 시작된 작업은 VideoAnalysisJob.fastApiEndpoint에 기록된 인스턴스로만 청크와 결과 조회를 보냅니다 (작업 affinity).
+ *
+ * 연속으로 consecutive-failures 번 연결 오류/5xx가 나면 해당 인스턴스를 ejection-seconds 동안 선택 대상에서 제외하고,
+ * 기간이 지나면 다시 선택 대상이 됩니다 (다시 실패하면 즉시 제외).
+ * 모든 인스턴스가 제외된 경우에는 전체를 대상으로 선택합니다.
+ * 서킷 브레이커(FastApiCircuitBreakers)도 인스턴스별로 동작하므로 한 인스턴스의 장애가 다른 인스턴스로 가는 호출을 막지 않습니다.
+ *
+ * 메트릭: fastapi.endpoint.outstanding, fastapi.endpoint.healthy (endpoint 태그), fastapi.endpoint.ejections
+ */
+@Component
+@Slf4j
+public class FastApiEndpointPool {
+
+    private final List<Endpoint> endpoints;
+    private final Map<String, Endpoint> byUrl = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int consecutiveFailures;
+    private final long ejectionSeconds;
+
+    public FastApiEndpointPool(MeterRegistry meterRegistry,
+                               @Value("${fastapi.base-url:http://localhost:8000}") String baseUrl,
+                               @Value("${fastapi.endpoints:}") String endpointList,
+                               @Value("${fastapi.lb.consecutive-failures:3}") int consecutiveFailures,
+                               @Value("${fastapi.lb.ejection-seconds:30}") long ejectionSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.consecutiveFailures = consecutiveFailures;
+        this.ejectionSeconds = ejectionSeconds;
+
+        List<String> urls = Arrays.stream(endpointList.split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .map(FastApiEndpointPool::normalize)
+            .distinct()
+            .toList();
+        if (urls.isEmpty()) {
+            urls = List.of(normalize(baseUrl));
+        }
+
+        List<Endpoint> created = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            created.add(register(url));
+        }
+        this.endpoints = List.copyOf(created);
+        log.info("FastAPI 인스턴스 풀 설정 완료: {}", urls);
+    }
+
+    /**
+     * 기록된 인스턴스가 없는 작업(이전 버전에서 시작된 작업)에 사용할 기본 인스턴스
+     */
+    public String defaultEndpoint() {
+        return endpoints.get(0).url;
+    }
+
+    /**
+     * 새 요청을 보낼 인스턴스 - 제외되지 않은 인스턴스 중 진행 중 요청이 가장 적은 곳 (동률이면 무작위)
+     */
+    public String select() {
+        Instant now = Instant.now();
+        List<Endpoint> candidates = endpoints.stream().filter(endpoint -> endpoint.isAvailable(now)).toList();
+        if (candidates.isEmpty()) {
+            candidates = endpoints;
+        }
+
+        int offset = ThreadLocalRandom.current().nextInt(candidates.size());
+        Endpoint best = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            Endpoint endpoint = candidates.get((offset + i) % candidates.size());
+            if (best == null || endpoint.outstanding.get() < best.outstanding.get()) {
+                best = endpoint;
+            }
+        }
+        return best.url;
+    }
+
+    /**
+     * 해당 인스턴스로 요청을 보내도 되는지 (설정에서 빠진 인스턴스나 제외 기간 중이면 false)
+     */
+    public boolean isAvailable(String url) {
+        Endpoint endpoint = byUrl.get(normalize(url));
+        return endpoint != null && endpoints.contains(endpoint) && endpoint.isAvailable(Instant.now());
+    }
+
+    /**
+     * 연속 실패로 제외 기간 중인지 (설정에서 빠진 인스턴스라도 실패 이력이 없으면 false)
+     */
+    public boolean isEjected(String url) {
+        Endpoint endpoint = byUrl.get(normalize(url));
+        return endpoint != null && !endpoint.isAvailable(Instant.now());
+    }
+
+    /**
+     * 인스턴스 호출 - 진행 중 요청 수와 연속 실패를 집계
+     */
+    public <T> T execute(String url, Supplier<T> call) {
+        Endpoint endpoint = endpointFor(url);
+        endpoint.outstanding.incrementAndGet();
+        try {
+            T result = call.get();
+            endpoint.recordSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            if (isEndpointFailure(e)) {
+                recordFailure(endpoint, e);
+            }
+            throw e;
+        } finally {
+            endpoint.outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * 인스턴스 비동기 호출 - 구독 시점부터 종료(완료/오류/취소)까지 진행 중 요청으로 집계
+     */
+    public <T> Mono<T> execute(String url, Mono<T> call) {
+        Endpoint endpoint = endpointFor(url);
+        return Mono.defer(() -> {
+            endpoint.outstanding.incrementAndGet();
+            return call
+                .doOnSuccess(result -> endpoint.recordSuccess())
+                .doOnError(e -> {
+                    if (isEndpointFailure(e)) {
+                        recordFailure(endpoint, e);
+                    }
+                })
+                .doFinally(signal -> endpoint.outstanding.decrementAndGet());
+        });
+    }
+
+    private Endpoint endpointFor(String url) {
+        String normalized = normalize(url);
+        Endpoint endpoint = byUrl.get(normalized);
+        // 설정에서 빠진 인스턴스에 남아있는 작업도 호출은 가능하도록 선택 대상이 아닌 항목으로 등록
+        return endpoint != null ? endpoint : register(normalized);
+    }
+
+    private Endpoint register(String url) {
+        return byUrl.computeIfAbsent(url, key -> {
+            Endpoint endpoint = new Endpoint(key);
+            Gauge.builder("fastapi.endpoint.outstanding", endpoint.outstanding, AtomicInteger::get)
+                .tag("endpoint", key)
+                .description("FastAPI 인스턴스별 진행 중 요청 수")
+                .register(meterRegistry);
+            Gauge.builder("fastapi.endpoint.healthy", endpoint, e -> e.isAvailable(Instant.now()) ? 1 : 0)
+                .tag("endpoint", key)
+                .description("FastAPI 인스턴스 선택 가능 여부 (1 = 정상)")
+                .register(meterRegistry);
+            return endpoint;
+        });
+    }
+
+    private void recordFailure(Endpoint endpoint, Throwable e) {
+        int failures = endpoint.failures.incrementAndGet();
+        if (failures >= consecutiveFailures) {
+            endpoint.ejectedUntil = Instant.now().plusSeconds(ejectionSeconds);
+            Counter.builder("fastapi.endpoint.ejections")
+                .tag("endpoint", endpoint.url)
+                .description("FastAPI 인스턴스 제외 횟수")
+                .register(meterRegistry)
+                .increment();
+            log.warn("FastAPI 인스턴스 제외: {} ({}회 연속 실패, {}초) - {}",
+                endpoint.url, failures, ejectionSeconds, e.getMessage());
+        }
+    }
+
+    // 인스턴스 장애로 볼 오류 (연결 실패, 타임아웃, 5xx) - 4xx나 서킷 OPEN은 제외
+    private static boolean isEndpointFailure(Throwable e) {
+        if (e instanceof ResourceAccessException || e instanceof HttpServerErrorException
+            || e instanceof WebClientRequestException || e instanceof TimeoutException) {
+            return true;
+        }
+        return e instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError();
+    }
+
+    private static String normalize(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static final class Endpoint {
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile Instant ejectedUntil;
+
+        private Endpoint(String url) {
+            this.url = url;
+        }
+
+        private boolean isAvailable(Instant now) {
+            Instant until = ejectedUntil;
+            return until == null || !now.isBefore(until);
+        }
+
+        private void recordSuccess() {
+            failures.set(0);
+            ejectedUntil = null;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.example.ddorang.presentation.service;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * FastAPI 분석 결과 통합 폴러
+ *
+ * 작업마다 스레드를 붙잡고 sleep 하던 방식 대신, 진행 중인 FastAPI job_id를 레지스트리에 등록해두고
+ * 스케줄러가 주기적으로 묶음(batch) 단위로 /result/{job_id}를 조회합니다.
+ * 묶음 안의 조회는 analysisPollingExecutor(소수의 고정 스레드)에서 나눠 실행하고, 주기는 묶음이 끝날 때까지 기다립니다.
+ * 완료/실패가 확인되면 VideoAnalysisService로 전달하고 레지스트리에서 제거합니다. (종료 상태를 저장하지 못하면 다시 추적)
+ * 분석 완료 콜백(fastapi.callback.enabled)을 사용하면 폴링은 콜백 누락에 대비한 느린 안전망으로만 동작합니다.
+ *
+ * 조회 일정은 AnalysisEtaEstimator의 예상 완료 시각에 맞춥니다.
+ * 예상 완료 시각 직전까지는 조회하지 않고, 그 이후에는 지터를 섞은 지수 백오프(interval-millis → max-interval-millis)로 조회합니다.
+ * 스케줄러 주기(interval-millis)가 조회 시각의 최소 단위입니다.
+ * 타임아웃은 등록 시각 + timeout-minutes 와 예상 완료 시각 + eta-grace-minutes 중 늦은 쪽이며,
+ * 큰 파일처럼 첫 조회가 늦게 잡혀도 상태를 한 번 이상 조회한 뒤에만 타임아웃으로 처리합니다.
+ *
+ * 메트릭:
+ * - fastapi.poll.requests (Timer, outcome 태그): 상태 조회 1건당 소요 시간과 결과 (서킷 OPEN이면 circuit_open)
+ * - fastapi.poll.tick (Timer): 폴링 주기 1회 처리 시간
+ * - fastapi.poll.tracked (Gauge): 추적 중인 작업 수
+ * - fastapi.poll.skipped (Counter, reason 태그): 담당 인스턴스가 제외되어 조회를 건너뛴 횟수
+ */
+@Component
+@Slf4j
+public class FastApiJobPoller {
+
+    private final VideoAnalysisService videoAnalysisService;
+    private final RestTemplate statusRestTemplate;
+    private final FastApiCircuitBreakers fastApiCircuitBreakers;
+    private final FastApiEndpointPool fastApiEndpointPool;
+    private final AnalysisProgressTracker analysisProgressTracker;
+    private final AnalysisResultParser analysisResultParser;
+    private final MeterRegistry meterRegistry;
+    private final Timer tickTimer;
+    private final Executor pollingExecutor;
+
+    // Spring 작업 ID → 추적 정보
+    private final Map<UUID, TrackedJob> registry = new ConcurrentHashMap<>();
+
+    @Value("${fastapi.poll.interval-millis:5000}")
+    private long pollIntervalMillis;
+
+    // 한 주기에 조회할 최대 작업 수
+    @Value("${fastapi.poll.batch-size:50}")
+    private int batchSize;
+
+    @Value("${fastapi.poll.timeout-minutes:20}")
+    private long timeoutMinutes;
+
+    // 예상 완료 시각 이후 추가로 기다리는 시간 (큰 파일은 timeout-minutes 대신 이 기준으로 타임아웃)
+    @Value("${fastapi.poll.eta-grace-minutes:10}")
+    private long etaGraceMinutes;
+
+    // 콜백 사용 시 안전망 폴링 주기
+    @Value("${fastapi.poll.fallback-interval-millis:60000}")
+    private long fallbackIntervalMillis;
+
+    @Value("${fastapi.callback.enabled:false}")
+    private boolean callbackEnabled;
+
+    // 백오프 상한
+    @Value("${fastapi.poll.max-interval-millis:30000}")
+    private long maxIntervalMillis;
+
+    // 예상 완료 시각보다 얼마나 먼저 조회를 시작할지
+    @Value("${fastapi.poll.eta-lead-seconds:15}")
+    private long etaLeadSeconds;
+
+    public FastApiJobPoller(VideoAnalysisService videoAnalysisService,
+                            @Qualifier("fastApiPollRestTemplate") RestTemplate statusRestTemplate,
+                            FastApiCircuitBreakers fastApiCircuitBreakers,
+                            FastApiEndpointPool fastApiEndpointPool,
+                            AnalysisProgressTracker analysisProgressTracker,
+                            AnalysisResultParser analysisResultParser,
+                            MeterRegistry meterRegistry,
+                            @Qualifier("analysisPollingExecutor") Executor pollingExecutor) {
+        this.videoAnalysisService = videoAnalysisService;
+        this.pollingExecutor = pollingExecutor;
+        this.meterRegistry = meterRegistry;
+        // 상태 조회는 가벼운 GET이므로 짧은 타임아웃의 폴링 전용 클라이언트 사용 (연결 풀은 업로드와 공유)
+        this.statusRestTemplate = statusRestTemplate;
+        this.fastApiCircuitBreakers = fastApiCircuitBreakers;
+        this.fastApiEndpointPool = fastApiEndpointPool;
+        this.analysisProgressTracker = analysisProgressTracker;
+        this.analysisResultParser = analysisResultParser;
+        this.tickTimer = Timer.builder("fastapi.poll.tick")
+            .description("FastAPI 결과 폴링 주기 1회 처리 시간")
+            .register(meterRegistry);
+        Gauge.builder("fastapi.poll.tracked", registry, Map::size)
+            .description("결과 폴링 중인 작업 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 결과 폴링 대상으로 등록 (예상 완료 시각을 모르면 다음 주기부터 조회)
+     */
+    public void track(UUID jobId, String fastApiJobId, String endpoint) {
+        track(jobId, fastApiJobId, endpoint, null);
+    }
+
+    /**
+     * 결과 폴링 대상으로 등록 - 예상 완료 시각 직전부터 조회
+     * 결과는 업로드를 받은 인스턴스(endpoint)에만 있으므로 그 인스턴스로만 조회 (null이면 기본 인스턴스)
+     */
+    public void track(UUID jobId, String fastApiJobId, String endpoint, LocalDateTime expectedCompletion) {
+        String owner = endpoint != null ? endpoint : fastApiEndpointPool.defaultEndpoint();
+        Instant now = Instant.now();
+        Instant firstPoll = now.plusMillis(baseIntervalMillis());
+        Instant deadline = now.plus(Duration.ofMinutes(timeoutMinutes));
+        if (expectedCompletion != null) {
+            Instant eta = expectedCompletion.atZone(ZoneId.systemDefault()).toInstant();
+            Instant nearCompletion = eta.minusSeconds(etaLeadSeconds);
+            if (nearCompletion.isAfter(firstPoll)) {
+                firstPoll = nearCompletion;
+            }
+            // 예상 소요 시간이 timeout-minutes 보다 긴 작업은 예상 완료 시각 기준으로 타임아웃
+            Instant etaDeadline = eta.plus(Duration.ofMinutes(etaGraceMinutes));
+            if (etaDeadline.isAfter(deadline)) {
+                deadline = etaDeadline;
+            }
+        }
+        registry.put(jobId, new TrackedJob(fastApiJobId, owner, now, firstPoll, deadline));
+        analysisProgressTracker.analysisStarted(jobId, expectedCompletion);
+        log.info("FastAPI 결과 폴링 등록: {} → {} @ {} (첫 조회 {}초 후, 추적 중 {}건)",
+            jobId, fastApiJobId, owner, Duration.between(now, firstPoll).toSeconds(), registry.size());
+    }
+
+    /**
+     * 폴링 대상에서 제거 (취소 등)
+     */
+    public void untrack(UUID jobId) {
+        if (registry.remove(jobId) != null) {
+            log.info("FastAPI 결과 폴링 해제: {}", jobId);
+        }
+    }
+
+    /**
+     * 결과 처리 권한 획득 - 레지스트리에서 먼저 제거한 쪽(폴러 또는 콜백)만 결과를 저장
+     *
+     * @return 추적 중이던 작업을 이번 호출이 가져갔으면 true
+     */
+    public boolean claim(UUID jobId) {
+        return registry.remove(jobId) != null;
+    }
+
+    public boolean isTracked(UUID jobId) {
+        return registry.containsKey(jobId);
+    }
+
+    public int trackedCount() {
+        return registry.size();
+    }
+
+    /**
+     * 폴링 주기 - 조회 시각이 된 작업을 오래된 순으로 batch-size 만큼 조회
+     * fixedDelay 이므로 이전 주기가 끝난 뒤에 다음 주기가 시작되어 겹치지 않음
+     */
+    @Scheduled(fixedDelayString = "${fastapi.poll.interval-millis:5000}")
+    public void pollDueJobs() {
+        if (registry.isEmpty()) {
+            return;
+        }
+
+        tickTimer.record(() -> {
+            Instant now = Instant.now();
+            List<Map.Entry<UUID, TrackedJob>> due = registry.entrySet().stream()
+                .filter(entry -> !entry.getValue().nextPollAt.isAfter(now))
+                .sorted(Comparator.comparing(entry -> entry.getValue().nextPollAt))
+                .limit(batchSize)
+                .toList();
+
+            CompletableFuture<?>[] polls = due.stream()
+                .map(entry -> CompletableFuture.runAsync(() -> pollOnce(entry.getKey(), entry.getValue(), now), pollingExecutor))
+                .toArray(CompletableFuture[]::new);
+            try {
+                CompletableFuture.allOf(polls).join();
+            } catch (Exception e) {
+                log.error("FastAPI 결과 폴링 주기 처리 중 오류: {}", e.getMessage());
+            }
+
+            log.debug("FastAPI 결과 폴링 주기 완료: 조회 {}건 / 추적 중 {}건", due.size(), registry.size());
+        });
+    }
+
+    private void pollOnce(UUID jobId, TrackedJob tracked, Instant now) {
+        // 상태를 한 번도 조회하지 못한 작업은 타임아웃 처리하지 않음 (마지막 조회 결과로 판단)
+        if (tracked.statusPolls > 0 && now.isAfter(tracked.deadline)) {
+            if (!claim(jobId)) {
+                return;
+            }
+            long waitedMinutes = Duration.between(tracked.registeredAt, now).toMinutes();
+            log.error("FastAPI 폴링 타임아웃: {} ({}분 대기, 조회 {}회)", jobId, waitedMinutes, tracked.statusPolls);
+            finish(jobId, tracked, () -> videoAnalysisService.markJobAsFailedWithoutTransaction(
+                jobId, "FastAPI 응답 타임아웃 (" + waitedMinutes + "분 초과)"));
+            return;
+        }
+
+        tracked.attempts++;
+        tracked.nextPollAt = now.plusMillis(nextDelayMillis(tracked.attempts));
+
+        // 장애로 제외된 인스턴스는 제외 기간이 끝날 때까지 조회하지 않음
+        if (fastApiEndpointPool.isEjected(tracked.endpoint)) {
+            meterRegistry.counter("fastapi.poll.skipped", "reason", "endpoint_ejected").increment();
+            log.debug("제외된 인스턴스의 작업 폴링 생략: {} @ {}", jobId, tracked.endpoint);
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            // 응답 본문을 Map으로 만들지 않고 스트림에서 바로 결과 값으로 읽음
+            AnalysisResultParser.Envelope result = fastApiCircuitBreakers.poll(tracked.endpoint).executeSupplier(() ->
+                fastApiEndpointPool.execute(tracked.endpoint, () -> {
+                    tracked.statusPolls++;
+                    return statusRestTemplate.execute(
+                        tracked.endpoint + "/result/" + tracked.fastApiJobId,
+                        HttpMethod.GET,
+                        request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                        response -> response.getStatusCode().is2xxSuccessful()
+                            ? analysisResultParser.parseEnvelope(response.getBody())
+                            : null
+                    );
+                }));
+
+            if (result == null) {
+                outcome = "invalid_response";
+                return;
+            }
+
+            String status = String.valueOf(result.status());
+            outcome = status;
+            log.debug("폴링 결과: {} - {} ({}회차)", jobId, status, tracked.attempts);
+
+            switch (status) {
+                case "processing":
+                    // 계속 대기 (예상 완료 시각 기준 진행률 갱신)
+                    analysisProgressTracker.analysisPolled(jobId);
+                    break;
+
+                case "completed":
+                    if (!claim(jobId)) {
+                        break; // 콜백이 먼저 처리함
+                    }
+                    log.info("FastAPI 분석 완료: {} → {}", jobId, tracked.fastApiJobId);
+                    // DB에 결과 저장 + 직접 웹소켓 알림 발행
+                    finish(jobId, tracked, () -> videoAnalysisService.completeJob(jobId, result.result()));
+                    break;
+
+                case "error":
+                    if (!claim(jobId)) {
+                        break;
+                    }
+                    String error = result.error();
+                    log.error("FastAPI 분석 실패: {} - {}", jobId, error);
+                    finish(jobId, tracked, () -> videoAnalysisService.markJobAsFailedWithoutTransaction(
+                        jobId, "FastAPI 분석 오류: " + error));
+                    break;
+
+                case "not_found":
+                    if (!claim(jobId)) {
+                        break;
+                    }
+                    log.warn("⚠FastAPI 작업 없음: {}", tracked.fastApiJobId);
+                    finish(jobId, tracked, () -> videoAnalysisService.markJobAsFailedWithoutTransaction(
+                        jobId, "FastAPI에서 작업을 찾을 수 없음"));
+                    break;
+
+                default:
+                    outcome = "unknown";
+                    log.warn(" 알 수 없는 상태: {} - {}", jobId, status);
+            }
+        } catch (CallNotPermittedException e) {
+            // FastAPI 장애로 서킷이 열림 - 호출 없이 다음 주기에 재시도
+            outcome = "circuit_open";
+            log.debug("서킷 OPEN으로 폴링 생략: {}", jobId);
+        } catch (Exception e) {
+            log.error("폴링 오류: {} ({}회차) - {}", jobId, tracked.attempts, e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("fastapi.poll.requests", "outcome", outcome));
+        }
+    }
+
+    /**
+     * claim으로 가져온 작업의 종료 상태 저장
+     * 저장하지 못하면(DB 오류 등) 다시 추적하여 다음 조회 때 재시도
+     * (추적을 놓친 작업은 점유만 heartbeat로 계속 연장되어 처리 중 상태로 멈춤)
+     */
+    private void finish(UUID jobId, TrackedJob tracked, BooleanSupplier terminalUpdate) {
+        boolean finished;
+        try {
+            finished = terminalUpdate.getAsBoolean();
+        } catch (Exception e) {
+            log.error("작업 종료 처리 중 오류: {} - {}", jobId, e.getMessage());
+            finished = false;
+        }
+        if (!finished) {
+            registry.putIfAbsent(jobId, tracked);
+            log.warn("작업 종료 상태를 저장하지 못해 다음 조회 때 재시도: {}", jobId);
+        }
+    }
+
+    private long baseIntervalMillis() {
+        return callbackEnabled ? Math.max(pollIntervalMillis, fallbackIntervalMillis) : pollIntervalMillis;
+    }
+
+    /**
+     * n번째 조회 이후 대기 시간 - 지수 백오프 + ±20% 지터 (여러 작업의 조회가 한 주기에 몰리지 않도록)
+     */
+    private long nextDelayMillis(int attempts) {
+        long base = baseIntervalMillis();
+        long cap = Math.max(base, maxIntervalMillis);
+        long delay = base << Math.min(attempts - 1, 10);
+        delay = Math.min(delay, cap);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (delay * jitter);
+    }
+
+    /**
+     * 추적 중인 작업 정보 (한 주기에 작업당 하나의 조회만 실행되므로 동시에 변경되지 않음)
+     */
+    private static final class TrackedJob {
+        private final String fastApiJobId;
+        private final String endpoint;
+        private final Instant registeredAt;
+        private final Instant deadline;
+        private volatile Instant nextPollAt;
+        private volatile int attempts;
+        // 실제로 상태 조회 요청을 보낸 횟수 (제외된 인스턴스/서킷 OPEN으로 건너뛴 경우 제외)
+        private volatile int statusPolls;
+
+        private TrackedJob(String fastApiJobId, String endpoint, Instant registeredAt, Instant nextPollAt,
+                           Instant deadline) {
+            this.fastApiJobId = fastApiJobId;
+            this.endpoint = endpoint;
+            this.registeredAt = registeredAt;
+            this.nextPollAt = nextPollAt;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -4,12 +4,8 @@ import com.example.ddorang.presentation.entity.VideoAnalysisJob;
 import com.example.ddorang.presentation.repository.PresentationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.util.HashMap;
@@ -23,74 +19,50 @@ public class FastApiPollingService {
 
     private final VideoAnalysisService videoAnalysisService;
     private final VideoChunkService videoChunkService;
+    private final ChunkUploadLedgerService chunkUploadLedgerService;
+    private final FastApiJobPoller fastApiJobPoller;
+    private final AnalysisCallbackService analysisCallbackService;
+    private final AnalysisEtaEstimator analysisEtaEstimator;
     private final PresentationRepository presentationRepository;
-    private final RestTemplate restTemplate;
+    private final AnalysisCancellationService analysisCancellationService;
 
-    @Value("${fastapi.base-url:http://localhost:8000}")
-    private String fastApiUrl;
-
-    // 비동기 영상 분석 시작 (MultipartFile - 트랜잭션 커밋 전에만 사용 가능)
-    @Async
-    public CompletableFuture<Void> startVideoAnalysis(VideoAnalysisJob job, MultipartFile videoFile) {
-        log.info("🎬 FastAPI 비동기 분석 시작 (MultipartFile): {} - {}", job.getId(), job.getPresentation().getTitle());
-        
-        try {
-            // MultipartFile을 임시 파일로 저장 (트랜잭션 커밋 후에는 MultipartFile이 정리되므로)
-            log.info("📁 MultipartFile을 임시 파일로 저장 시작: {} (크기: {}MB)", 
-                videoFile.getOriginalFilename(), videoFile.getSize() / (1024 * 1024));
-            File tempFile = File.createTempFile("video_upload_", "_" + videoFile.getOriginalFilename());
-            videoFile.transferTo(tempFile);
-            log.info("✅ 임시 파일 생성 완료: {} ({}MB)", tempFile.getAbsolutePath(), tempFile.length() / (1024 * 1024));
-            
-            // File을 받는 오버로드 메서드 호출
-            return startVideoAnalysis(job, tempFile);
-            
-        } catch (Exception e) {
-            log.error("❌ MultipartFile을 임시 파일로 저장 실패: {}", job.getId(), e);
-            videoAnalysisService.markJobAsFailed(job.getId(), "파일 저장 실패: " + e.getMessage());
-            return CompletableFuture.completedFuture(null);
-        }
-    }
-    
-    // 비동기 영상 분석 시작 (File - 트랜잭션 커밋 후에도 사용 가능)
-    @Async
+    // 비동기 영상 분석 시작 (AnalysisWorkQueue가 작업을 점유한 뒤 호출)
+    // 원본 파일 삭제와 재시도 여부는 작업 큐가 작업 상태를 보고 결정
+    @Async("analysisUploadExecutor")
     public CompletableFuture<Void> startVideoAnalysis(VideoAnalysisJob job, File videoFile) {
         log.info("🎬 FastAPI 비동기 분석 시작 (File): {} - {}", job.getId(), job.getPresentation().getTitle());
-        log.debug("DEBUG: VideoAnalysisJob - videoPath: {}, presentationId: {}", job.getVideoPath(), job.getPresentation().getId());
-        log.debug("DEBUG: VideoChunkService bean: {}", videoChunkService != null ? "OK" : "NULL");
 
         try {
             // FastAPI /analysis 엔드포인트 호출 (파일 직접 전달)
-            log.debug("DEBUG: callFastApiAnalysis() 호출 직전");
             String fastApiJobId = callFastApiAnalysisWithFile(job, videoFile);
-            log.debug("DEBUG: callFastApiAnalysis() 호출 직후 - 반환값: {}", fastApiJobId);
+
+            // 업로드 중에 취소된 작업 - 업로드가 끝났으면 FastAPI 분석도 취소하고 폴링하지 않음
+            if (analysisCancellationService.isCancelled(job.getId())) {
+                log.info("취소된 작업의 업로드 중단: {}", job.getId());
+                if (fastApiJobId != null) {
+                    analysisCancellationService.cancelRemote(chunkUploadLedgerService.findEndpoint(job.getId()), fastApiJobId);
+                }
+                return CompletableFuture.completedFuture(null);
+            }
 
             if (fastApiJobId == null) {
-                log.warn("⚠️ FastAPI 초기 호출 실패, 백그라운드 처리 대기 중: {}", job.getId());
+                log.warn("⚠️ FastAPI 초기 호출 실패, 작업 큐에서 재시도 예정: {}", job.getId());
                 videoAnalysisService.updateJobStatus(job.getId(), "processing", "분석 서버 연결 중입니다. 잠시만 기다려주세요...");
-                // 실패로 마킹하지 않고 processing 상태 유지하여 폴링 기회 제공
+                // 실패로 마킹하지 않고 processing 상태 유지 (작업 큐가 점유를 해제하면 다시 시도됨)
                 return CompletableFuture.completedFuture(null);
             }
 
             // 상태를 processing으로 업데이트
             videoAnalysisService.updateJobStatus(job.getId(), "processing", "FastAPI에서 분석 중...");
 
-            // 백그라운드에서 결과 폴링 시작
-            pollFastApiResult(job.getId(), fastApiJobId);
+            // 통합 폴러에 등록 (결과 확인은 스케줄러 스레드가 담당하므로 이 스레드는 바로 반환)
+            // 결과는 업로드를 받은 인스턴스로 조회
+            fastApiJobPoller.track(job.getId(), fastApiJobId, chunkUploadLedgerService.findEndpoint(job.getId()),
+                analysisEtaEstimator.estimateCompletion(job));
 
         } catch (Exception e) {
             log.error("FastAPI 분석 시작 실패: {}", job.getId(), e);
             videoAnalysisService.markJobAsFailed(job.getId(), "분석 시작 실패: " + e.getMessage());
-        } finally {
-            // 임시 파일 삭제 (File로 전달된 경우에만)
-            if (videoFile != null && videoFile.exists() && videoFile.getName().startsWith("video_upload_")) {
-                boolean deleted = videoFile.delete();
-                if (deleted) {
-                    log.debug("DEBUG: 임시 파일 삭제 완료: {}", videoFile.getAbsolutePath());
-                } else {
-                    log.warn("⚠️ 임시 파일 삭제 실패: {}", videoFile.getAbsolutePath());
-                }
-            }
         }
 
         return CompletableFuture.completedFuture(null);
@@ -99,8 +71,6 @@ public class FastApiPollingService {
 
     // FastAPI /analysis 엔드포인트 호출 (File 직접 전달)
     private String callFastApiAnalysisWithFile(VideoAnalysisJob job, File videoFile) {
-        log.debug("DEBUG: callFastApiAnalysisWithFile() 메서드 진입");
-
         try {
             log.info("📹 FastAPI 분석 호출 (File 직접 전달): {} (크기: {}MB)", 
                 videoFile.getName(), videoFile.length() / (1024 * 1024));
@@ -110,36 +80,29 @@ public class FastApiPollingService {
             String targetTime = job.getPresentation().getGoalTime() != null ?
                 job.getPresentation().getGoalTime() + ":00" : "6:00";
             metadata.put("target_time", targetTime);
-            log.debug("DEBUG: 메타데이터 구성 완료 - target_time: {}", targetTime);
+            // 분석 완료 시 FastAPI가 호출할 콜백 정보 (콜백 비활성화 시 추가되지 않음)
+            analysisCallbackService.appendCallbackMetadata(metadata, job.getId());
 
             // ===== 2. 청크 업로드 =====
             videoAnalysisService.updateJobStatus(job.getId(), "processing", "영상 업로드 중...");
-            
-            // 메모리 사용량 확인
-            Runtime runtime = Runtime.getRuntime();
-            long totalMemory = runtime.totalMemory();
-            long freeMemory = runtime.freeMemory();
-            long usedMemory = totalMemory - freeMemory;
-            log.info("💾 메모리 상태 - 사용: {}MB / 전체: {}MB / 사용 가능: {}MB", 
-                usedMemory / (1024 * 1024), totalMemory / (1024 * 1024), freeMemory / (1024 * 1024));
-            
+
             // video_path를 받기 위한 Map 생성
             Map<String, String> videoPathMap = new HashMap<>();
             
             // 청크 업로드
             log.info("🔄 videoChunkService.uploadVideoInChunks() 호출 시작");
-            String fastApiJobId = videoChunkService.uploadVideoInChunks(videoFile, metadata, videoPathMap);
+            String fastApiJobId = videoChunkService.uploadVideoInChunks(job.getId(), videoFile, metadata, videoPathMap);
             log.info("✅ videoChunkService.uploadVideoInChunks() 호출 완료 - 반환값: {}", fastApiJobId);
             log.info("✅ FastAPI 청크 업로드 성공 - job_id: {}", fastApiJobId);
-            
-            // 메모리 사용량 재확인
-            runtime = Runtime.getRuntime();
-            totalMemory = runtime.totalMemory();
-            freeMemory = runtime.freeMemory();
-            usedMemory = totalMemory - freeMemory;
-            log.info("💾 청크 업로드 후 메모리 상태 - 사용: {}MB / 전체: {}MB / 사용 가능: {}MB", 
-                usedMemory / (1024 * 1024), totalMemory / (1024 * 1024), freeMemory / (1024 * 1024));
-            
+
+            // 업로드 완료 기록(영상 경로 포함) 후 청크 원장 정리 (더 이상 재개할 필요 없음)
+            try {
+                videoAnalysisService.markUploadCompleted(job.getId(), fastApiJobId, videoPathMap.get("video_path"));
+                chunkUploadLedgerService.clear(job.getId());
+            } catch (Exception e) {
+                log.warn("업로드 완료 기록 실패: {} - {}", job.getId(), e.getMessage());
+            }
+
             // video_path가 있으면 즉시 URL 생성 및 저장
             if (videoPathMap.containsKey("video_path")) {
                 String videoPath = videoPathMap.get("video_path");
@@ -154,19 +117,17 @@ public class FastApiPollingService {
                 e.getClass().getSimpleName(), e.getMessage(), e);
         }
 
-        log.debug("DEBUG: callFastApiAnalysisWithFile() null 반환");
         return null;
     }
 
     /**
      * video_path를 받은 직후 즉시 URL 생성 및 저장
+     * (작업의 video_path는 markUploadCompleted에서 업로드 완료와 함께 저장됨)
      */
     private void saveVideoPathImmediately(VideoAnalysisJob job, String videoPath) {
         try {
             log.info("📹 비디오 경로 즉시 저장 시작: {}", videoPath);
-            
-            // VideoAnalysisJob에 video_path 저장
-            job.setVideoPath(videoPath);
+
             videoAnalysisService.updateJobStatus(job.getId(), "processing", "영상 파일 저장 완료. 분석을 시작합니다...");
             
             // 파일 서버 URL 생성
@@ -207,86 +168,4 @@ public class FastApiPollingService {
         return url;
     }
 
-    // FastAPI 결과 폴링
-    // 5초마다 /result/{job_id} 호출
-    private void pollFastApiResult(java.util.UUID springJobId, String fastApiJobId) {
-        log.info("FastAPI 결과 폴링 시작: {} → {}", springJobId, fastApiJobId);
-
-        int maxAttempts = 240; // 최대 20분 (5초 × 240회)
-        int attempts = 0;
-
-        while (attempts < maxAttempts) {
-            try {
-                // FastAPI /result/{job_id} 호출
-                @SuppressWarnings("unchecked")
-                ResponseEntity<Map<String, Object>> response = (ResponseEntity<Map<String, Object>>) (ResponseEntity<?>) restTemplate.getForEntity(
-                    fastApiUrl + "/result/" + fastApiJobId,
-                    Map.class
-                );
-
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    Map<String, Object> result = response.getBody();
-                    String status = (String) result.get("status");
-
-                    log.debug("폴링 결과: {} - {} ({}회차)", springJobId, status, attempts + 1);
-
-                    switch (status) {
-                        case "processing":
-                            // 계속 대기
-                            break;
-
-                        case "completed":
-                            // 분석 완료
-                            Map<String, Object> analysisResult = (Map<String, Object>) result.get("result");
-
-                            log.info("FastAPI 분석 완료: {} → {}", springJobId, fastApiJobId);
-
-                            // DB에 결과 저장 + 직접 웹소켓 알림 발행
-                            videoAnalysisService.completeJob(springJobId, analysisResult);
-                            return;
-
-                        case "error":
-                            // 분석 실패
-                            String error = (String) result.get("error");
-                            log.error("FastAPI 분석 실패: {} - {}", springJobId, error);
-
-                            videoAnalysisService.markJobAsFailed(springJobId, "FastAPI 분석 오류: " + error);
-                            return;
-
-                        case "not_found":
-                            log.warn("⚠FastAPI 작업 없음: {}", fastApiJobId);
-                            videoAnalysisService.markJobAsFailed(springJobId, "FastAPI에서 작업을 찾을 수 없음");
-                            return;
-
-                        default:
-                            log.warn(" 알 수 없는 상태: {} - {}", springJobId, status);
-                    }
-                }
-
-                // 5초 대기
-                Thread.sleep(5000);
-                attempts++;
-
-            } catch (InterruptedException e) {
-                log.info("폴링 중단: {}", springJobId);
-                Thread.currentThread().interrupt();
-                return;
-            } catch (Exception e) {
-                log.error("폴링 오류: {} ({}회차)", springJobId, attempts + 1, e);
-                attempts++;
-
-                try {
-                    Thread.sleep(5000);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    return;
-                }
-            }
-        }
-
-        // 타임아웃 처리
-        log.error("FastAPI 폴링 타임아웃: {} (20분 초과)", springJobId);
-        videoAnalysisService.markJobAsFailed(springJobId, "FastAPI 응답 타임아웃 (20분 초과)");
-    }
-
-}
\ No newline at end of file
+}
@@ -1,21 +1,26 @@
 package com.example.ddorang.presentation.service;
 
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
 
-import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,73 +29,81 @@ import java.util.Map;
 @Slf4j
 public class FastApiService {
 
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE = new ParameterizedTypeReference<>() {};
+
     @Value("${fastapi.base-url:http://localhost:8000}")
     private String fastApiBaseUrl;
 
-    private final ObjectMapper objectMapper;
-    private final WebClient webClient;
+    // 비동기 대본 요청 전체 제한 시간 (연결 대기 + 응답)
+    @Value("${fastapi.http.script.deadline-millis:130000}")
+    private long scriptDeadlineMillis;
+
+    // 분석 작업 취소 API 경로 ({jobId} = FastAPI job_id)
+    @Value("${fastapi.cancel.path:/cancel/{jobId}}")
+    private String cancelPath;
+
+    @Value("${fastapi.cancel.timeout-millis:5000}")
+    private long cancelTimeoutMillis;
 
-    public FastApiService(ObjectMapper objectMapper) {
+    private final ObjectMapper objectMapper;
+    // FastAPI 전용 연결 풀을 공유하는 작업별 클라이언트 (FastApiHttpClientConfig)
+    private final RestTemplate uploadRestTemplate;
+    private final RestTemplate scriptRestTemplate;
+    // 비동기 호출용 공유 WebClient (baseUrl, 연결 풀, 타임아웃 설정 완료)
+    private final WebClient fastApiWebClient;
+    // FastAPI 장애 시 타임아웃까지 기다리지 않고 즉시 목 결과로 대체
+    private final FastApiCircuitBreakers fastApiCircuitBreakers;
+    // 여러 FastAPI 인스턴스 중 진행 중 요청이 가장 적은 곳으로 전송
+    private final FastApiEndpointPool fastApiEndpointPool;
+
+    public FastApiService(ObjectMapper objectMapper,
+                          @Qualifier("fastApiUploadRestTemplate") RestTemplate uploadRestTemplate,
+                          @Qualifier("fastApiScriptRestTemplate") RestTemplate scriptRestTemplate,
+                          @Qualifier("fastApiWebClient") WebClient fastApiWebClient,
+                          FastApiCircuitBreakers fastApiCircuitBreakers,
+                          FastApiEndpointPool fastApiEndpointPool) {
         this.objectMapper = objectMapper;
-        this.webClient = WebClient.builder().build();
+        this.uploadRestTemplate = uploadRestTemplate;
+        this.scriptRestTemplate = scriptRestTemplate;
+        this.fastApiWebClient = fastApiWebClient;
+        this.fastApiCircuitBreakers = fastApiCircuitBreakers;
+        this.fastApiEndpointPool = fastApiEndpointPool;
     }
 
     /**
-     * FastAPI에 비디오 파일을 전송하여 음성 분석 수행 (WebClient 사용)
+     * FastAPI에 비디오 파일을 전송하여 음성 분석 수행 (파일을 버퍼링 없이 스트리밍)
      */
     public Map<String, Object> analyzeVideo(MultipartFile videoFile, Integer goalTimeSeconds) throws IOException {
         log.info("FastAPI 음성 분석 요청 시작: {}, 파일 크기: {} bytes, 목표시간: {}초",
                 videoFile.getOriginalFilename(), videoFile.getSize(), goalTimeSeconds);
 
-        File tempFile = null;
-
         try {
-            // 1. MultipartFile을 임시 파일로 저장
-            String originalFilename = videoFile.getOriginalFilename();
-            tempFile = File.createTempFile("upload-", ".mp4");
-            videoFile.transferTo(tempFile);
-
-            // 2. metadata 구성 (목표시간 포함)
+            // 1. metadata 구성 (목표시간 포함)
             String metadata = createMetadataJson(goalTimeSeconds);
             log.info("전송할 metadata: {}", metadata);
 
-            // 3. WebClient로 multipart/form-data 전송 (필드명 video로 변경, metadata 추가)
+            // 2. multipart/form-data 전송 (필드명 video, metadata 추가)
+            // 서블릿 멀티파트 임시 파일을 그대로 스트리밍하여 별도 임시 파일로 다시 복사하지 않음
             MultiValueMap<String, Object> multipartData = new LinkedMultiValueMap<>();
-            multipartData.add("video", new FileSystemResource(tempFile));
+            multipartData.add("video", videoFile.getResource());
             multipartData.add("metadata", metadata); // 목표시간이 포함된 JSON metadata
-            
-            String responseBody = webClient.mutate()
-                    .baseUrl(fastApiBaseUrl)
-                    .build()
-                    .post()
-                    .uri("/analysis")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(BodyInserters.fromMultipartData(multipartData))
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+
+            String endpoint = fastApiEndpointPool.select();
+            // 영상 전체를 보내므로 대본 요청과 응답 시간 특성이 달라 업로드 브레이커 사용
+            String responseBody = fastApiCircuitBreakers.upload(endpoint).executeSupplier(() ->
+                    fastApiEndpointPool.execute(endpoint, () -> uploadRestTemplate.postForObject(
+                            endpoint + "/analysis",
+                            new HttpEntity<>(multipartData, headers(MediaType.MULTIPART_FORM_DATA)),
+                            String.class)));
 
             log.info("FastAPI 응답: {}", responseBody);
 
             // 3. 응답 파싱
-            Map<String, Object> response = objectMapper.readValue(responseBody, new TypeReference<Map<String, Object>>() {});
-            
-            // 4. FastAPI 응답 처리 완료
-            
-            return response;
+            return objectMapper.readValue(responseBody, new TypeReference<Map<String, Object>>() {});
 
         } catch (Exception e) {
             log.error("FastAPI 통신 오류 발생", e);
             return createMockAnalysisResult(videoFile.getOriginalFilename());
-        } finally {
-            // 임시 파일 삭제
-            if (tempFile != null && tempFile.exists()) {
-                if (tempFile.delete()) {
-                    log.info("임시 파일 삭제 성공: {}", tempFile.getAbsolutePath());
-                } else {
-                    log.warn("임시 파일 삭제 실패: {}", tempFile.getAbsolutePath());
-                }
-            }
         }
     }
 
@@ -108,17 +121,13 @@ public class FastApiService {
             requestData.put("goal_time_seconds", goalTimeSeconds);
             requestData.put("current_duration_seconds", currentDurationSeconds);
 
-            // WebClient로 POST 요청 전송
-            String responseBody = webClient.mutate()
-                    .baseUrl(fastApiBaseUrl)
-                    .build()
-                    .post()
-                    .uri("/optimize-script")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestData)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+            // POST 요청 전송
+            String endpoint = fastApiEndpointPool.select();
+            String responseBody = fastApiCircuitBreakers.script(endpoint).executeSupplier(() ->
+                    fastApiEndpointPool.execute(endpoint, () -> scriptRestTemplate.postForObject(
+                            endpoint + "/optimize-script",
+                            new HttpEntity<>(requestData, headers(MediaType.APPLICATION_JSON)),
+                            String.class)));
 
             log.info("FastAPI 대본 최적화 응답: {}", responseBody);
 
@@ -176,37 +185,47 @@ public class FastApiService {
     }
     
     /**
-     * FastAPI에 최적화된 대본 비교 요청 전송
+     * FastAPI에 최적화된 대본 비교 요청 전송 (비동기, ComparisonService에서 사용)
+     * 호출 스레드를 막지 않으며, 구독을 취소하면 HTTP 요청도 취소됨
+     * 실패하거나 제한 시간을 넘기면 목 결과로 대체
      */
-    public Map<String, Object> compareOptimizedScripts(String optimizedScript1, String optimizedScript2) {
-        log.info("FastAPI 최적화된 대본 비교 요청 시작");
-
-        try {
-            // WebClient로 POST 요청 전송 (form-data 방식)
-            MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-            formData.add("script1", optimizedScript1);
-            formData.add("script2", optimizedScript2);
-            
-            String responseBody = webClient.mutate()
-                    .baseUrl(fastApiBaseUrl)
-                    .build()
-                    .post()
-                    .uri("/compare")
-                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                    .body(BodyInserters.fromFormData(formData))
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            log.info("FastAPI 대본 비교 응답: {}", responseBody);
-
-            // 응답 파싱
-            return objectMapper.readValue(responseBody, new TypeReference<>() {});
+    public Mono<Map<String, Object>> compareOptimizedScriptsAsync(String optimizedScript1, String optimizedScript2) {
+        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+        formData.add("script1", optimizedScript1);
+        formData.add("script2", optimizedScript2);
+
+        return Mono.defer(() -> {
+                    String endpoint = fastApiEndpointPool.select();
+                    return fastApiEndpointPool.execute(endpoint, fastApiWebClient.post()
+                            .uri(endpoint + "/compare")
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .body(BodyInserters.fromFormData(formData))
+                            .retrieve()
+                            .bodyToMono(MAP_TYPE)
+                            .timeout(Duration.ofMillis(scriptDeadlineMillis)))
+                            .transformDeferred(CircuitBreakerOperator.of(fastApiCircuitBreakers.script(endpoint)));
+                })
+                .doOnSuccess(response -> log.info("FastAPI 대본 비교 응답 수신 (비동기)"))
+                .onErrorResume(e -> {
+                    log.error("FastAPI 대본 비교 통신 오류 발생 (비동기): {}", e.getMessage());
+                    return Mono.fromSupplier(this::createMockComparisonResult);
+                });
+    }
 
-        } catch (Exception e) {
-            log.error("FastAPI 대본 비교 통신 오류 발생", e);
-            return createMockComparisonResult();
-        }
+    /**
+     * FastAPI 분석 작업 취소 요청 - 응답을 기다리지 않으며 실패해도 무시 (취소는 이미 DB에 반영됨)
+     * 작업은 업로드를 받은 인스턴스(endpoint)에만 있으므로 그 인스턴스로 보냄 (null이면 기본 인스턴스)
+     */
+    public void cancelAnalysisAsync(String endpoint, String fastApiJobId) {
+        String target = endpoint != null ? endpoint : fastApiEndpointPool.defaultEndpoint();
+        fastApiWebClient.post()
+                .uri(target + cancelPath, fastApiJobId)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(Duration.ofMillis(cancelTimeoutMillis))
+                .subscribe(
+                        response -> log.info("FastAPI 분석 취소 요청 완료: {} @ {}", fastApiJobId, target),
+                        e -> log.warn("FastAPI 분석 취소 요청 실패 (무시됨): {} @ {} - {}", fastApiJobId, target, e.getMessage()));
     }
 
     /**
@@ -263,4 +282,10 @@ public class FastApiService {
             return "{}"; // 실패 시 빈 JSON 객체 반환
         }
     }
+
+    private HttpHeaders headers(MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return headers;
+    }
 }
@@ -0,0 +1,190 @@
+package com.example.ddorang.presentation.service;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 청크 전송 시작 전 메모리 여유 확인 (System.gc() 호출 대체)
+ *
+ * 청크는 FileRegionResource로 원본 파일 구간에서 바로 스트리밍되므로 전송 하나가 실제로 쓰는 메모리는
+ * 청크 크기와 무관하게 복사 버퍼(FileRegionResource 전송 버퍼, FileChannel 임시 다이렉트 버퍼, HTTP 클라이언트 출력 버퍼) 정도입니다.
+ * 따라서 전송 하나당 buffer-kb-per-transfer 만큼만 예약하고 그 합계를 max-in-flight-mb 로 제한합니다.
+ *
+ * 힙(MemoryMXBean)과 다이렉트 버퍼(BufferPoolMXBean) 중 작은 쪽의 여유가 min-headroom-mb 아래이거나
+ * 전송 중 버퍼 합계가 max-in-flight-mb 를 넘으면 새 청크 전송을 잠시 미룹니다.
+ * GC를 강제로 일으키지 않고 JVM이 스스로 회수하거나 앞선 청크가 끝나기를 기다렸다가 recheck-millis 마다 다시 확인합니다.
+ * - 전송 중인 청크가 하나도 없으면 항상 통과 (업로드가 멈추지 않도록)
+ * - max-wait-millis 동안 기다려도 여유가 생기지 않으면 경고 후 통과 (업로드 실패 대신 지연으로 처리)
+ *
+ * 메트릭: upload.inflight.bytes, upload.memory.headroom, upload.memory.gate.wait, upload.memory.gate.timeouts
+ */
+@Component
+@Slf4j
+public class MemoryPressureGate {
+
+    private static final long MB = 1024 * 1024;
+
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    private final BufferPoolMXBean directPool = findDirectPool();
+    private final long maxDirectMemory = maxDirectMemory();
+
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    @Value("${fastapi.upload.memory.min-headroom-mb:256}")
+    private long minHeadroomMb;
+
+    // 전송 하나가 사용하는 버퍼 메모리 (청크 크기와 무관)
+    @Value("${fastapi.upload.memory.buffer-kb-per-transfer:32}")
+    private long bufferKbPerTransfer;
+
+    @Value("${fastapi.upload.memory.max-in-flight-mb:16}")
+    private long maxInFlightMb;
+
+    @Value("${fastapi.upload.memory.max-wait-millis:30000}")
+    private long maxWaitMillis;
+
+    @Value("${fastapi.upload.memory.recheck-millis:100}")
+    private long recheckMillis;
+
+    public MemoryPressureGate(MeterRegistry meterRegistry) {
+        Gauge.builder("upload.inflight.bytes", inFlightBytes, AtomicLong::get)
+            .baseUnit("bytes")
+            .description("전송 중인 청크가 사용하는 버퍼 메모리 합계")
+            .register(meterRegistry);
+        Gauge.builder("upload.memory.headroom", this, MemoryPressureGate::headroomBytes)
+            .baseUnit("bytes")
+            .description("힙/다이렉트 메모리 중 작은 쪽의 여유 공간")
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("upload.memory.gate.wait")
+            .description("메모리 여유를 기다린 시간")
+            .register(meterRegistry);
+        this.timeouts = Counter.builder("upload.memory.gate.timeouts")
+            .description("최대 대기 후 메모리 여유 없이 통과한 청크 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 청크 전송 허가 - 전송 하나의 버퍼 메모리를 예약하며, 반환된 Permit을 닫으면 반납됨
+     */
+    public Permit acquire() throws InterruptedException {
+        long bytes = bufferKbPerTransfer * 1024;
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        lock.lockInterruptibly();
+        try {
+            while (!admissible(bytes)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    timeouts.increment();
+                    log.warn("메모리 여유 부족 상태로 청크 전송 시작 (여유 {}MB, 전송 중 버퍼 {}KB)",
+                        headroomBytes() / MB, inFlightBytes.get() / 1024);
+                    break;
+                }
+                // 여유는 GC가 회수할 때도 생기므로 release 신호가 없어도 주기적으로 재확인
+                released.awaitNanos(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(recheckMillis)));
+            }
+            inFlightBytes.addAndGet(bytes);
+        } finally {
+            lock.unlock();
+        }
+
+        long waited = System.nanoTime() - start;
+        waitTimer.record(waited, TimeUnit.NANOSECONDS);
+        if (waited > TimeUnit.MILLISECONDS.toNanos(recheckMillis)) {
+            log.debug("메모리 여유 대기 후 청크 전송 ({}ms)", TimeUnit.NANOSECONDS.toMillis(waited));
+        }
+        return new Permit(bytes);
+    }
+
+    /**
+     * 힙과 다이렉트 메모리 중 더 작은 여유 공간
+     */
+    public long headroomBytes() {
+        MemoryUsage heap = memoryMXBean.getHeapMemoryUsage();
+        long heapMax = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        long heapHeadroom = heapMax - heap.getUsed();
+        long directUsed = directPool != null ? directPool.getMemoryUsed() : 0;
+        long directHeadroom = (maxDirectMemory > 0 ? maxDirectMemory : heapMax) - directUsed;
+        return Math.max(0, Math.min(heapHeadroom, directHeadroom));
+    }
+
+    public long inFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    private boolean admissible(long bytes) {
+        long current = inFlightBytes.get();
+        if (current == 0) {
+            return true;
+        }
+        return current + bytes <= maxInFlightMb * MB && headroomBytes() >= minHeadroomMb * MB;
+    }
+
+    private void release(long bytes) {
+        inFlightBytes.addAndGet(-bytes);
+        lock.lock();
+        try {
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static BufferPoolMXBean findDirectPool() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool;
+            }
+        }
+        return null;
+    }
+
+    // -XX:MaxDirectMemorySize (지정하지 않으면 0 - 최대 힙 크기와 같음)
+    private static long maxDirectMemory() {
+        try {
+            HotSpotDiagnosticMXBean diagnostic = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Long.parseLong(diagnostic.getVMOption("MaxDirectMemorySize").getValue());
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 청크 전송 허가 (try-with-resources로 사용, 여러 번 닫아도 한 번만 반납)
+     */
+    public final class Permit implements AutoCloseable {
+        private final long bytes;
+        private boolean closed;
+
+        private Permit(long bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(bytes);
+            }
+        }
+    }
+}
@@ -11,15 +11,13 @@ import com.example.ddorang.team.repository.TeamRepository;
 import com.example.ddorang.team.repository.TeamMemberRepository;
 import com.example.ddorang.auth.entity.User;
 import com.example.ddorang.auth.repository.UserRepository;
+import com.example.ddorang.common.exception.SpoolFullException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.io.File;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -38,7 +36,9 @@ public class PresentationService {
     private final PresentationFeedbackRepository presentationFeedbackRepository;
     private final PresentationComparisonRepository presentationComparisonRepository;
     private final VideoAnalysisJobRepository videoAnalysisJobRepository;
-    private final FastApiPollingService fastApiPollingService;
+    private final VideoUploadChunkRepository videoUploadChunkRepository;
+    private final AnalysisResultSnapshotRepository analysisResultSnapshotRepository;
+    private final AnalysisWorkQueue analysisWorkQueue;
     private final VideoAnalysisService videoAnalysisService;
     private final TeamRepository teamRepository;
     private final TeamMemberRepository teamMemberRepository;
@@ -193,30 +193,19 @@ public class PresentationService {
                 // DB에 초기 상태 저장
                 videoAnalysisService.initializeJob(job);
                 
-                // 트랜잭션 커밋 전에 MultipartFile을 임시 파일로 저장
+                // 트랜잭션 커밋 전에 MultipartFile을 작업별 spool 디렉터리로 넘겨받고 작업 큐에 등록
                 // (커밋 후에는 MultipartFile이 정리되어 접근 불가)
-                log.info("📁 트랜잭션 커밋 전 임시 파일 생성 시작: {} (크기: {}MB)", 
-                    videoFile.getOriginalFilename(), videoFile.getSize() / (1024 * 1024));
-                File tempFile = File.createTempFile("video_upload_", "_" + videoFile.getOriginalFilename());
-                videoFile.transferTo(tempFile);
-                log.info("✅ 임시 파일 생성 완료: {} ({}MB)", tempFile.getAbsolutePath(), tempFile.length() / (1024 * 1024));
-                
-                // FastAPI 폴링 시작 (백그라운드) - File 객체 전달
-                if (TransactionSynchronizationManager.isSynchronizationActive()) {
-                    VideoAnalysisJob finalJob = job;
-                    File finalTempFile = tempFile; // 임시 파일 전달
-                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                        @Override
-                        public void afterCommit() {
-                            log.info("트랜잭션 커밋 후 자동 분석 작업 시작 - 작업 ID: {}", finalJob.getId());
-                            fastApiPollingService.startVideoAnalysis(finalJob, finalTempFile);
-                        }
-                    });
-                } else {
-                    fastApiPollingService.startVideoAnalysis(job, tempFile);
+                // 트랜잭션 커밋 후 작업 큐가 점유하여 분석 시작 (재시작/장애 시에도 유실되지 않음)
+                try {
+                    analysisWorkQueue.enqueue(job.getId(), videoFile);
+                } catch (SpoolFullException e) {
+                    // 저장 공간 부족 시 작업만 실패 처리 (프레젠테이션 생성은 유지)
+                    videoAnalysisService.markJobAsFailed(job.getId(), e.getMessage());
+                    log.warn("자동 분석 작업 시작 보류 - 저장 공간 부족: {}", job.getId());
+                    return savedPresentation;
                 }
                 
-                log.info("자동 분석 작업 시작 등록 완료 - 작업 ID: {}", job.getId());
+                log.info("자동 분석 작업 큐 등록 완료 - 작업 ID: {}", job.getId());
             } catch (Exception e) {
                 log.error("자동 분석 작업 시작 실패: {}", e.getMessage(), e);
                 // 분석 작업 실패해도 프레젠테이션 생성은 성공으로 처리
@@ -240,6 +229,8 @@ public class PresentationService {
         
         if (title != null && !title.trim().isEmpty()) {
             presentation.setTitle(title);
+            // 결과 스냅샷에 발표 제목이 들어 있으므로 다음 조회 때 다시 렌더링
+            analysisResultSnapshotRepository.deleteById(presentationId);
         }
         if (script != null) {
             presentation.setScript(script);
@@ -296,14 +287,18 @@ public class PresentationService {
                     log.info("SttResult 삭제 완료: {}", presentationId);
                 });
         
-        // 4. 관련된 VideoAnalysisJob 데이터 삭제
+        // 4. 분석 결과 스냅샷 삭제
+        analysisResultSnapshotRepository.deleteById(presentationId);
+
+        // 5. 관련된 VideoAnalysisJob 데이터 삭제
         List<VideoAnalysisJob> analysisJobs = videoAnalysisJobRepository.findByPresentationIdOrderByCreatedAtDesc(presentationId);
         if (!analysisJobs.isEmpty()) {
+            videoUploadChunkRepository.deleteByJobIds(analysisJobs.stream().map(VideoAnalysisJob::getId).toList());
             videoAnalysisJobRepository.deleteAll(analysisJobs);
             log.info("VideoAnalysisJob 삭제 완료: {} ({}개 삭제)", presentationId, analysisJobs.size());
         }
         
-        // 5. 관련된 PresentationComparison 데이터 삭제
+        // 6. 관련된 PresentationComparison 데이터 삭제
         try {
             // 먼저 개별 삭제 시도
             List<PresentationComparison> comparisons = presentationComparisonRepository.findComparisonsInvolving(
@@ -326,9 +321,9 @@ public class PresentationService {
             }
         }
         
-        // 6. 비디오 파일은 분석 서버에 저장되므로 스프링에서는 삭제하지 않음
+        // 7. 비디오 파일은 분석 서버에 저장되므로 스프링에서는 삭제하지 않음
         
-        // 7. 프레젠테이션 삭제
+        // 8. 프레젠테이션 삭제
         presentationRepository.delete(presentation);
         log.info("프레젠테이션 및 관련 데이터 삭제 완료: {}", presentationId);
     }
@@ -0,0 +1,314 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.common.exception.SpoolFullException;
+import com.example.ddorang.presentation.entity.VideoAnalysisJob;
+import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 업로드 영상 임시 저장소 (spool)
+ *
+ * 디렉터리 구조
+ * - incoming/ : 서블릿 멀티파트 임시 파일 위치 (spring.servlet.multipart.location 으로 지정)
+ * - jobs/{jobId}/source.{ext} : 작업별 원본 파일 (원본 파일명과 무관하므로 같은 이름의 동시 업로드끼리 충돌하지 않음)
+ *
+ * incoming 과 jobs 가 같은 볼륨에 있으므로 MultipartFile.transferTo(File) 는 복사 없이 이름 변경으로 끝납니다.
+ * (업로드 한 건당 디스크 쓰기는 멀티파트 수신 시 한 번뿐, 청크 전송은 FileRegionResource 로 원본 구간을 그대로 읽음)
+ *
+ * 할당량(quota-mb)을 넘거나 볼륨 여유 공간이 min-free-mb 아래면 wait-millis 동안 공간이 나기를 기다린 뒤
+ * SpoolFullException(503 + Retry-After)으로 거절합니다.
+ *
+ * 프로세스가 죽어 남은 파일은 주기적 정리(시작 직후 1회 포함)에서 회수합니다.
+ * - 작업이 없거나 이미 끝났거나 업로드가 끝난(fastApiJobId 보유) 작업의 디렉터리
+ * - incoming 에 남은 오래된 멀티파트 임시 파일
+ * 아직 커밋되지 않은 작업과 겹치지 않도록 orphan-grace-minutes 보다 최근에 수정된 항목은 건드리지 않습니다.
+ *
+ * 메트릭: upload.spool.bytes, upload.spool.rejections, upload.spool.reclaimed
+ */
+@Component
+@Slf4j
+public class UploadSpool {
+
+    private static final long MB = 1024 * 1024;
+    private static final String SOURCE_FILE_PREFIX = "source";
+
+    private final VideoAnalysisJobRepository videoAnalysisJobRepository;
+    private final Path root;
+    private final Path incomingDir;
+    private final Path jobsDir;
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final Counter rejections;
+    private final Counter reclaimed;
+
+    @Value("${app.spool.quota-mb:20480}")
+    private long quotaMb;
+
+    // 볼륨에 최소한 남겨둘 여유 공간
+    @Value("${app.spool.min-free-mb:2048}")
+    private long minFreeMb;
+
+    // 공간이 부족할 때 거절 전까지 기다리는 시간
+    @Value("${app.spool.wait-millis:3000}")
+    private long waitMillis;
+
+    @Value("${app.spool.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    @Value("${app.spool.orphan-grace-minutes:30}")
+    private long orphanGraceMinutes;
+
+    public UploadSpool(VideoAnalysisJobRepository videoAnalysisJobRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.spool.dir:${java.io.tmpdir}/ddorang-spool}") String spoolDir) {
+        this.videoAnalysisJobRepository = videoAnalysisJobRepository;
+        this.root = Paths.get(spoolDir).toAbsolutePath().normalize();
+        this.incomingDir = root.resolve("incoming");
+        this.jobsDir = root.resolve("jobs");
+        Gauge.builder("upload.spool.bytes", usedBytes, AtomicLong::get)
+            .baseUnit("bytes")
+            .description("업로드 임시 저장소 사용량")
+            .register(meterRegistry);
+        this.rejections = Counter.builder("upload.spool.rejections")
+            .description("저장 공간 부족으로 거절된 업로드 수")
+            .register(meterRegistry);
+        this.reclaimed = Counter.builder("upload.spool.reclaimed")
+            .description("정리 작업으로 회수한 고아 파일/디렉터리 수")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(incomingDir);
+        Files.createDirectories(jobsDir);
+        usedBytes.set(sizeOf(jobsDir));
+        log.info("업로드 임시 저장소 준비 완료: {} (사용 {}MB / 할당량 {}MB)", root, usedBytes.get() / MB, quotaMb);
+    }
+
+    /**
+     * 멀티파트 파일을 작업 디렉터리로 넘겨받음 (같은 볼륨이면 이름 변경만 수행)
+     */
+    public File spool(UUID jobId, MultipartFile videoFile) throws IOException {
+        long size = videoFile.getSize();
+        reserve(size);
+
+        Path jobDir = jobsDir.resolve(jobId.toString());
+        Path target = jobDir.resolve(SOURCE_FILE_PREFIX + extensionOf(videoFile.getOriginalFilename()));
+        try {
+            Files.createDirectories(jobDir);
+            // transferTo(Path)는 스트림 복사이므로 이름 변경이 가능한 transferTo(File) 사용
+            videoFile.transferTo(target.toFile());
+        } catch (IOException | RuntimeException e) {
+            usedBytes.addAndGet(-size);
+            deleteRecursively(jobDir);
+            throw e;
+        }
+
+        log.info("✅ 업로드 파일 저장 완료: {} ({}MB, 저장소 사용 {}MB)", target, size / MB, usedBytes.get() / MB);
+        return target.toFile();
+    }
+
+    /**
+     * 작업의 원본 파일 반납
+     * 저장소 밖의 파일(저장소 도입 이전에 등록된 작업)은 파일만 삭제
+     */
+    public void release(UUID jobId, File sourceFile) {
+        Path jobDir = jobsDir.resolve(jobId.toString());
+        if (sourceFile != null && !sourceFile.toPath().toAbsolutePath().normalize().startsWith(jobDir)) {
+            if (sourceFile.exists() && !sourceFile.delete()) {
+                log.warn("⚠️ 임시 파일 삭제 실패: {}", sourceFile.getAbsolutePath());
+            }
+        }
+        usedBytes.addAndGet(-deleteRecursively(jobDir));
+    }
+
+    /**
+     * 고아 파일 정리 - 시작 직후 한 번, 이후 주기적으로 실행
+     * 사용량은 디스크를 다시 계산해 덮어쓰지 않고 삭제한 크기만큼만 뺌
+     * (디렉터리를 훑는 동안 예약만 되고 아직 옮겨지지 않은 업로드가 사용량에서 빠지지 않도록)
+     */
+    @Scheduled(initialDelayString = "${app.spool.sweep-initial-delay-millis:30000}",
+               fixedDelayString = "${app.spool.sweep-interval-millis:600000}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(orphanGraceMinutes));
+        int removed = 0;
+        try {
+            removed += sweepJobDirectories(cutoff);
+            removed += sweepIncoming(cutoff);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("업로드 임시 저장소 정리 실패: {}", e.getMessage());
+            return;
+        }
+        if (removed > 0) {
+            reclaimed.increment(removed);
+            log.info("업로드 임시 저장소 정리: {}건 회수 (사용 {}MB)", removed, usedBytes.get() / MB);
+        }
+    }
+
+    private int sweepJobDirectories(Instant cutoff) throws IOException {
+        Map<UUID, Path> candidates = new HashMap<>();
+        List<Path> invalid = new ArrayList<>();
+        try (Stream<Path> dirs = Files.list(jobsDir)) {
+            for (Path dir : dirs.filter(path -> isOlderThan(path, cutoff)).toList()) {
+                parseJobId(dir).ifPresentOrElse(jobId -> candidates.put(jobId, dir), () -> invalid.add(dir));
+            }
+        }
+        if (candidates.isEmpty() && invalid.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, VideoAnalysisJob> jobs = videoAnalysisJobRepository.findAllById(candidates.keySet()).stream()
+            .collect(Collectors.toMap(VideoAnalysisJob::getId, Function.identity()));
+
+        int removed = 0;
+        for (Map.Entry<UUID, Path> entry : candidates.entrySet()) {
+            VideoAnalysisJob job = jobs.get(entry.getKey());
+            if (job == null || job.isCompleted() || job.getFastApiJobId() != null) {
+                log.info("고아 업로드 디렉터리 회수: {} (작업 {})", entry.getValue(),
+                    job == null ? "없음" : job.getStatus());
+                usedBytes.addAndGet(-deleteRecursively(entry.getValue()));
+                removed++;
+            }
+        }
+        for (Path path : invalid) {
+            usedBytes.addAndGet(-deleteRecursively(path));
+            removed++;
+        }
+        return removed;
+    }
+
+    private int sweepIncoming(Instant cutoff) throws IOException {
+        List<Path> stale;
+        try (Stream<Path> files = Files.list(incomingDir)) {
+            stale = files.filter(path -> isOlderThan(path, cutoff)).toList();
+        }
+        stale.forEach(UploadSpool::deleteRecursively);
+        return stale.size();
+    }
+
+    /**
+     * 할당량과 볼륨 여유 공간 확인 후 사용량 예약 (부족하면 wait-millis 동안 재확인)
+     */
+    private void reserve(long bytes) {
+        long deadline = System.nanoTime() + waitMillis * 1_000_000;
+        while (!tryReserve(bytes)) {
+            if (System.nanoTime() >= deadline) {
+                rejections.increment();
+                log.warn("업로드 임시 저장소 공간 부족: 요청 {}MB, 사용 {}MB / 할당량 {}MB",
+                    bytes / MB, usedBytes.get() / MB, quotaMb);
+                throw new SpoolFullException("서버 저장 공간이 부족합니다. 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+            }
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SpoolFullException("업로드 대기 중 중단되었습니다.", retryAfterSeconds);
+            }
+        }
+    }
+
+    private boolean tryReserve(long bytes) {
+        try {
+            // 멀티파트 파일은 이미 같은 볼륨(incoming)에 있으므로 여유 공간에서 다시 빼지 않음
+            if (Files.getFileStore(root).getUsableSpace() < minFreeMb * MB) {
+                return false;
+            }
+        } catch (IOException e) {
+            log.warn("업로드 임시 저장소 여유 공간 확인 실패: {}", e.getMessage());
+        }
+        long quota = quotaMb * MB;
+        long current;
+        do {
+            current = usedBytes.get();
+            if (current + bytes > quota) {
+                return false;
+            }
+        } while (!usedBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    private static Optional<UUID> parseJobId(Path dir) {
+        try {
+            return Optional.of(UUID.fromString(dir.getFileName().toString()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    // 원본 파일명은 경로에 쓰지 않고 짧은 영숫자 확장자만 유지
+    private static String extensionOf(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        String extension = dot >= 0 ? filename.substring(dot + 1) : "";
+        return extension.matches("[A-Za-z0-9]{1,8}") ? "." + extension.toLowerCase() : "";
+    }
+
+    private static boolean isOlderThan(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static long sizeOf(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return 0;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+
+    // 삭제한 파일 크기 합계 반환 (동시에 다른 쪽이 먼저 지운 파일은 세지 않음)
+    private static long deleteRecursively(Path path) {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long deleted = 0;
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path each : paths.sorted(Comparator.reverseOrder()).toList()) {
+                long size = Files.isRegularFile(each) ? each.toFile().length() : 0;
+                try {
+                    if (Files.deleteIfExists(each)) {
+                        deleted += size;
+                    }
+                } catch (IOException e) {
+                    log.warn("⚠️ 임시 파일 삭제 실패: {} - {}", each, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ 임시 디렉터리 삭제 실패: {} - {}", path, e.getMessage());
+        }
+        return deleted;
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.ddorang.presentation.service;
 
 import com.example.ddorang.common.enums.JobStatus;
-import com.example.ddorang.common.service.NotificationService;
+import com.example.ddorang.common.entity.OutboxEvent;
+import com.example.ddorang.common.service.OutboxService;
+import com.example.ddorang.presentation.dto.AnalysisResultPayload;
 import com.example.ddorang.presentation.entity.Presentation;
 import com.example.ddorang.presentation.entity.VideoAnalysisJob;
 import com.example.ddorang.presentation.repository.PresentationRepository;
@@ -9,15 +11,15 @@ import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
 import com.example.ddorang.presentation.service.VoiceAnalysisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -26,30 +28,18 @@ public class VideoAnalysisService {
 
     private final VideoAnalysisJobRepository videoAnalysisJobRepository;
     private final PresentationRepository presentationRepository;
-    private final NotificationService notificationService;
+    private final OutboxService outboxService;
     private final VoiceAnalysisService voiceAnalysisService;
+    private final AnalysisEtaEstimator analysisEtaEstimator;
+    private final AnalysisAdmissionService analysisAdmissionService;
+    private final AnalysisProgressTracker analysisProgressTracker;
 
-    // 메모리에 결과 임시 저장 (TTL 캐시)
-    private final Map<UUID, CacheEntry> resultCache = new ConcurrentHashMap<>();
+    // 분석 원본 결과 캐시 (로컬 크기 제한 + Redis 공유)
+    private final AnalysisResultCache analysisResultCache;
+    private final AnalysisResultSnapshotService analysisResultSnapshotService;
 
-    // 캐시 엔트리 클래스
-    private static class CacheEntry {
-        private final Map<String, Object> data;
-        private final LocalDateTime expireTime;
-
-        public CacheEntry(Map<String, Object> data) {
-            this.data = data;
-            this.expireTime = LocalDateTime.now().plusHours(24); // 24시간 후 만료
-        }
-
-        public boolean isExpired() {
-            return LocalDateTime.now().isAfter(expireTime);
-        }
-
-        public Map<String, Object> getData() {
-            return data;
-        }
-    }
+    // 작업 완료를 결과 저장/알림 outbox 기록과 한 트랜잭션으로 묶기 위한 템플릿
+    private final TransactionTemplate transactionTemplate;
 
     // 작업 초기 상태 설정
     public void initializeJob(VideoAnalysisJob job) {
@@ -66,20 +56,20 @@ public class VideoAnalysisService {
     }
 
     // 작업 상태 업데이트
+    // 조회 후 엔티티 전체를 저장하면 그 사이에 커밋된 취소(requestCancel)나 점유 정보를 덮어쓰므로 조건부 UPDATE 사용
     public void updateJobStatus(UUID jobId, String status, String message) {
         try {
-            VideoAnalysisJob job = videoAnalysisJobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 작업: " + jobId));
-
-            // 상태 업데이트
             JobStatus newStatus = JobStatus.valueOf(status.toUpperCase());
-            job.setStatus(newStatus);
-
             if (JobStatus.FAILED.equals(newStatus)) {
-                job.setErrorMessage(message);
+                markJobAsFailed(jobId, message);
+                return;
             }
 
-            videoAnalysisJobRepository.save(job);
+            // 취소되었거나 이미 끝난 작업은 진행 중인 업로드/폴링이 상태를 되돌리지 않도록 무시
+            if (videoAnalysisJobRepository.updateActiveStatus(jobId, newStatus) == 0) {
+                log.debug("종료/취소된 작업 상태 업데이트 무시: {} - {}", jobId, status);
+                return;
+            }
             log.debug("상태 업데이트: {} - {}", jobId, message);
 
         } catch (Exception e) {
@@ -87,99 +77,121 @@ public class VideoAnalysisService {
         }
     }
 
-    // 작업 완료 처리 - 이벤트 발행 (트랜잭션 없이 처리)
-    public void completeJob(UUID jobId, Map<String, Object> analysisResult) {
+    // 작업 완료 처리 - 작업 상태/결과/알림 outbox를 한 트랜잭션으로 커밋 (알림은 커밋 후 비동기 전달)
+    // 작업이 종료 상태가 되었으면(완료, 실패 처리, 이미 종료/취소됨) true, 완료도 실패 처리도 저장하지 못했으면 false
+    public boolean completeJob(UUID jobId, AnalysisResultPayload analysisResult) {
         try {
             log.info("작업 완료 처리 시작: {}", jobId);
 
-            // 분석 결과를 메모리 캐시에 저장 (24시간 보관)
-            resultCache.put(jobId, new CacheEntry(analysisResult));
-
-            // 만료된 캐시 엔트리 정리
-            cleanupExpiredCache();
-
-            // 상태를 'COMPLETED'로 업데이트
-            VideoAnalysisJob job = videoAnalysisJobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 작업: " + jobId));
-
-            // FastAPI에서 반환된 video_path 추출 및 저장
-            String videoPath = null;
-            if (analysisResult.containsKey("video_path")) {
-                Object videoPathObj = analysisResult.get("video_path");
-                if (videoPathObj != null) {
-                    videoPath = videoPathObj.toString();
-                    log.info("📹 저장된 비디오 경로 수신: {}", videoPath);
-                    // VideoAnalysisJob에 video_path 저장
-                    job.setVideoPath(videoPath);
-                }
+            if (analysisResult == null) {
+                throw new IllegalArgumentException("분석 결과 데이터가 올바르지 않습니다.");
             }
 
-            job.setStatus(JobStatus.COMPLETED);
-            videoAnalysisJobRepository.save(job);
-            
-            // 트랜잭션 커밋 전에 정보 추출 (Lazy Loading)
-            UUID userId = job.getPresentation().getTopic().getUser().getUserId();
-            String presentationTitle = job.getPresentation().getTitle();
-            UUID presentationId = job.getPresentation().getId();
-            
-            // 비디오 파일 URL 생성 및 Presentation에 저장
-            if (videoPath != null && !videoPath.isEmpty()) {
-                try {
-                    // 파일 서버 URL 생성 (예: /api/files/videos/stored_videos/{filename})
-                    String videoUrl = generateVideoUrl(videoPath);
-                    Presentation presentation = job.getPresentation();
-                    presentation.setVideoUrl(videoUrl);
-                    // Presentation 저장 (videoUrl 업데이트)
-                    presentationRepository.save(presentation);
-                    log.info("📹 Presentation.videoUrl 설정 및 저장 완료: {}", videoUrl);
-                } catch (Exception e) {
-                    log.warn("비디오 URL 생성/저장 실패 (무시됨): {}", e.getMessage());
-                }
+            // 작업 완료 + 결과 저장 + 알림 outbox 기록을 한 트랜잭션으로 커밋
+            // 알림/이메일은 커밋 후 OutboxService가 별도 스레드에서 전달 (폴링 스레드는 SMTP/웹소켓을 기다리지 않음)
+            Completion completion = transactionTemplate.execute(status -> commitCompletion(jobId, analysisResult));
+
+            // 취소되었거나 다른 경로(콜백/다른 인스턴스의 폴러)가 먼저 완료한 작업은 결과/알림을 다시 저장하지 않음
+            if (completion == null) {
+                log.info("이미 종료되었거나 취소된 작업의 분석 결과 무시: {}", jobId);
+                return true;
             }
-            
-            // 분석 결과를 DB에 저장 (VoiceAnalysis, SttResult, PresentationFeedback)
-            voiceAnalysisService.saveAnalysisResults(presentationId, analysisResult);
-            log.info("분석 결과 DB 저장 완료: {}", presentationId);
 
-            // 알림 발송 (트랜잭션이 없으므로 이벤트 대신 직접 호출)
-            log.info("🔔 알림 발송 시작 - 사용자: {}, 발표: {}", userId, presentationTitle);
+            // 분석 결과 원문을 결과 캐시에 저장 (24시간 보관)
+            analysisResultCache.put(jobId, analysisResult.getRawJson());
+            analysisEtaEstimator.record(completion.job());
+
+            // 결과 조회 응답 미리 렌더링 (실패해도 첫 조회 때 다시 렌더링)
             try {
-                notificationService.sendAnalysisCompleteNotification(
-                    userId, presentationTitle, presentationId
-                );
-                log.info("✅ 알림 발송 완료 - 사용자: {}", userId);
-            } catch (Exception notificationError) {
-                log.error("❌ 알림 발송 실패: {}", notificationError.getMessage(), notificationError);
+                analysisResultSnapshotService.render(completion.presentationId());
+            } catch (Exception e) {
+                log.warn("분석 결과 스냅샷 저장 실패: {} - {}", completion.presentationId(), e.getMessage());
             }
+            // 결과 저장 후에 완료를 알려야 클라이언트가 바로 결과를 조회할 수 있음
+            analysisProgressTracker.finished(jobId, true, getStatusMessage(completion.job()));
 
             log.info("작업 완료 처리 성공: {}", jobId);
+            return true;
 
         } catch (Exception e) {
             log.error("작업 완료 처리 실패: {}", jobId, e);
-            // 실패 처리도 트랜잭션 없이 처리
-            try {
-                markJobAsFailedWithoutTransaction(jobId, "결과 저장 중 오류: " + e.getMessage());
-            } catch (Exception e2) {
-                log.error("작업 실패 처리도 실패: {}", jobId, e2);
-            }
+            // 완료 트랜잭션은 롤백되었으므로 별도로 실패 처리
+            return markJobAsFailedWithoutTransaction(jobId, "결과 저장 중 오류: " + e.getMessage());
         }
     }
-    
-    // 트랜잭션 없이 작업 실패 처리
-    public void markJobAsFailedWithoutTransaction(UUID jobId, String errorMessage) {
+
+    /**
+     * 완료 트랜잭션 커밋 후 필요한 값
+     */
+    private record Completion(VideoAnalysisJob job, UUID presentationId) {
+    }
+
+    // 완료 트랜잭션 본문 - 이미 종료되었거나 취소된 작업이면 null
+    private Completion commitCompletion(UUID jobId, AnalysisResultPayload analysisResult) {
+        // 조건부 UPDATE로 완료 전환 - 행 잠금으로 동시에 도착한 콜백/폴링/취소 중 한 곳만 성공
+        String videoPath = analysisResult.getVideoPath();
+        if (videoAnalysisJobRepository.markCompleted(jobId, videoPath, LocalDateTime.now()) == 0) {
+            return null;
+        }
+        if (videoPath != null) {
+            log.info("📹 저장된 비디오 경로 수신: {}", videoPath);
+        }
+
+        VideoAnalysisJob job = videoAnalysisJobRepository.findById(jobId)
+            .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 작업: " + jobId));
+        Presentation presentation = job.getPresentation();
+        UUID userId = presentation.getTopic().getUser().getUserId();
+        UUID presentationId = presentation.getId();
+
+        // 비디오 파일 URL 생성 및 Presentation에 저장
+        if (videoPath != null && !videoPath.isEmpty()) {
+            // 파일 서버 URL 생성 (예: /api/files/videos/stored_videos/{filename})
+            String videoUrl = generateVideoUrl(videoPath);
+            presentation.setVideoUrl(videoUrl);
+            presentationRepository.save(presentation);
+            log.info("📹 Presentation.videoUrl 설정 완료: {}", videoUrl);
+        }
+
+        // 분석 결과를 DB에 저장 (VoiceAnalysis, SttResult, PresentationFeedback)
+        voiceAnalysisService.saveAnalysisResults(presentationId, analysisResult);
+        log.info("분석 결과 DB 저장 완료: {}", presentationId);
+
+        // 알림/이메일 outbox 기록 (커밋되어야 전달됨)
+        Map<String, String> payload = Map.of(
+            "jobId", jobId.toString(),
+            "userId", userId.toString(),
+            "presentationId", presentationId.toString(),
+            "presentationTitle", presentation.getTitle()
+        );
+        outboxService.append(OutboxEvent.EventType.ANALYSIS_COMPLETE_NOTIFICATION, jobId, payload);
+        outboxService.append(OutboxEvent.EventType.ANALYSIS_COMPLETE_EMAIL, jobId, payload);
+        log.info("🔔 분석 완료 알림 예약 - 사용자: {}, 발표: {}", userId, presentation.getTitle());
+
+        return new Completion(job, presentationId);
+    }
+
+    // 청크 업로드 완료 기록 (FastAPI job_id와 마지막 청크 응답의 영상 경로 보관, videoPath는 null 가능)
+    public void markUploadCompleted(UUID jobId, String fastApiJobId, String videoPath) {
+        videoAnalysisJobRepository.recordUploadCompleted(jobId, fastApiJobId, videoPath, LocalDateTime.now());
+    }
+
+    // 트랜잭션 없이 작업 실패 처리 - 실패로 기록했거나 이미 종료된 작업이면 true, 저장 중 오류면 false
+    public boolean markJobAsFailedWithoutTransaction(UUID jobId, String errorMessage) {
         try {
             log.error("작업 실패 처리: {} - {}", jobId, errorMessage);
 
-            VideoAnalysisJob job = videoAnalysisJobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 작업: " + jobId));
-
-            job.markAsFailed(errorMessage);
-            videoAnalysisJobRepository.save(job);
+            // 취소된 작업은 취소 사유 유지, 이미 끝난 작업은 그대로 둠
+            if (videoAnalysisJobRepository.markFailed(jobId, errorMessage) == 0) {
+                return true;
+            }
+            analysisProgressTracker.finished(jobId, false, errorMessage);
 
             log.info("작업 실패 처리 완료: {}", jobId);
+            return true;
 
         } catch (Exception e) {
             log.error("작업 실패 처리 실패: {}", jobId, e);
+            return false;
         }
     }
 
@@ -189,11 +201,11 @@ public class VideoAnalysisService {
         try {
             log.error("작업 실패 처리: {} - {}", jobId, errorMessage);
 
-            VideoAnalysisJob job = videoAnalysisJobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 작업: " + jobId));
-
-            job.markAsFailed(errorMessage);
-            videoAnalysisJobRepository.save(job);
+            // 취소된 작업은 취소 사유 유지, 이미 끝난 작업은 그대로 둠
+            if (videoAnalysisJobRepository.markFailed(jobId, errorMessage) == 0) {
+                return;
+            }
+            analysisProgressTracker.finished(jobId, false, errorMessage);
 
         } catch (Exception e) {
             log.error("실패 처리 중 추가 오류: {}", jobId, e);
@@ -214,82 +226,66 @@ public class VideoAnalysisService {
             status.put("status", job.getStatus().toString().toLowerCase());
             status.put("message", getStatusMessage(job));
             status.put("createdAt", job.getCreatedAt().toString());
+            status.put("progress", getProgressPercentage(job));
 
-            return status;
-
-        } catch (Exception e) {
-            log.error("상태 조회 실패: {}", jobId, e);
-            return null;
-        }
-    }
-
-    // 결과 조회
-    public Map<String, Object> getJobResult(UUID jobId) {
-        try {
-            CacheEntry entry = resultCache.get(jobId);
+            // 이 인스턴스에서 업로드/분석 중이면 실제 진행 정보 (전송 바이트/청크, 단계, 진행률)
+            Map<String, Object> live = analysisProgressTracker.snapshot(jobId);
+            if (live != null) {
+                status.putAll(live);
+                status.remove("jobId");
+            }
 
-            if (entry == null) {
-                return null;
+            // 대기 중이면 대기열 순번과 예상 시작 시각 제공
+            AnalysisAdmissionService.QueueStatus queueStatus = JobStatus.PENDING.equals(job.getStatus())
+                ? analysisAdmissionService.getQueueStatus(jobId)
+                : null;
+            if (queueStatus != null) {
+                status.put("queuePosition", queueStatus.position());
+                status.put("queueLength", queueStatus.queueLength());
+                status.put("estimatedStartAt", queueStatus.estimatedStartAt().toString());
             }
 
-            // 만료된 캐시 확인
-            if (entry.isExpired()) {
-                resultCache.remove(jobId);
-                log.debug("만료된 캐시 제거: {}", jobId);
-                return null;
+            // 진행 중이면 예상 완료 시각 제공 (대기 중이면 예상 시작 시각 기준)
+            if (job.isInProgress()) {
+                LocalDateTime eta = queueStatus != null
+                    ? analysisEtaEstimator.estimateCompletion(job, queueStatus.estimatedStartAt())
+                    : analysisEtaEstimator.estimateCompletion(job);
+                if (eta != null) {
+                    status.put("estimatedCompletionAt", eta.toString());
+                    status.put("estimatedRemainingSeconds",
+                        Math.max(0, Duration.between(LocalDateTime.now(), eta).toSeconds()));
+                }
             }
 
-            return entry.getData();
+            return status;
+
         } catch (Exception e) {
-            log.error("결과 조회 실패: {}", jobId, e);
+            log.error("상태 조회 실패: {}", jobId, e);
             return null;
         }
     }
 
-    // 만료된 캐시 엔트리 정리
-    private void cleanupExpiredCache() {
-        resultCache.entrySet().removeIf(entry -> {
-            if (entry.getValue().isExpired()) {
-                log.debug("만료된 캐시 엔트리 제거: {}", entry.getKey());
-                return true;
-            }
-            return false;
-        });
-    }
-
-    /**
-     * 스케줄러: 매 1시간마다 만료된 캐시 자동 정리
-     *
-     * fixedRate: 1시간 = 3,600,000ms
-     * 작업 시작 후 1시간마다 실행 (작업 실행 시간 무관)
-     */
-    @Scheduled(fixedRate = 3600000)
-    public void scheduledCacheCleanup() {
+    // 결과 조회 (FastAPI 결과 원문 JSON)
+    public String getJobResult(UUID jobId) {
         try {
-            int beforeSize = resultCache.size();
-
-            if (beforeSize == 0) {
-                return; // 캐시가 비어있으면 로그 안 남김
-            }
-
-            cleanupExpiredCache();
-            int afterSize = resultCache.size();
-            int removedCount = beforeSize - afterSize;
-
-            if (removedCount > 0) {
-                log.info("스케줄 캐시 정리 완료: {}개 제거 ({}개 → {}개 남음)",
-                    removedCount, beforeSize, afterSize);
-            } else {
-                log.debug("스케줄 캐시 정리: 만료된 항목 없음 ({}개 유지)", beforeSize);
-            }
+            return analysisResultCache.get(jobId);
         } catch (Exception e) {
-            log.error("스케줄 캐시 정리 실패", e);
+            log.error("결과 조회 실패: {}", jobId, e);
+            return null;
         }
     }
 
     // === Private 헬퍼 메서드들 ===
 
     // 상태별 메세지 생성
+    // 진행 정보가 없을 때의 기본 진행률
+    private int getProgressPercentage(VideoAnalysisJob job) {
+        return switch (job.getStatus()) {
+            case PENDING, PROCESSING, FAILED -> 0;
+            case COMPLETED -> 100;
+        };
+    }
+
     private String getStatusMessage(VideoAnalysisJob job) {
         return switch (job.getStatus()) {
             case PENDING -> "분석을 준비하고 있습니다...";
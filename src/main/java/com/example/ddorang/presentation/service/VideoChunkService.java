@@ -1,10 +1,12 @@
 package com.example.ddorang.presentation.service;
 
+import com.example.ddorang.presentation.entity.VideoUploadChunk;
+import com.example.ddorang.presentation.util.FileRegionResource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -12,32 +14,55 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.*;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * 비디오 파일 청킹 및 업로드 서비스
- * 큰 비디오 파일을 50MB 단위로 분할하여 FastAPI로 전송
+ * 큰 비디오 파일을 청크로 분할하여 FastAPI로 전송 (청크 크기는 업로드마다 ChunkSizePolicy가 결정)
+ * 청크는 원본 파일의 구간(FileRegionResource)으로만 표현되며, 임시 파일이나 힙 버퍼로 복사하지 않음
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class VideoChunkService {
 
-    private static final long CHUNK_SIZE = 50 * 1024 * 1024; // 50MB
     private static final int MAX_RETRY_ATTEMPTS = 3;
     private static final long INITIAL_RETRY_DELAY_MILLIS = 2_000L;
     private static final long MAX_RETRY_DELAY_MILLIS = 10_000L;
 
+    @Qualifier("fastApiUploadRestTemplate")
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
-
-    @Value("${fastapi.base-url:http://localhost:8000}")
-    private String fastApiUrl;
+    private final ChunkUploadLedgerService chunkUploadLedgerService;
+    private final FastApiCircuitBreakers fastApiCircuitBreakers;
+    private final FastApiEndpointPool fastApiEndpointPool;
+    private final ChunkSizePolicy chunkSizePolicy;
+    private final MemoryPressureGate memoryPressureGate;
+    private final AnalysisProgressTracker analysisProgressTracker;
+    private final AnalysisCancellationService analysisCancellationService;
+    @Qualifier("chunkUploadExecutor")
+    private final Executor chunkUploadExecutor;
+
+    // 동시에 전송 중일 수 있는 최대 청크 수 (1이면 순차 전송)
+    @Value("${fastapi.upload.pipeline-window:1}")
+    private int pipelineWindow;
+
+    // 업로드 실패 시 원장 기준으로 이어서 전송을 시도하는 최대 횟수
+    @Value("${fastapi.upload.resume-attempts:3}")
+    private int resumeAttempts;
 
     /**
      * 비디오 파일을 청크로 분할하고 FastAPI로 업로드
@@ -59,339 +84,434 @@ public class VideoChunkService {
      * @return FastAPI job_id
      */
     public String uploadVideoInChunks(File videoFile, Map<String, Object> metadata, Map<String, String> videoPathMap) {
-        log.debug("DEBUG: VideoChunkService.uploadVideoInChunks() 메서드 진입");
+        return uploadVideoInChunks(null, videoFile, metadata, videoPathMap);
+    }
+
+    /**
+     * 비디오 파일을 청크로 분할하고 FastAPI로 업로드 (재개 가능)
+     * jobId가 주어지면 FastAPI가 ack한 청크를 원장(video_upload_chunk)에 기록하고,
+     * 실패 후 재시도하거나 서버 재시작 후 다시 호출될 때 첫 번째 누락 청크부터 이어서 전송
+     *
+     * @param jobId 분석 작업 ID (null이면 원장 없이 처음부터 전송)
+     * @param videoFile 업로드할 비디오 파일
+     * @param metadata FastAPI에 전송할 메타데이터 (target_time 등)
+     * @param videoPathMap video_path를 저장할 Map (null 가능)
+     * @return FastAPI job_id
+     */
+    public String uploadVideoInChunks(UUID jobId, File videoFile, Map<String, Object> metadata, Map<String, String> videoPathMap) {
         log.info("📦 청크 업로드 시작: {} ({}MB)",
             videoFile.getName(),
             videoFile.length() / (1024 * 1024));
-        log.debug("DEBUG: fastApiUrl: {}", fastApiUrl);
-        log.debug("DEBUG: metadata: {}", metadata);
-
-        List<File> chunks = new ArrayList<>();
+        log.debug("metadata: {}", metadata);
 
         try {
-            // 1. 파일을 청크로 분할
-            chunks = splitIntoChunks(videoFile);
-            log.info("✂️ 파일 분할 완료: {} → {}개 청크", videoFile.getName(), chunks.size());
+            // 1. 파일을 청크 구간으로 분할 (실제 복사 없이 offset/length만 계산)
+            List<FileRegionResource> chunks = planChunks(videoFile, resolveChunkSize(jobId, videoFile.length()));
+            log.info("✂️ 청크 구간 계산 완료: {} → {}개 청크", videoFile.getName(), chunks.size());
 
-            // 2. 청크를 FastAPI로 업로드
+            // 2. 청크를 FastAPI로 업로드 (원본 파일 구간을 그대로 스트리밍)
             String originalFilename = extractFilenameWithoutExtension(videoFile.getName());
-            String fastApiJobId = uploadChunks(chunks, originalFilename, metadata, videoPathMap);
+            String metadataJson = objectMapper.writeValueAsString(metadata);
 
-            log.info("청크 업로드 완료: job_id={}", fastApiJobId);
-
-            return fastApiJobId;
+            int attempt = 0;
+            while (true) {
+                try {
+                    String fastApiJobId = uploadChunks(jobId, chunks, originalFilename, metadataJson, videoPathMap);
+                    log.info("청크 업로드 완료: job_id={}", fastApiJobId);
+                    return fastApiJobId;
+                } catch (RuntimeException e) {
+                    attempt++;
+                    // 서킷이 열려 있으면 기다려도 소용없으므로 즉시 실패 (작업 큐가 retry-delay 후 재시도)
+                    // 취소된 작업은 이어서 보내지 않음
+                    if (jobId == null || attempt > resumeAttempts || FastApiCircuitBreakers.isOpen(e)
+                        || analysisCancellationService.isCancelled(jobId)) {
+                        throw e;
+                    }
+                    log.warn("청크 업로드 실패, 원장 기준으로 이어서 전송 예정 (재개 {}/{}): {}",
+                        attempt, resumeAttempts, e.getMessage());
+                    Thread.sleep(MAX_RETRY_DELAY_MILLIS);
+                }
+            }
 
-        } catch (IOException e) {
-            log.error("파일 분할 실패: {}", videoFile.getName(), e);
-            throw new RuntimeException("비디오 파일 분할 중 오류 발생: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            // 취소/종료로 인한 인터럽트는 호출자(작업 큐)가 알 수 있도록 플래그를 복원하고 중단
+            Thread.currentThread().interrupt();
+            log.warn("청크 업로드 재개 대기 중 인터럽트되어 중단: {}", videoFile.getName());
+            throw new RuntimeException("청크 업로드 재개 대기 중 인터럽트 발생", e);
         } catch (Exception e) {
             log.error("청크 업로드 실패: {}", videoFile.getName(), e);
             throw new RuntimeException("청크 업로드 중 오류 발생: " + e.getMessage(), e);
-        } finally {
-            // 예외 발생 시에도 모든 청크 파일 정리 (업로드 중 삭제되지 않은 청크들)
-            for (File chunk : chunks) {
-                try {
-                    if (chunk != null && chunk.exists()) {
-                        boolean deleted = chunk.delete();
-                        if (deleted) {
-                            log.debug("🗑️ 예외 처리 중 청크 파일 삭제 완료: {}", chunk.getName());
-                        } else {
-                            log.warn("⚠️ 예외 처리 중 청크 파일 삭제 실패: {}", chunk.getName());
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("⚠️ 예외 처리 중 청크 파일 삭제 중 오류 발생: {} - {}", 
-                        chunk != null ? chunk.getName() : "null", e.getMessage());
+        }
+    }
+
+    /**
+     * 청크 크기 결정
+     * 원장에 이어 보낼 청크가 있으면 같은 구간으로 나눠야 하므로 이전 업로드의 크기를 그대로 사용
+     */
+    private long resolveChunkSize(UUID jobId, long fileSize) {
+        if (jobId != null) {
+            for (VideoUploadChunk entry : chunkUploadLedgerService.findAcknowledged(jobId).values()) {
+                long previous = entry.getChunkIndex() > 0
+                    ? entry.getChunkOffset() / entry.getChunkIndex()
+                    : entry.getChunkLength();
+                if (previous > 0) {
+                    log.info("원장의 청크 크기로 이어서 전송: {}MB", previous / (1024 * 1024));
+                    return previous;
                 }
             }
         }
+        return chunkSizePolicy.chooseChunkSize(fileSize);
     }
 
     /**
-     * 비디오 파일을 50MB 청크로 분할
-     * 메모리 효율을 위해 스트림 방식으로 읽기
+     * 비디오 파일을 chunkSize 구간으로 분할
+     * 임시 청크 파일이나 힙 버퍼를 만들지 않고 원본 파일의 구간 정보만 생성
      */
-    private List<File> splitIntoChunks(File videoFile) throws IOException {
-        List<File> chunks = new ArrayList<>();
-
+    private List<FileRegionResource> planChunks(File videoFile, long chunkSize) {
         long fileSize = videoFile.length();
-        int totalChunks = (int) Math.ceil((double) fileSize / CHUNK_SIZE);
+        int totalChunks = (int) Math.max(1, Math.ceil((double) fileSize / chunkSize));
 
         log.info("📊 파일 크기: {}MB, 예상 청크 수: {}", fileSize / (1024 * 1024), totalChunks);
-        
-        // 메모리 사용량 확인
-        Runtime runtime = Runtime.getRuntime();
-        long totalMemory = runtime.totalMemory();
-        long freeMemory = runtime.freeMemory();
-        long usedMemory = totalMemory - freeMemory;
-        log.info("💾 파일 분할 시작 전 메모리 - 사용: {}MB / 전체: {}MB / 사용 가능: {}MB", 
-            usedMemory / (1024 * 1024), totalMemory / (1024 * 1024), freeMemory / (1024 * 1024));
-
-        // 원본 파일 확장자 추출
+
+        // 원본 파일 확장자 유지 (FastAPI가 확장자로 컨테이너 형식을 판단)
+        String baseName = extractFilenameWithoutExtension(videoFile.getName());
         String fileExtension = getFileExtension(videoFile.getName());
 
-        try (FileInputStream fis = new FileInputStream(videoFile);
-             BufferedInputStream bis = new BufferedInputStream(fis)) {
+        List<FileRegionResource> chunks = new ArrayList<>(totalChunks);
+        for (int chunkIndex = 0; chunkIndex < totalChunks; chunkIndex++) {
+            long offset = chunkIndex * chunkSize;
+            long length = Math.min(chunkSize, fileSize - offset);
+            String chunkFileName = String.format("%s_chunk_%d%s", baseName, chunkIndex, fileExtension);
+            chunks.add(new FileRegionResource(videoFile, offset, length, chunkFileName));
+            log.debug("청크 구간: {} (offset={}, {}MB)", chunkFileName, offset, length / (1024 * 1024));
+        }
 
-            byte[] buffer = new byte[(int) CHUNK_SIZE];
-            int chunkIndex = 0;
+        return chunks;
+    }
 
-            while (true) {
-                // CHUNK_SIZE만큼 읽기 (마지막 청크는 작을 수 있음)
-                int bytesRead = 0;
-                int totalBytesRead = 0;
-
-                // 정확히 CHUNK_SIZE 또는 파일 끝까지 읽기
-                while (totalBytesRead < CHUNK_SIZE) {
-                    bytesRead = bis.read(buffer, totalBytesRead, (int)(CHUNK_SIZE - totalBytesRead));
-                    if (bytesRead == -1) {
-                        break; // 파일 끝
-                    }
-                    totalBytesRead += bytesRead;
-                }
+    /**
+     * 청크를 FastAPI /analysis 엔드포인트로 업로드
+     * pipeline-window가 1이면 순차 전송, 2 이상이면 파이프라인 전송
+     */
+    private String uploadChunks(UUID jobId, List<FileRegionResource> chunks, String originalFilename, String metadataJson,
+                                Map<String, String> videoPathMap) throws InterruptedException {
 
-                if (totalBytesRead == 0) {
-                    break; // 더 이상 읽을 데이터 없음
-                }
+        int totalChunks = chunks.size();
+        long uploadStartTime = System.currentTimeMillis();
+
+        // 청크별 응답(ack)을 chunk_index 위치에 보관하여 전송 순서와 무관하게 순서대로 재조립
+        // 원장에서 복원한 청크는 미리 채워두고 전송하지 않음
+        AtomicReferenceArray<Map<String, Object>> acks = resumeFromLedger(jobId, chunks);
+        String resumeFastApiJobId = resolveResumeJobId(acks);
+
+        // 이어서 보내는 청크는 기존 업로드 세션을 가진 인스턴스로만 전송
+        String endpoint = resumeFastApiJobId != null ? resumeEndpoint(jobId) : null;
+        if (resumeFastApiJobId != null && endpoint == null) {
+            log.warn("업로드 세션을 가진 FastAPI 인스턴스를 사용할 수 없어 처음부터 다시 전송: jobId={}", jobId);
+            chunkUploadLedgerService.clear(jobId);
+            acks = new AtomicReferenceArray<>(totalChunks);
+            resumeFastApiJobId = null;
+        }
+        if (endpoint == null) {
+            endpoint = fastApiEndpointPool.select();
+            if (jobId != null) {
+                chunkUploadLedgerService.assignEndpoint(jobId, endpoint);
+            }
+        }
+        log.info("청크 업로드 대상 FastAPI 인스턴스: {}", endpoint);
 
-                // 임시 청크 파일 생성 (원본 확장자 유지)
-                Path tempDir = Paths.get(System.getProperty("java.io.tmpdir"));
-                String chunkFileName = String.format("%s_chunk_%d%s",
-                    extractFilenameWithoutExtension(videoFile.getName()),
-                    chunkIndex,
-                    fileExtension);
-                Path chunkPath = tempDir.resolve(chunkFileName);
-
-                // 청크 데이터를 임시 파일에 쓰기
-                try (FileOutputStream fos = new FileOutputStream(chunkPath.toFile())) {
-                    fos.write(buffer, 0, totalBytesRead);
-                }
+        UploadSession session = new UploadSession(jobId, originalFilename, metadataJson, totalChunks,
+            resumeFastApiJobId, endpoint, new AtomicLong());
 
-                File chunkFile = chunkPath.toFile();
-                chunks.add(chunkFile);
+        long totalBytes = 0;
+        long resumedBytes = 0;
+        int resumedChunks = 0;
+        for (int i = 0; i < totalChunks; i++) {
+            totalBytes += chunks.get(i).getLength();
+            if (acks.get(i) != null) {
+                resumedBytes += chunks.get(i).getLength();
+                resumedChunks++;
+            }
+        }
+        analysisProgressTracker.uploadStarted(jobId, totalBytes, totalChunks, resumedBytes, resumedChunks);
+
+        if (pipelineWindow > 1 && totalChunks > 2) {
+            log.info("📦 청크 파이프라인 업로드 시작: 총 {}개 청크 (동시 전송 {}개)", totalChunks, pipelineWindow);
+            uploadChunksPipelined(chunks, acks, session);
+        } else {
+            log.info("📦 청크 순차 업로드 시작: 총 {}개 청크", totalChunks);
+            uploadChunksSequentially(chunks, acks, session);
+        }
 
-                log.debug("청크 생성: {} ({}MB)", chunkFileName, totalBytesRead / (1024 * 1024));
+        long elapsedMillis = Math.max(1, System.currentTimeMillis() - uploadStartTime);
+        long sentBytes = session.sentBytes().get();
+        double throughputMbps = (sentBytes / (1024.0 * 1024.0)) / (elapsedMillis / 1000.0);
+        log.info("📦 전체 청크 전송 완료: {}MB / {}초 ({} MB/s, 청크 {}MB)",
+            sentBytes / (1024 * 1024),
+            elapsedMillis / 1000.0,
+            String.format("%.2f", throughputMbps),
+            chunks.get(0).getLength() / (1024 * 1024));
+        if (jobId != null) {
+            try {
+                chunkUploadLedgerService.recordUploadStats(jobId, chunks.get(0).getLength(), throughputMbps);
+            } catch (Exception e) {
+                log.warn("업로드 통계 기록 실패: jobId={} - {}", jobId, e.getMessage());
+            }
+        }
 
-                chunkIndex++;
+        List<Map<String, Object>> ordered = new ArrayList<>(totalChunks);
+        for (int i = 0; i < totalChunks; i++) {
+            ordered.add(acks.get(i));
+        }
+        return resolveUploadResult(ordered, videoPathMap);
+    }
 
-                if (bytesRead == -1) {
-                    break; // 파일 끝 도달
+    /**
+     * 원장에 기록된 ack 중 현재 파일 구간과 CRC32C가 일치하는 청크를 복원
+     * 하나라도 어긋나면 (파일 교체, 청크 크기 변경 등) 원장을 비우고 처음부터 전송
+     * 건너뛸 청크는 항상 구간을 다시 읽어 CRC32C를 비교 (수정 시각은 내용 변경을 보장하지 않으므로 사용하지 않음)
+     */
+    private AtomicReferenceArray<Map<String, Object>> resumeFromLedger(UUID jobId, List<FileRegionResource> chunks) {
+        AtomicReferenceArray<Map<String, Object>> acks = new AtomicReferenceArray<>(chunks.size());
+        if (jobId == null) {
+            return acks;
+        }
+
+        Map<Integer, VideoUploadChunk> acknowledged = chunkUploadLedgerService.findAcknowledged(jobId);
+        if (acknowledged.isEmpty()) {
+            return acks;
+        }
+
+        try {
+            for (VideoUploadChunk entry : acknowledged.values()) {
+                int index = entry.getChunkIndex();
+                if (index < 0 || index >= chunks.size()) {
+                    throw new IllegalStateException("원장의 청크 인덱스가 범위를 벗어남: " + index);
                 }
+                FileRegionResource chunk = chunks.get(index);
+                if (!entry.matches(chunk.getOffset(), chunk.getLength(), chunk.crc32c())) {
+                    throw new IllegalStateException("원장의 청크 " + index + " 체크섬 불일치");
+                }
+                Map<String, Object> ack = new HashMap<>();
+                ack.put("job_id", entry.getFastApiJobId());
+                if (entry.getVideoPath() != null) {
+                    ack.put("video_path", entry.getVideoPath());
+                }
+                ack.put("resumed", true);
+                acks.set(index, ack);
             }
+        } catch (IOException | IllegalStateException e) {
+            log.warn("청크 원장 검증 실패, 처음부터 다시 전송: jobId={} - {}", jobId, e.getMessage());
+            chunkUploadLedgerService.clear(jobId);
+            return new AtomicReferenceArray<>(chunks.size());
         }
 
-        return chunks;
+        log.info("♻️ 청크 원장에서 {}/{}개 청크 복원: jobId={}", acknowledged.size(), chunks.size(), jobId);
+        return acks;
     }
 
     /**
-     * 청크를 FastAPI /analysis 엔드포인트로 순차 업로드
+     * 재개할 업로드 세션을 가진 인스턴스 (제외되었거나 설정에서 빠졌으면 null)
+     * 인스턴스 기록이 없는 세션은 풀 도입 이전에 기본 인스턴스로 시작된 것으로 간주
      */
-    private String uploadChunks(List<File> chunks, String originalFilename, Map<String, Object> metadata)
-            throws Exception {
-        return uploadChunks(chunks, originalFilename, metadata, null);
+    private String resumeEndpoint(UUID jobId) {
+        String recorded = chunkUploadLedgerService.findEndpoint(jobId);
+        String endpoint = recorded != null ? recorded : fastApiEndpointPool.defaultEndpoint();
+        return fastApiEndpointPool.isAvailable(endpoint) ? endpoint : null;
     }
 
     /**
-     * 청크를 FastAPI /analysis 엔드포인트로 순차 업로드 (video_path 반환용)
+     * 복원된 ack에서 FastAPI job_id 추출 (재개 시 FastAPI가 기존 업로드 세션에 이어 붙이도록 전달)
      */
-    private String uploadChunks(List<File> chunks, String originalFilename, Map<String, Object> metadata, Map<String, String> videoPathMap)
-            throws Exception {
+    private String resolveResumeJobId(AtomicReferenceArray<Map<String, Object>> acks) {
+        for (int i = acks.length() - 1; i >= 0; i--) {
+            Map<String, Object> ack = acks.get(i);
+            if (ack != null && ack.get("job_id") instanceof String jobId && !jobId.isEmpty()) {
+                return jobId;
+            }
+        }
+        return null;
+    }
 
+    /**
+     * 청크를 한 개씩 순차 업로드 (기존 방식)
+     */
+    private void uploadChunksSequentially(List<FileRegionResource> chunks, AtomicReferenceArray<Map<String, Object>> acks,
+                                          UploadSession session) {
         int totalChunks = chunks.size();
-        String fastApiJobId = null;
-        
-        log.info("📦 청크 업로드 시작: 총 {}개 청크", totalChunks);
-        
-        // 메모리 사용량 확인
-        Runtime runtime = Runtime.getRuntime();
-        long totalMemory = runtime.totalMemory();
-        long freeMemory = runtime.freeMemory();
-        long usedMemory = totalMemory - freeMemory;
-        log.info("💾 청크 업로드 시작 전 메모리 상태 - 사용: {}MB / 전체: {}MB / 사용 가능: {}MB", 
-            usedMemory / (1024 * 1024), totalMemory / (1024 * 1024), freeMemory / (1024 * 1024));
-
-        // 메모리 모니터링을 위한 변수 (for 루프 내에서 재사용)
-        long maxMemory;
-        double memoryUsagePercent;
-        
+
         for (int i = 0; i < totalChunks; i++) {
-            File chunk = chunks.get(i);
-
-            log.info("🔄 청크 업로드 중: {}/{} ({}MB)",
-                i + 1,
-                totalChunks,
-                chunk.length() / (1024 * 1024));
-            
-            // 각 청크 업로드 전 메모리 확인
-            runtime = Runtime.getRuntime();
-            totalMemory = runtime.totalMemory();
-            freeMemory = runtime.freeMemory();
-            usedMemory = totalMemory - freeMemory;
-            maxMemory = runtime.maxMemory();
-            memoryUsagePercent = (double) usedMemory / maxMemory * 100;
-            
-            log.info("💾 청크 {}/{} 업로드 전 메모리 - 사용: {}MB / 사용 가능: {}MB / 최대: {}MB (사용률: {}%)", 
-                i + 1, totalChunks, usedMemory / (1024 * 1024), freeMemory / (1024 * 1024), 
-                maxMemory / (1024 * 1024), String.format("%.1f", memoryUsagePercent));
-            
-            // 업로드 전에 메모리가 부족하면 GC 힌트 제공
-            if (memoryUsagePercent > 65.0 || freeMemory < (100 * 1024 * 1024)) { // 65% 이상 또는 100MB 이하
-                log.warn("⚠️ 청크 업로드 전 메모리 부족 감지 (사용률: {}%, 사용 가능: {}MB). GC 힌트를 제공합니다.", 
-                    String.format("%.1f", memoryUsagePercent), freeMemory / (1024 * 1024));
-                System.gc();
-                try {
-                    Thread.sleep(150); // GC 실행 시간 확보
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                // GC 후 메모리 재확인
-                runtime = Runtime.getRuntime();
-                freeMemory = runtime.freeMemory();
-                usedMemory = runtime.totalMemory() - freeMemory;
-                log.info("💾 GC 힌트 후 메모리 - 사용: {}MB / 사용 가능: {}MB", 
-                    usedMemory / (1024 * 1024), freeMemory / (1024 * 1024));
+            if (acks.get(i) != null) {
+                continue; // 원장에서 복원된 청크
             }
 
-            // 멀티파트 요청 구성
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+            acks.set(i, sendChunk(chunks.get(i), i, session));
+        }
+    }
 
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("video", new FileSystemResource(chunk));
-            body.add("metadata", objectMapper.writeValueAsString(metadata));
-            body.add("chunk_index", i);
-            body.add("total_chunks", totalChunks);
-            body.add("original_filename", originalFilename);
+    /**
+     * 청크를 파이프라인 방식으로 업로드
+     *
+     * 1. 첫 청크는 단독 전송 (FastAPI 업로드 세션 생성)
+     * 2. 중간 청크는 첫 청크 ack의 job_id와 함께 최대 pipeline-window 개까지 동시에 전송
+     * 3. 마지막 청크는 나머지 청크의 ack를 모두 받은 뒤 전송 (FastAPI가 병합 후 save_path 반환)
+     * 원장에서 복원된 청크는 건너뜀
+     */
+    private void uploadChunksPipelined(List<FileRegionResource> chunks, AtomicReferenceArray<Map<String, Object>> acks,
+                                       UploadSession session) throws InterruptedException {
+        int totalChunks = chunks.size();
+        int lastIndex = totalChunks - 1;
 
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+        if (acks.get(0) == null) {
+            acks.set(0, sendChunk(chunks.get(0), 0, session));
+        }
+        // 중간 청크가 동시에 도착해도 첫 청크가 연 업로드 세션에 붙도록 첫 ack의 job_id를 함께 전송
+        if (acks.get(0).get("job_id") instanceof String id && !id.isEmpty()) {
+            session = session.withFastApiJobId(id);
+        }
+        UploadSession pipelineSession = session;
 
-            // FastAPI 호출
-            ResponseEntity<Map<String, Object>> response = sendChunkWithRetry(requestEntity, i, totalChunks);
+        Semaphore window = new Semaphore(pipelineWindow);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(totalChunks);
 
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                throw new RuntimeException(
-                    String.format("청크 업로드 실패: %d/%d - HTTP %s",
-                        i + 1, totalChunks, response.getStatusCode()));
+        for (int i = 1; i < lastIndex; i++) {
+            if (acks.get(i) != null) {
+                continue; // 원장에서 복원된 청크
             }
-
-            // 응답 본문에서 필요한 정보만 추출 후 즉시 해제
-            Map<String, Object> responseBody = response.getBody();
-            
-            // 응답 본문 로깅
-            log.info("청크 {}/{} 응답: {}", i + 1, totalChunks, responseBody);
-
-            // job_id 받기 (첫 번째 청크 또는 마지막 청크에서 올 수 있음)
-            String receivedJobId = null;
-            if (responseBody.containsKey("job_id")) {
-                receivedJobId = (String) responseBody.get("job_id");
-                if (receivedJobId != null && !receivedJobId.isEmpty()) {
-                    fastApiJobId = receivedJobId;
-                    log.info("FastAPI job_id 할당: {}", fastApiJobId);
-                }
+            window.acquire();
+            if (failure.get() != null) {
+                window.release();
+                break; // 앞선 청크가 실패했으면 새 청크를 보내지 않음
             }
-            
-            // 마지막 청크에서 save_path 또는 video_path를 받을 수 있음
-            String videoPath = null;
-            if (i == totalChunks - 1) {
-                // save_path 우선 확인 (FastAPI가 실제로 반환하는 필드)
-                if (responseBody.containsKey("save_path")) {
-                    String savePath = (String) responseBody.get("save_path");
-                    if (savePath != null && !savePath.isEmpty()) {
-                        // 절대 경로를 상대 경로로 변환
-                        videoPath = convertToRelativePath(savePath);
-                        log.info("📹 FastAPI에서 save_path 수신: {} → {}", savePath, videoPath);
-                    }
-                }
-                // video_path가 있으면 사용 (fallback)
-                else if (responseBody.containsKey("video_path")) {
-                    videoPath = (String) responseBody.get("video_path");
-                    if (videoPath != null && !videoPath.isEmpty()) {
-                        log.info("📹 FastAPI에서 video_path 수신: {}", videoPath);
-                    }
-                }
-                
-                // video_path를 Map에 저장 (상위로 전달)
-                if (videoPath != null && !videoPath.isEmpty() && videoPathMap != null) {
-                    videoPathMap.put("video_path", videoPath);
+
+            final int chunkIndex = i;
+            CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+                try {
+                    acks.set(chunkIndex, sendChunk(chunks.get(chunkIndex), chunkIndex, pipelineSession));
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                    throw e;
+                } finally {
+                    window.release();
                 }
+            }, chunkUploadExecutor);
+            inFlight.add(future);
+        }
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = failure.get() != null ? failure.get() : e.getCause();
+            throw new RuntimeException("청크 파이프라인 업로드 실패: " + cause.getMessage(), cause);
+        }
+
+        if (acks.get(lastIndex) == null) {
+            acks.set(lastIndex, sendChunk(chunks.get(lastIndex), lastIndex, pipelineSession));
+        }
+    }
+
+    /**
+     * 단일 청크 전송 후 응답 본문(ack) 반환
+     * 작업 ID가 있으면 ack를 전송 중 계산한 CRC32C와 함께 원장에 기록
+     */
+    private Map<String, Object> sendChunk(FileRegionResource chunk, int chunkIndex, UploadSession session) {
+        int totalChunks = session.totalChunks();
+        // 취소된 작업이면 남은 청크를 보내지 않음
+        analysisCancellationService.throwIfCancelled(session.jobId());
+        log.info("🔄 청크 업로드 중: {}/{} ({}MB)",
+            chunkIndex + 1,
+            totalChunks,
+            chunk.contentLength() / (1024 * 1024));
+
+        // 멀티파트 요청 구성
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("video", chunk);
+        body.add("metadata", session.metadataJson());
+        body.add("chunk_index", chunkIndex);
+        body.add("total_chunks", totalChunks);
+        body.add("original_filename", session.originalFilename());
+        if (session.fastApiJobId() != null) {
+            body.add("job_id", session.fastApiJobId());
+        }
+
+        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+
+        // FastAPI 호출 - 메모리 여유가 부족하면 전송 시작을 잠시 미룸
+        ResponseEntity<Map<String, Object>> response;
+        try (MemoryPressureGate.Permit ignored = memoryPressureGate.acquire()) {
+            analysisCancellationService.throwIfCancelled(session.jobId());
+            response = sendChunkWithRetry(requestEntity, session.endpoint(), chunk.getLength(), chunkIndex, totalChunks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("청크 전송 대기 중 인터럽트 발생: " + (chunkIndex + 1) + "/" + totalChunks, e);
+        }
+
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new RuntimeException(
+                String.format("청크 업로드 실패: %d/%d - HTTP %s",
+                    chunkIndex + 1, totalChunks, response.getStatusCode()));
+        }
+
+        Map<String, Object> ack = response.getBody();
+        log.info("청크 {}/{} ack: job_id={}, status={}", chunkIndex + 1, totalChunks, ack.get("job_id"), ack.get("status"));
+        log.debug("청크 {}/{} 응답: {}", chunkIndex + 1, totalChunks, ack);
+        session.sentBytes().addAndGet(chunk.getLength());
+        analysisProgressTracker.chunkSent(session.jobId(), chunk.getLength());
+
+        if (session.jobId() != null) {
+            recordAck(session, chunk, chunkIndex, ack);
+        }
+        return ack;
+    }
+
+    /**
+     * 청크 ack를 원장에 기록 (실패해도 업로드는 계속 진행, 재개 시 해당 청크만 다시 전송됨)
+     * CRC32C는 본문이 read()로 읽히며 계산된 값이 있으면 사용하고, transferTo로 전송된 경우에는 구간을 따로 읽어 계산
+     */
+    private void recordAck(UploadSession session, FileRegionResource chunk, int chunkIndex, Map<String, Object> ack) {
+        String fastApiJobId = ack.get("job_id") instanceof String id && !id.isEmpty()
+            ? id
+            : session.fastApiJobId();
+        try {
+            Long streamed = chunk.streamedCrc32c();
+            long checksum = streamed != null ? streamed : chunk.crc32c();
+            chunkUploadLedgerService.recordAck(session.jobId(), chunkIndex, chunk.getOffset(), chunk.getLength(),
+                checksum, fastApiJobId, extractVideoPath(ack));
+        } catch (Exception e) {
+            log.warn("청크 원장 기록 실패: jobId={}, chunk={} - {}", session.jobId(), chunkIndex, e.getMessage());
+        }
+    }
+
+    /**
+     * chunk_index 순서대로 정렬된 ack에서 job_id와 video_path 추출
+     * job_id는 첫 번째 청크 또는 마지막 청크에서 올 수 있으며, 뒤쪽 청크의 값이 우선
+     */
+    private String resolveUploadResult(List<Map<String, Object>> acks, Map<String, String> videoPathMap) {
+        String fastApiJobId = null;
+
+        for (Map<String, Object> ack : acks) {
+            if (ack == null) {
+                continue;
             }
-            
-            log.info("✅ 청크 {}/{} 업로드 완료", i + 1, totalChunks);
-            
-            // 응답 본문 및 객체 즉시 해제 (메모리 누수 방지)
-            // 필요한 정보는 이미 추출했으므로 즉시 해제
-            responseBody = null;
-            response = null;
-            
-            // requestEntity, body, headers 참조 해제 (업로드 완료 후 즉시)
-            requestEntity = null;
-            body = null;
-            headers = null;
-            
-            // 청크 파일 삭제 (업로드 완료 후 즉시 삭제하여 디스크 공간 확보)
-            try {
-                if (chunk.exists()) {
-                    // 삭제 전에 파일 크기 기록
-                    long chunkSize = chunk.length();
-                    boolean deleted = chunk.delete();
-                    if (deleted) {
-                        log.info("🗑️ 청크 파일 삭제 완료: {} ({}MB)", chunk.getName(), chunkSize / (1024 * 1024));
-                    } else {
-                        log.warn("⚠️ 청크 파일 삭제 실패: {} ({}MB)", chunk.getName(), chunkSize / (1024 * 1024));
-                    }
-                } else {
-                    log.debug("청크 파일이 이미 삭제됨: {}", chunk.getName());
-                }
-            } catch (Exception e) {
-                log.warn("⚠️ 청크 파일 삭제 중 오류 발생: {} - {}", chunk.getName(), e.getMessage());
+            Object receivedJobId = ack.get("job_id");
+            if (receivedJobId instanceof String jobId && !jobId.isEmpty()) {
+                fastApiJobId = jobId;
             }
-            
-            // 청크 파일 참조도 해제
-            chunk = null;
-            
-            // 청크 삭제 후 메모리 확인
-            runtime = Runtime.getRuntime();
-            totalMemory = runtime.totalMemory();
-            freeMemory = runtime.freeMemory();
-            usedMemory = totalMemory - freeMemory;
-            maxMemory = runtime.maxMemory();
-            memoryUsagePercent = (double) usedMemory / maxMemory * 100;
-            
-            log.info("💾 청크 {}/{} 삭제 후 메모리 - 사용: {}MB / 사용 가능: {}MB / 최대: {}MB (사용률: {}%)", 
-                i + 1, totalChunks, usedMemory / (1024 * 1024), freeMemory / (1024 * 1024), 
-                maxMemory / (1024 * 1024), String.format("%.1f", memoryUsagePercent));
-            
-            // 메모리 사용률이 70% 이상이거나 사용 가능한 메모리가 50MB 이하이면 GC 힌트 제공
-            boolean shouldTriggerGC = memoryUsagePercent > 70.0 || freeMemory < (50 * 1024 * 1024);
-            if (shouldTriggerGC) {
-                log.warn("⚠️ 메모리 사용률이 높습니다 ({}%) 또는 사용 가능 메모리가 부족합니다 ({}MB). GC 힌트를 제공합니다.", 
-                    String.format("%.1f", memoryUsagePercent), freeMemory / (1024 * 1024));
-                
-                // GC 힌트 제공 (실제 GC는 JVM이 결정)
-                System.gc();
-                
-                // GC 후 메모리 재확인 (짧은 대기 후)
-                try {
-                    Thread.sleep(200); // GC 실행 시간 확보 (100ms -> 200ms로 증가)
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.warn("GC 대기 중 인터럽트 발생");
-                }
-                
-                runtime = Runtime.getRuntime();
-                totalMemory = runtime.totalMemory();
-                freeMemory = runtime.freeMemory();
-                usedMemory = totalMemory - freeMemory;
-                memoryUsagePercent = (double) usedMemory / maxMemory * 100;
-                log.info("💾 GC 힌트 후 메모리 - 사용: {}MB / 사용 가능: {}MB / 최대: {}MB (사용률: {}%)", 
-                    usedMemory / (1024 * 1024), freeMemory / (1024 * 1024), 
-                    maxMemory / (1024 * 1024), String.format("%.1f", memoryUsagePercent));
-                
-                // GC 후에도 메모리가 여전히 부족하면 경고
-                if (freeMemory < (30 * 1024 * 1024)) { // 30MB 이하
-                    log.error("❌ GC 후에도 메모리가 부족합니다 (사용 가능: {}MB). 다음 청크 업로드가 실패할 수 있습니다.", 
-                        freeMemory / (1024 * 1024));
-                }
+        }
+        log.info("FastAPI job_id 할당: {}", fastApiJobId);
+
+        // 마지막 청크에서 save_path 또는 video_path를 받을 수 있음 (원장에서 복원된 마지막 청크는 기록해 둔 video_path)
+        Map<String, Object> lastAck = acks.isEmpty() ? null : acks.get(acks.size() - 1);
+        String videoPath = lastAck != null ? extractVideoPath(lastAck) : null;
+        if (videoPath != null) {
+            log.info("📹 FastAPI 영상 경로 수신: {}{}", videoPath, Boolean.TRUE.equals(lastAck.get("resumed")) ? " (원장)" : "");
+            // video_path를 Map에 저장 (상위로 전달)
+            if (videoPathMap != null) {
+                videoPathMap.put("video_path", videoPath);
             }
         }
 
@@ -403,9 +523,25 @@ public class VideoChunkService {
         return fastApiJobId;
     }
 
+    /**
+     * 청크 응답에서 영상 경로 추출 (없으면 null)
+     * save_path(FastAPI가 실제로 반환하는 절대 경로)를 상대 경로로 바꿔 우선 사용하고, 없으면 video_path
+     */
+    private String extractVideoPath(Map<String, Object> ack) {
+        if (ack.get("save_path") instanceof String savePath && !savePath.isEmpty()) {
+            return convertToRelativePath(savePath);
+        }
+        if (ack.get("video_path") instanceof String videoPath && !videoPath.isEmpty()) {
+            return videoPath;
+        }
+        return null;
+    }
+
     @SuppressWarnings("unchecked")
     private ResponseEntity<Map<String, Object>> sendChunkWithRetry(
         HttpEntity<MultiValueMap<String, Object>> requestEntity,
+        String endpoint,
+        long chunkBytes,
         int chunkIndex,
         int totalChunks
     ) {
@@ -417,47 +553,20 @@ public class VideoChunkService {
                 log.info("🔄 청크 {}/{} 업로드 시도 중 (시도 {}/{})", chunkIndex + 1, totalChunks, attempt + 1, MAX_RETRY_ATTEMPTS);
                 long uploadStartTime = System.currentTimeMillis();
                 
-                ResponseEntity<Map<String, Object>> response = (ResponseEntity<Map<String, Object>>) (ResponseEntity<?>) restTemplate.exchange(
-                    fastApiUrl + "/analysis",
-                    HttpMethod.POST,
-                    requestEntity,
-                    Map.class
-                );
+                ResponseEntity<Map<String, Object>> response = fastApiCircuitBreakers.upload(endpoint).executeSupplier(() ->
+                    fastApiEndpointPool.execute(endpoint, () ->
+                        (ResponseEntity<Map<String, Object>>) (ResponseEntity<?>) restTemplate.exchange(
+                            endpoint + "/analysis",
+                            HttpMethod.POST,
+                            requestEntity,
+                            Map.class
+                        )));
                 
                 long uploadEndTime = System.currentTimeMillis();
                 long uploadDuration = uploadEndTime - uploadStartTime;
                 log.info("✅ 청크 {}/{} 업로드 완료 (소요 시간: {}초)", chunkIndex + 1, totalChunks, uploadDuration / 1000.0);
-                
-                // 업로드 후 메모리 확인 및 필요시 GC 힌트
-                Runtime runtime = Runtime.getRuntime();
-                long totalMemory = runtime.totalMemory();
-                long freeMemory = runtime.freeMemory();
-                long usedMemory = totalMemory - freeMemory;
-                long maxMemory = runtime.maxMemory();
-                double memoryUsagePercent = (double) usedMemory / maxMemory * 100;
-                
-                log.info("💾 청크 {}/{} 업로드 후 메모리 - 사용: {}MB / 사용 가능: {}MB / 최대: {}MB (사용률: {}%)", 
-                    chunkIndex + 1, totalChunks, usedMemory / (1024 * 1024), freeMemory / (1024 * 1024),
-                    maxMemory / (1024 * 1024), String.format("%.1f", memoryUsagePercent));
-                
-                // 메모리 사용률이 높거나 사용 가능한 메모리가 부족하면 GC 힌트 제공
-                if (memoryUsagePercent > 75.0 || freeMemory < (80 * 1024 * 1024)) { // 75% 이상 또는 80MB 이하
-                    log.warn("⚠️ 업로드 후 메모리 부족 감지 (사용률: {}%, 사용 가능: {}MB). GC 힌트를 제공합니다.", 
-                        String.format("%.1f", memoryUsagePercent), freeMemory / (1024 * 1024));
-                    System.gc();
-                    try {
-                        Thread.sleep(100); // GC 실행 시간 확보
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                    // GC 후 메모리 재확인
-                    runtime = Runtime.getRuntime();
-                    freeMemory = runtime.freeMemory();
-                    usedMemory = runtime.totalMemory() - freeMemory;
-                    log.info("💾 GC 힌트 후 메모리 - 사용: {}MB / 사용 가능: {}MB", 
-                        usedMemory / (1024 * 1024), freeMemory / (1024 * 1024));
-                }
-                
+                chunkSizePolicy.recordTransfer(chunkBytes, uploadDuration);
+
                 return response;
             } catch (ResourceAccessException ex) {
                 attempt++;
@@ -498,30 +607,6 @@ public class VideoChunkService {
         throw new IllegalStateException("청크 업로드 재시도 로직에서 도달할 수 없는 위치입니다.");
     }
 
-    /**
-     * 임시 청크 파일 삭제
-     */
-    private void cleanupChunks(List<File> chunks) {
-        if (chunks == null || chunks.isEmpty()) {
-            return;
-        }
-
-        log.debug("🧹 임시 청크 파일 정리 시작: {}개", chunks.size());
-
-        int deletedCount = 0;
-        for (File chunk : chunks) {
-            try {
-                if (chunk.exists() && chunk.delete()) {
-                    deletedCount++;
-                }
-            } catch (Exception e) {
-                log.warn("청크 삭제 실패 (무시됨): {}", chunk.getName(), e);
-            }
-        }
-
-        log.debug("✓ 청크 파일 정리 완료: {}/{}개 삭제", deletedCount, chunks.size());
-    }
-
     /**
      * 파일명에서 확장자 제거
      * 예: "my_video.mp4" → "my_video"
@@ -594,4 +679,17 @@ public class VideoChunkService {
         return absolutePath;
     }
 
+    /**
+     * 한 번의 업로드 시도 동안 모든 청크가 공유하는 요청 정보
+     * 모든 청크는 같은 FastAPI 인스턴스(endpoint)로 전송, sentBytes는 이번 시도에서 실제 전송한 바이트 수
+     * fastApiJobId는 청크에 함께 보내는 FastAPI 업로드 세션 ID (재개 시 원장의 값, 파이프라인에서는 첫 청크 ack의 값)
+     */
+    private record UploadSession(UUID jobId, String originalFilename, String metadataJson, int totalChunks,
+                                 String fastApiJobId, String endpoint, AtomicLong sentBytes) {
+
+        private UploadSession withFastApiJobId(String id) {
+            return new UploadSession(jobId, originalFilename, metadataJson, totalChunks, id, endpoint, sentBytes);
+        }
+    }
+
 }
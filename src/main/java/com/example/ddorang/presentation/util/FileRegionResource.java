@@ -0,0 +1,208 @@
+package com.example.ddorang.presentation.util;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * 파일의 특정 구간(offset ~ offset + length)만 노출하는 Resource 구현체.
+ * 청크를 별도 파일로 복사하거나 byte[]로 읽어들이지 않고,
+ * 멀티파트 본문을 쓸 때 원본 파일에서 FileChannel.transferTo로 바로 전송합니다.
+ * read()로 끝까지 읽힌 경우에는 읽으면서 CRC32C를 함께 계산합니다 (streamedCrc32c).
+ * transferTo로 전송된 경우에는 본문을 힙으로 복사하지 않도록 체크섬을 따로 계산합니다 (crc32c).
+ */
+public class FileRegionResource extends AbstractResource {
+
+    private static final int CHECKSUM_BUFFER_SIZE = 256 * 1024;
+
+    private final File file;
+    private final long offset;
+    private final long length;
+    private final String filename;
+
+    // 마지막으로 구간 끝까지 읽힌 스트림의 CRC32C (아직 없으면 null)
+    private volatile Long streamedCrc32c;
+
+    public FileRegionResource(File file, long offset, long length, String filename) {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("offset/length는 음수일 수 없습니다: " + offset + "/" + length);
+        }
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        this.filename = filename;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public boolean exists() {
+        return file.exists();
+    }
+
+    @Override
+    public boolean isReadable() {
+        return file.canRead();
+    }
+
+    @Override
+    public long contentLength() {
+        return length;
+    }
+
+    @Override
+    public String getDescription() {
+        return "file region [" + file.getAbsolutePath() + ", offset=" + offset + ", length=" + length + "]";
+    }
+
+    /**
+     * 구간 데이터의 CRC32C 체크섬 계산 (재개 업로드 시 구간 일치 여부 검증용)
+     * 다이렉트 버퍼로 읽어 채널 읽기의 임시 버퍼 복사를 피함 (직전에 전송한 구간이면 페이지 캐시에서 읽힘)
+     */
+    public long crc32c() throws IOException {
+        CRC32C checksum = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHECKSUM_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                int n = channel.read(buffer, position);
+                if (n <= 0) {
+                    break;
+                }
+                buffer.flip();
+                checksum.update(buffer);
+                position += n;
+            }
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * 읽으면서 계산한 CRC32C (구간 전체가 read()로 한 번이라도 끝까지 읽혔을 때만, 아니면 null)
+     * 재시도로 여러 번 전송되어도 구간 내용이 같으므로 마지막 값을 사용
+     */
+    public Long streamedCrc32c() {
+        return streamedCrc32c;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        return new RegionInputStream(channel, offset, offset + length);
+    }
+
+    /**
+     * 구간 끝에서 멈추는 InputStream.
+     * 읽은 바이트로 CRC32C를 갱신하고, 구간 끝에 도달하면 streamedCrc32c로 기록합니다.
+     * transferTo(OutputStream)는 FileChannel.transferTo로 전송하며 체크섬은 갱신하지 않습니다 (streamedCrc32c는 null로 남음).
+     */
+    private final class RegionInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long end;
+        private final CRC32C checksum = new CRC32C();
+        private long position;
+        // skip으로 건너뛴 바이트가 있으면 체크섬이 구간 전체를 나타내지 않음
+        private boolean skipped;
+
+        private RegionInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+            if (start == end) {
+                streamedCrc32c = checksum.getValue();
+            }
+        }
+
+        private void advance(int n) {
+            position += n;
+            if (position >= end && !skipped) {
+                streamedCrc32c = checksum.getValue();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int n = read(single, 0, 1);
+            return n == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long remaining = end - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int toRead = (int) Math.min(len, remaining);
+            int n = channel.read(ByteBuffer.wrap(b, off, toRead), position);
+            if (n > 0) {
+                checksum.update(b, off, n);
+                advance(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            long count = Math.max(0, Math.min(n, end - position));
+            if (count > 0) {
+                skipped = true;
+            }
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            WritableByteChannel target = Channels.newChannel(out);
+            long transferred = 0;
+            while (position < end) {
+                long n = channel.transferTo(position, end - position, target);
+                if (n <= 0) {
+                    break;
+                }
+                position += n;
+                transferred += n;
+            }
+            return transferred;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
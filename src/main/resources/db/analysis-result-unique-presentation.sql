@@ -0,0 +1,54 @@
+-- 분석 결과 행을 presentation_id 당 하나로 정리하고 유니크 제약을 추가 (MySQL)
+--
+-- 결과 저장이 presentation_id 기준 upsert(INSERT ... ON DUPLICATE KEY UPDATE)로 바뀌면서
+-- voice_analysis / stt_result / presentation_feedback 에 presentation_id 유니크 인덱스가 필요합니다.
+-- 중복 행이 이미 있으면 ddl-auto: update 가 제약 추가에 실패하고(경고만 남김) upsert가 행을 계속 추가하므로,
+-- 배포 전에 이 스크립트를 한 번 실행합니다. 인덱스가 없으면 애플리케이션이 시작되지 않습니다 (AnalysisResultSchemaVerifier).
+--
+-- 중복 중에서는 ID가 가장 큰 행 하나를 남깁니다 (행에 생성 시각이 없어 최신 행을 구분할 수 없음).
+-- presentation_id 유니크 인덱스가 이미 있는 테이블에는 추가하지 않으므로 여러 번 실행해도 됩니다.
+
+DELETE va FROM voice_analysis va
+JOIN voice_analysis keep_row
+  ON keep_row.presentation_id = va.presentation_id
+ AND keep_row.voice_analysis_id > va.voice_analysis_id;
+
+DELETE sr FROM stt_result sr
+JOIN stt_result keep_row
+  ON keep_row.presentation_id = sr.presentation_id
+ AND keep_row.stt_result_id > sr.stt_result_id;
+
+DELETE pf FROM presentation_feedback pf
+JOIN presentation_feedback keep_row
+  ON keep_row.presentation_id = pf.presentation_id
+ AND keep_row.feedback_id > pf.feedback_id;
+
+SET @sql = IF(
+  (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'voice_analysis'
+      AND column_name = 'presentation_id' AND non_unique = 0) = 0,
+  'ALTER TABLE voice_analysis ADD CONSTRAINT uk_voice_analysis_presentation UNIQUE (presentation_id)',
+  'SELECT 1');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @sql = IF(
+  (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'stt_result'
+      AND column_name = 'presentation_id' AND non_unique = 0) = 0,
+  'ALTER TABLE stt_result ADD CONSTRAINT uk_stt_result_presentation UNIQUE (presentation_id)',
+  'SELECT 1');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @sql = IF(
+  (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'presentation_feedback'
+      AND column_name = 'presentation_id' AND non_unique = 0) = 0,
+  'ALTER TABLE presentation_feedback ADD CONSTRAINT uk_presentation_feedback_presentation UNIQUE (presentation_id)',
+  'SELECT 1');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
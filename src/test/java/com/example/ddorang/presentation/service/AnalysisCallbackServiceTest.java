@@ -0,0 +1,185 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.common.enums.JobStatus;
+import com.example.ddorang.presentation.entity.VideoAnalysisJob;
+import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 콜백 서명 검증 - 설정(fastapi.callback.*)으로 만든 서비스에 서명된 요청을 보내 확인
+ */
+class AnalysisCallbackServiceTest {
+
+    private static final String SECRET = "test-secret";
+
+    private final VideoAnalysisService videoAnalysisService = mock(VideoAnalysisService.class);
+    private final VideoAnalysisJobRepository videoAnalysisJobRepository = mock(VideoAnalysisJobRepository.class);
+    private final FastApiJobPoller fastApiJobPoller = mock(FastApiJobPoller.class);
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withBean(VideoAnalysisService.class, () -> videoAnalysisService)
+        .withBean(VideoAnalysisJobRepository.class, () -> videoAnalysisJobRepository)
+        .withBean(FastApiJobPoller.class, () -> fastApiJobPoller)
+        .withBean(ObjectMapper.class)
+        .withUserConfiguration(AnalysisCallbackService.class, AnalysisResultParser.class)
+        .withPropertyValues(
+            "fastapi.callback.enabled=true",
+            "fastapi.callback.url=http://spring.internal/api/analysis/callback",
+            "fastapi.callback.secret=" + SECRET,
+            "fastapi.callback.max-skew-seconds=60");
+
+    @Test
+    @DisplayName("올바른 서명이면 결과를 저장한다 (16진수 대소문자 무관)")
+    void acceptsValidSignature() {
+        UUID jobId = UUID.randomUUID();
+        String body = completedBody(jobId);
+        String timestamp = now();
+        when(videoAnalysisJobRepository.findById(jobId)).thenReturn(Optional.of(processing(jobId)));
+        when(fastApiJobPoller.claim(jobId)).thenReturn(true);
+
+        contextRunner.run(context -> {
+            AnalysisCallbackService service = context.getBean(AnalysisCallbackService.class);
+
+            assertThat(service.handleCallback(timestamp, sign(SECRET, timestamp, body), body)).isEqualTo(jobId);
+            service.handleCallback(timestamp, sign(SECRET, timestamp, body).toUpperCase(), body);
+        });
+
+        verify(videoAnalysisService, times(2)).completeJob(eq(jobId), any());
+    }
+
+    @Test
+    @DisplayName("오류 콜백은 작업을 실패로 처리한다")
+    void marksErrorCallbackAsFailed() {
+        UUID jobId = UUID.randomUUID();
+        String body = "{\"status\":\"error\",\"client_job_id\":\"" + jobId + "\",\"error\":\"디코딩 실패\"}";
+        String timestamp = now();
+        when(videoAnalysisJobRepository.findById(jobId)).thenReturn(Optional.of(processing(jobId)));
+        when(fastApiJobPoller.claim(jobId)).thenReturn(true);
+
+        contextRunner.run(context -> context.getBean(AnalysisCallbackService.class)
+            .handleCallback(timestamp, sign(SECRET, timestamp, body), body));
+
+        verify(videoAnalysisService).markJobAsFailed(eq(jobId), startsWith("FastAPI 분석 오류: 디코딩 실패"));
+    }
+
+    @Test
+    @DisplayName("서명 후 본문이 바뀌거나 다른 비밀키로 서명하면 거부한다")
+    void rejectsForgedRequests() {
+        String timestamp = now();
+        String body = completedBody(UUID.randomUUID());
+        String tampered = completedBody(UUID.randomUUID());
+
+        contextRunner.run(context -> {
+            AnalysisCallbackService service = context.getBean(AnalysisCallbackService.class);
+
+            assertThatThrownBy(() -> service.handleCallback(timestamp, sign(SECRET, timestamp, body), tampered))
+                .isInstanceOf(SecurityException.class);
+            assertThatThrownBy(() -> service.handleCallback(timestamp, sign("other-secret", timestamp, body), body))
+                .isInstanceOf(SecurityException.class);
+        });
+
+        verifyNoInteractions(videoAnalysisService, videoAnalysisJobRepository);
+    }
+
+    @Test
+    @DisplayName("max-skew-seconds를 벗어난 타임스탬프는 재전송으로 보고 거부한다")
+    void rejectsReplayedTimestamp() {
+        String body = completedBody(UUID.randomUUID());
+        String stale = String.valueOf(Instant.now().minusSeconds(61).getEpochSecond());
+        String future = String.valueOf(Instant.now().plusSeconds(61).getEpochSecond());
+
+        contextRunner.run(context -> {
+            AnalysisCallbackService service = context.getBean(AnalysisCallbackService.class);
+
+            // 서명 자체는 올바르더라도 타임스탬프가 오래되면 거부
+            assertThatThrownBy(() -> service.handleCallback(stale, sign(SECRET, stale, body), body))
+                .isInstanceOf(SecurityException.class);
+            assertThatThrownBy(() -> service.handleCallback(future, sign(SECRET, future, body), body))
+                .isInstanceOf(SecurityException.class);
+        });
+
+        verifyNoInteractions(videoAnalysisService);
+    }
+
+    @Test
+    @DisplayName("서명이나 타임스탬프가 없거나 형식이 잘못되면 거부한다")
+    void rejectsMalformedHeaders() {
+        String body = completedBody(UUID.randomUUID());
+        String timestamp = now();
+        String signature = sign(SECRET, timestamp, body);
+
+        contextRunner.run(context -> {
+            AnalysisCallbackService service = context.getBean(AnalysisCallbackService.class);
+
+            assertThatThrownBy(() -> service.handleCallback(null, signature, body)).isInstanceOf(SecurityException.class);
+            assertThatThrownBy(() -> service.handleCallback(timestamp, null, body)).isInstanceOf(SecurityException.class);
+            assertThatThrownBy(() -> service.handleCallback("yesterday", signature, body)).isInstanceOf(SecurityException.class);
+            assertThatThrownBy(() -> service.handleCallback(timestamp, "not-hex", body)).isInstanceOf(SecurityException.class);
+        });
+    }
+
+    @Test
+    @DisplayName("비밀키가 설정되지 않으면 콜백을 받지 않는다")
+    void rejectsWithoutSecret() {
+        String body = completedBody(UUID.randomUUID());
+        String timestamp = now();
+
+        contextRunner.withPropertyValues("fastapi.callback.secret=").run(context -> {
+            AnalysisCallbackService service = context.getBean(AnalysisCallbackService.class);
+
+            assertThat(service.isEnabled()).isFalse();
+            assertThatThrownBy(() -> service.handleCallback(timestamp, sign(SECRET, timestamp, body), body))
+                .isInstanceOf(SecurityException.class);
+        });
+
+        verify(videoAnalysisService, never()).completeJob(any(), any());
+    }
+
+    private static VideoAnalysisJob processing(UUID jobId) {
+        return VideoAnalysisJob.builder().id(jobId).status(JobStatus.PROCESSING).build();
+    }
+
+    private static String completedBody(UUID jobId) {
+        return "{\"status\":\"completed\",\"job_id\":\"fastapi-1\",\"client_job_id\":\"" + jobId + "\","
+            + "\"result\":{\"intensity_grade\":\"보통\",\"transcription\":\"안녕하세요\"}}";
+    }
+
+    private static String now() {
+        return String.valueOf(Instant.now().getEpochSecond());
+    }
+
+    // FastAPI 쪽 서명 방식: HMAC-SHA256(secret, "{timestamp}.{body}") 16진수
+    private static String sign(String secret, String timestamp, String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal((timestamp + "." + body).getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.common.enums.JobStatus;
+import com.example.ddorang.presentation.entity.VideoAnalysisJob;
+import com.example.ddorang.presentation.repository.VideoAnalysisJobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 분석 소요 시간 예측 - fastapi.eta.* 설정으로 만든 예측기에 완료 작업을 학습시켜 초/MB와 예상 완료 시각 확인
+ * 처리 시간은 배정 시각(dispatchedAt)부터 재며 대기열에서 기다린 시간은 포함하지 않음
+ */
+class AnalysisEtaEstimatorTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    private final VideoAnalysisJobRepository videoAnalysisJobRepository = mock(VideoAnalysisJobRepository.class);
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withBean(VideoAnalysisJobRepository.class, () -> videoAnalysisJobRepository)
+        .withUserConfiguration(AnalysisEtaEstimator.class)
+        .withPropertyValues("fastapi.eta.default-seconds-per-mb=3.0", "fastapi.eta.smoothing=0.2");
+
+    @Test
+    @DisplayName("학습 이력이 없으면 default-seconds-per-mb로 예측한다")
+    void usesConfiguredDefault() {
+        contextRunner.run(context -> {
+            AnalysisEtaEstimator estimator = context.getBean(AnalysisEtaEstimator.class);
+
+            assertThat(estimator.currentSecondsPerMb()).isEqualTo(3.0);
+            assertThat(estimator.estimateCompletion(job(100 * MB, START, null))).isEqualTo(START.plusSeconds(300));
+        });
+    }
+
+    @Test
+    @DisplayName("첫 표본은 그대로, 이후 표본은 smoothing 가중치의 지수 이동 평균으로 반영한다")
+    void appliesEwma() {
+        contextRunner.run(context -> {
+            AnalysisEtaEstimator estimator = context.getBean(AnalysisEtaEstimator.class);
+
+            estimator.record(completed(100 * MB, Duration.ofSeconds(100)));   // 1.0초/MB
+            assertThat(estimator.currentSecondsPerMb()).isCloseTo(1.0, within(1e-9));
+
+            estimator.record(completed(100 * MB, Duration.ofSeconds(600)));   // 6.0초/MB
+            assertThat(estimator.currentSecondsPerMb()).isCloseTo(0.2 * 6.0 + 0.8 * 1.0, within(1e-9));
+        });
+
+        contextRunner.withPropertyValues("fastapi.eta.smoothing=0.5").run(context -> {
+            AnalysisEtaEstimator estimator = context.getBean(AnalysisEtaEstimator.class);
+
+            estimator.record(completed(100 * MB, Duration.ofSeconds(100)));
+            estimator.record(completed(100 * MB, Duration.ofSeconds(600)));
+            assertThat(estimator.currentSecondsPerMb()).isCloseTo(3.5, within(1e-9));
+        });
+    }
+
+    @Test
+    @DisplayName("대기열에서 기다린 시간은 학습에서 제외한다")
+    void excludesQueueWait() {
+        contextRunner.run(context -> {
+            AnalysisEtaEstimator estimator = context.getBean(AnalysisEtaEstimator.class);
+            VideoAnalysisJob job = completed(100 * MB, Duration.ofSeconds(100));
+            job.setCreatedAt(START.minusHours(1));
+
+            estimator.record(job);
+
+            assertThat(estimator.currentSecondsPerMb()).isCloseTo(1.0, within(1e-9));
+        });
+    }
+
+    @Test
+    @DisplayName("1MB 미만이거나 소요 시간이 0 이하이거나 배정/완료 시각을 모르는 작업은 학습하지 않는다")
+    void skipsUnusableSamples() {
+        contextRunner.run(context -> {
+            AnalysisEtaEstimator estimator = context.getBean(AnalysisEtaEstimator.class);
+
+            estimator.record(completed(MB / 2, Duration.ofSeconds(100)));
+            estimator.record(completed(100 * MB, Duration.ZERO));
+            estimator.record(completed(100 * MB, Duration.ofSeconds(-5)));
+            estimator.record(job(null, START, START.plusSeconds(10)));
+            estimator.record(job(100 * MB, null, START.plusSeconds(10)));
+            estimator.record(job(100 * MB, START, null));
+
+            assertThat(estimator.currentSecondsPerMb()).isEqualTo(3.0);
+        });
+    }
+
+    @Test
+    @DisplayName("대기 중인 작업은 예상 시작 시각을 기준으로 예상 완료 시각을 낸다")
+    void estimatesQueuedJobFromStartAt() {
+        contextRunner.run(context -> {
+            AnalysisEtaEstimator estimator = context.getBean(AnalysisEtaEstimator.class);
+            estimator.record(completed(100 * MB, Duration.ofSeconds(200)));   // 2.0초/MB
+
+            VideoAnalysisJob queued = job(30 * MB, null, null);
+            LocalDateTime startAt = START.plusMinutes(5);
+
+            assertThat(estimator.expectedDuration(queued)).isEqualTo(Duration.ofSeconds(60));
+            assertThat(estimator.estimateCompletion(queued)).isNull();
+            assertThat(estimator.estimateCompletion(queued, startAt)).isEqualTo(startAt.plusSeconds(60));
+        });
+    }
+
+    @Test
+    @DisplayName("파일 크기를 모르면 예상 완료 시각을 내지 않는다")
+    void noEstimateWithoutFileSize() {
+        contextRunner.run(context -> {
+            AnalysisEtaEstimator estimator = context.getBean(AnalysisEtaEstimator.class);
+            VideoAnalysisJob job = job(null, START, null);
+
+            assertThat(estimator.expectedDuration(job)).isNull();
+            assertThat(estimator.estimateCompletion(job)).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("시작 시 최근 완료 작업을 오래된 순서로 학습해 최근 값에 가깝게 만든다")
+    void warmUpReplaysOldestFirst() {
+        // 저장소는 최근 완료 순으로 반환
+        when(videoAnalysisJobRepository.findTop50ByStatusAndCompletedAtIsNotNullOrderByCompletedAtDesc(JobStatus.COMPLETED))
+            .thenReturn(List.of(
+                completed(100 * MB, Duration.ofSeconds(600)),    // 최근 6.0초/MB
+                completed(100 * MB, Duration.ofSeconds(100))));  // 과거 1.0초/MB
+
+        contextRunner.run(context -> {
+            AnalysisEtaEstimator estimator = context.getBean(AnalysisEtaEstimator.class);
+
+            estimator.warmUp();
+
+            assertThat(estimator.currentSecondsPerMb()).isCloseTo(0.2 * 6.0 + 0.8 * 1.0, within(1e-9));
+        });
+    }
+
+    private static VideoAnalysisJob completed(long fileSize, Duration elapsed) {
+        return job(fileSize, START, START.plus(elapsed));
+    }
+
+    private static VideoAnalysisJob job(Long fileSize, LocalDateTime dispatchedAt, LocalDateTime completedAt) {
+        return VideoAnalysisJob.builder()
+            .fileSize(fileSize)
+            .status(completedAt != null ? JobStatus.COMPLETED : JobStatus.PROCESSING)
+            .createdAt(START.minusMinutes(10))
+            .dispatchedAt(dispatchedAt)
+            .completedAt(completedAt)
+            .build();
+    }
+}
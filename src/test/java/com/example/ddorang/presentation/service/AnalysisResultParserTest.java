@@ -0,0 +1,182 @@
+package com.example.ddorang.presentation.service;
+
+import com.example.ddorang.presentation.dto.AnalysisResultPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisResultParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AnalysisResultParser parser = new AnalysisResultParser(objectMapper);
+
+    @Test
+    @DisplayName("결과 조회 응답의 상태, 작업 ID, 결과 값을 읽는다")
+    void parsesEnvelope() throws IOException {
+        String body = "{\"status\":\"completed\",\"job_id\":\"fastapi-1\",\"client_job_id\":\"spring-1\","
+            + "\"extra\":{\"ignored\":[1,2]},"
+            + "\"result\":{\"intensity_grade\":\"보통\",\"intensity_db\":65.5,\"pitch_avg\":\"150.2\","
+            + "\"wpm_avg\":120,\"transcription\":\"안녕하세요\",\"video_path\":\"videos/a.mp4\"}}";
+
+        AnalysisResultParser.Envelope envelope = parser.parseEnvelope(
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(envelope.status()).isEqualTo("completed");
+        assertThat(envelope.jobId()).isEqualTo("fastapi-1");
+        assertThat(envelope.clientJobId()).isEqualTo("spring-1");
+        assertThat(envelope.error()).isNull();
+
+        AnalysisResultPayload result = envelope.result();
+        assertThat(result.isEmpty()).isFalse();
+        assertThat(result.getVideoPath()).isEqualTo("videos/a.mp4");
+        assertThat(result.getVoiceAnalysis().getIntensityGrade()).isEqualTo("보통");
+        assertThat(result.getVoiceAnalysis().getIntensityDb()).isEqualTo(65.5f);
+        assertThat(result.getVoiceAnalysis().getPitchAvg()).isEqualTo(150.2f);
+        assertThat(result.getVoiceAnalysis().getWpmAvg()).isEqualTo(120f);
+        assertThat(result.getSttResult().getTranscription()).isEqualTo("안녕하세요");
+    }
+
+    @Test
+    @DisplayName("result 안에 result가 있으면 안쪽 값을 사용하고, 영상 경로는 안쪽에 없을 때 바깥 값을 사용한다")
+    void usesNestedResult() throws IOException {
+        String body = "{\"status\":\"completed\",\"result\":{\"video_path\":\"videos/outer.mp4\","
+            + "\"intensity_grade\":\"바깥\","
+            + "\"result\":{\"intensity_grade\":\"안쪽\",\"wpm_grade\":\"좋음\"}}}";
+
+        AnalysisResultPayload result = parser.parseEnvelope(body).result();
+
+        assertThat(result.getVoiceAnalysis().getIntensityGrade()).isEqualTo("안쪽");
+        assertThat(result.getVoiceAnalysis().getWpmGrade()).isEqualTo("좋음");
+        assertThat(result.getVideoPath()).isEqualTo("videos/outer.mp4");
+
+        String innerPath = "{\"result\":{\"video_path\":\"videos/outer.mp4\","
+            + "\"result\":{\"video_path\":\"videos/inner.mp4\"}}}";
+        assertThat(parser.parseEnvelope(innerPath).result().getVideoPath()).isEqualTo("videos/inner.mp4");
+    }
+
+    @Test
+    @DisplayName("pronunciation 필드의 오타(pronounciation_*)도 읽는다")
+    void readsMisspelledPronunciationFields() throws IOException {
+        String body = "{\"result\":{\"pronounciation_score\":0.75,\"pronounciation_grade\":\"B\","
+            + "\"pronounciation_text\":\"안정적\"}}";
+
+        AnalysisResultPayload result = parser.parseEnvelope(body).result();
+
+        assertThat(result.getSttResult().getPronunciationScore()).isEqualTo(0.75f);
+        assertThat(result.getSttResult().getPronunciationGrade()).isEqualTo("B");
+        assertThat(result.getSttResult().getPronunciationComment()).isEqualTo("안정적");
+    }
+
+    @Test
+    @DisplayName("올바른 철자와 오타가 함께 있으면 올바른 철자를 우선한다")
+    void prefersCorrectSpelling() throws IOException {
+        String body = "{\"result\":{\"pronounciation_score\":0.1,\"pronunciation_score\":0.9,"
+            + "\"pronounciation_grade\":\"F\",\"pronunciation_grade\":\"A\","
+            + "\"pronounciation_text\":\"오타\",\"pronunciation_text\":\"텍스트\",\"pronunciation_comment\":\"코멘트\"}}";
+
+        AnalysisResultPayload result = parser.parseEnvelope(body).result();
+
+        assertThat(result.getSttResult().getPronunciationScore()).isEqualTo(0.9f);
+        assertThat(result.getSttResult().getPronunciationGrade()).isEqualTo("A");
+        assertThat(result.getSttResult().getPronunciationComment()).isEqualTo("코멘트");
+    }
+
+    @Test
+    @DisplayName("anxiety_grade가 없으면 anxiety_analysis의 grade를 사용한다")
+    void readsAnxietyGradeFromAnalysis() throws IOException {
+        AnalysisResultPayload fromObject = parser.parseEnvelope(
+            "{\"result\":{\"anxiety_analysis\":{\"ratio\":0.1,\"grade\":\"C\"}}}").result();
+        AnalysisResultPayload direct = parser.parseEnvelope(
+            "{\"result\":{\"anxiety_analysis\":{\"grade\":\"C\"},\"anxiety_grade\":\"B\"}}").result();
+
+        assertThat(fromObject.getVoiceAnalysis().getAnxietyGrade()).isEqualTo("C");
+        assertThat(direct.getVoiceAnalysis().getAnxietyGrade()).isEqualTo("B");
+    }
+
+    @Test
+    @DisplayName("피드백 목록은 원문 그대로 복사하고, 피드백이 없으면 빈 목록을 사용한다")
+    void copiesFeedbackSubtrees() throws IOException {
+        String body = "{\"result\":{\"feedback\":{\"frequent_words\":[{\"word\":\"음\",\"count\":3}],"
+            + "\"awkward_sentences\":[],\"difficulty_issues\":[\"속도\"]},"
+            + "\"predicted_questions\":[\"질문1\",\"질문2\"]}}";
+
+        AnalysisResultPayload result = parser.parseEnvelope(body).result();
+
+        assertThat(result.getFeedback().getFrequentWords()).isEqualTo("[{\"word\":\"음\",\"count\":3}]");
+        assertThat(result.getFeedback().getAwkwardSentences()).isEqualTo("[]");
+        assertThat(result.getFeedback().getDifficultyIssues()).isEqualTo("[\"속도\"]");
+        assertThat(result.getFeedback().getPredictedQuestions()).isEqualTo("[\"질문1\",\"질문2\"]");
+
+        AnalysisResultPayload withoutFeedback = parser.parseEnvelope("{\"result\":{\"wpm_grade\":\"좋음\"}}").result();
+        assertThat(withoutFeedback.getFeedback().getFrequentWords()).isEqualTo("[]");
+        assertThat(withoutFeedback.getFeedback().getPredictedQuestions()).isNull();
+    }
+
+    @Test
+    @DisplayName("원문에는 건너뛴 필드와 중첩 result까지 result 객체 전체가 그대로 남는다")
+    void preservesRawJson() throws IOException {
+        String result = "{\"unknown\":{\"deep\":[1,{\"x\":null}],\"flag\":true},\"intensity_db\":\"abc\","
+            + "\"feedback\":{\"frequent_words\":[],\"other\":{\"a\":1}},"
+            + "\"result\":{\"wpm_avg\":1.5}}";
+
+        AnalysisResultPayload payload = parser.parseEnvelope("{\"status\":\"completed\",\"result\":" + result + "}").result();
+
+        assertThat(payload.getRawJson()).isEqualTo(result);
+        assertThat(payload.getVoiceAnalysis().getWpmAvg()).isEqualTo(1.5f);
+    }
+
+    @Test
+    @DisplayName("숫자로 바꿀 수 없는 값은 null로 둔다")
+    void ignoresInvalidNumbers() throws IOException {
+        AnalysisResultPayload result = parser.parseEnvelope(
+            "{\"result\":{\"intensity_db\":\"abc\",\"pitch_avg\":{\"v\":1},\"wpm_avg\":null}}").result();
+
+        assertThat(result.getVoiceAnalysis().getIntensityDb()).isNull();
+        assertThat(result.getVoiceAnalysis().getPitchAvg()).isNull();
+        assertThat(result.getVoiceAnalysis().getWpmAvg()).isNull();
+    }
+
+    @Test
+    @DisplayName("빈 result 객체는 비어 있음으로 표시하고, result가 객체가 아니면 결과 없음으로 본다")
+    void handlesEmptyAndMissingResult() throws IOException {
+        assertThat(parser.parseEnvelope("{\"status\":\"completed\",\"result\":{}}").result().isEmpty()).isTrue();
+        assertThat(parser.parseEnvelope("{\"status\":\"processing\",\"result\":null}").result()).isNull();
+        assertThat(parser.parseEnvelope("{\"status\":\"error\",\"error\":\"실패\"}").error()).isEqualTo("실패");
+    }
+
+    @Test
+    @DisplayName("JSON 객체가 아닌 응답은 오류로 처리한다")
+    void rejectsNonObject() {
+        assertThatThrownBy(() -> parser.parseEnvelope("[1,2]")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Map으로 받은 결과도 같은 규칙으로 읽는다")
+    void parsesResultMap() throws IOException {
+        Map<String, Object> inner = new LinkedHashMap<>();
+        inner.put("pronounciation_score", 0.5);
+        inner.put("pronounciation_grade", "C");
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("video_path", "videos/b.mp4");
+        map.put("predicted_questions", List.of("질문"));
+        map.put("result", inner);
+
+        AnalysisResultPayload result = parser.parseResult(map);
+
+        assertThat(result.getVideoPath()).isEqualTo("videos/b.mp4");
+        assertThat(result.getSttResult().getPronunciationScore()).isEqualTo(0.5f);
+        assertThat(result.getSttResult().getPronunciationGrade()).isEqualTo("C");
+        assertThat(objectMapper.readTree(result.getRawJson())).isEqualTo(objectMapper.valueToTree(map));
+        assertThat(parser.parseResult(null)).isNull();
+    }
+}
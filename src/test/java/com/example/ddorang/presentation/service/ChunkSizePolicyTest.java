@@ -0,0 +1,138 @@
+package com.example.ddorang.presentation.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 청크 크기 결정 - fastapi.upload.chunk.* 설정으로 만든 정책에 전송 속도를 반영하며 선택된 크기 확인
+ */
+class ChunkSizePolicyTest {
+
+    private static final long MB = 1024 * 1024;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+        .withUserConfiguration(ChunkSizePolicy.class)
+        .withPropertyValues(
+            "fastapi.upload.chunk.default-size-mb=50",
+            "fastapi.upload.chunk.min-size-mb=8",
+            "fastapi.upload.chunk.max-size-mb=100",
+            "fastapi.upload.chunk.single-chunk-max-mb=20",
+            "fastapi.upload.chunk.max-chunks=200",
+            "fastapi.upload.chunk.target-chunk-seconds=15",
+            "fastapi.upload.chunk.smoothing=0.3");
+
+    @Test
+    @DisplayName("single-chunk-max 이하 파일은 나누지 않는다")
+    void sendsSmallFileAsSingleChunk() {
+        contextRunner.run(context -> {
+            ChunkSizePolicy policy = context.getBean(ChunkSizePolicy.class);
+
+            assertThat(policy.chooseChunkSize(20 * MB)).isEqualTo(20 * MB);
+            assertThat(policy.chooseChunkSize(123)).isEqualTo(123);
+            assertThat(policy.chooseChunkSize(0)).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("전송 속도 측정 전에는 기본 크기를 쓰고, 파일보다 크면 파일 크기로 줄인다")
+    void usesDefaultBeforeMeasurement() {
+        contextRunner.run(context -> {
+            ChunkSizePolicy policy = context.getBean(ChunkSizePolicy.class);
+
+            assertThat(policy.currentThroughputMbps()).isNaN();
+            assertThat(policy.chooseChunkSize(1000 * MB)).isEqualTo(50 * MB);
+            assertThat(policy.chooseChunkSize(30 * MB)).isEqualTo(30 * MB);
+        });
+    }
+
+    @Test
+    @DisplayName("전송 속도 × target-chunk-seconds로 정하고 1MB 단위로 내린다")
+    void sizesFromThroughput() {
+        contextRunner.run(context -> {
+            ChunkSizePolicy policy = context.getBean(ChunkSizePolicy.class);
+
+            policy.recordTransfer(5 * MB, 2000);     // 2.5MB/s × 15초 = 37.5MB
+
+            assertThat(policy.chooseChunkSize(1000 * MB)).isEqualTo(37 * MB);
+        });
+
+        contextRunner.withPropertyValues("fastapi.upload.chunk.target-chunk-seconds=4").run(context -> {
+            ChunkSizePolicy policy = context.getBean(ChunkSizePolicy.class);
+
+            policy.recordTransfer(5 * MB, 1000);     // 5MB/s × 4초 = 20MB
+
+            assertThat(policy.chooseChunkSize(1000 * MB)).isEqualTo(20 * MB);
+        });
+    }
+
+    @Test
+    @DisplayName("결과는 min-size ~ max-size 범위로 제한한다")
+    void clampsToRange() {
+        contextRunner.run(context -> {
+            ChunkSizePolicy slow = context.getBean(ChunkSizePolicy.class);
+            slow.recordTransfer(2 * MB, 20_000);     // 0.1MB/s → 1.5MB
+
+            assertThat(slow.chooseChunkSize(1000 * MB)).isEqualTo(8 * MB);
+        });
+
+        contextRunner.run(context -> {
+            ChunkSizePolicy fast = context.getBean(ChunkSizePolicy.class);
+            fast.recordTransfer(100 * MB, 1000);     // 100MB/s → 1500MB
+
+            assertThat(fast.chooseChunkSize(1000 * MB)).isEqualTo(100 * MB);
+        });
+    }
+
+    @Test
+    @DisplayName("청크 수가 max-chunks를 넘지 않도록 크기를 키운다")
+    void growsToRespectMaxChunks() {
+        contextRunner.run(context -> {
+            ChunkSizePolicy policy = context.getBean(ChunkSizePolicy.class);
+            policy.recordTransfer(2 * MB, 2000);     // 1MB/s → 15MB
+
+            long size = policy.chooseChunkSize(10_000 * MB);
+
+            assertThat(size).isEqualTo(50 * MB);
+            assertThat((10_000 * MB + size - 1) / size).isLessThanOrEqualTo(200);
+        });
+    }
+
+    @Test
+    @DisplayName("전송 속도는 지수 이동 평균으로 반영하고 1MB 미만 청크나 잘못된 시간은 제외한다")
+    void smoothsThroughput() {
+        contextRunner.run(context -> {
+            ChunkSizePolicy policy = context.getBean(ChunkSizePolicy.class);
+
+            policy.recordTransfer(10 * MB, 1000);    // 10MB/s
+            policy.recordTransfer(20 * MB, 1000);    // 20MB/s
+            assertThat(policy.currentThroughputMbps()).isCloseTo(0.3 * 20 + 0.7 * 10, within(1e-9));
+
+            policy.recordTransfer(MB / 2, 1);
+            policy.recordTransfer(10 * MB, 0);
+            assertThat(policy.currentThroughputMbps()).isCloseTo(13.0, within(1e-9));
+        });
+    }
+
+    @Test
+    @DisplayName("선택된 크기와 전송 속도를 메트릭으로 노출한다")
+    void publishesMetrics() {
+        contextRunner.run(context -> {
+            ChunkSizePolicy policy = context.getBean(ChunkSizePolicy.class);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+            policy.recordTransfer(10 * MB, 1000);
+            policy.chooseChunkSize(10 * MB);
+            policy.chooseChunkSize(1000 * MB);
+
+            assertThat(meterRegistry.get("fastapi.upload.chunk.size").summary().count()).isEqualTo(2);
+            assertThat(meterRegistry.get("fastapi.upload.throughput").gauge().value()).isEqualTo(10.0);
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.ddorang.presentation.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FastApiEndpointPoolTest {
+
+    private static final String A = "http://fastapi-a:8000";
+    private static final String B = "http://fastapi-b:8000";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("인스턴스 목록이 없으면 base-url 하나만 사용하고 끝의 /는 제거한다")
+    void fallsBackToBaseUrl() {
+        FastApiEndpointPool pool = new FastApiEndpointPool(meterRegistry, "http://localhost:8000/", " , ", 3, 30);
+
+        assertThat(pool.defaultEndpoint()).isEqualTo("http://localhost:8000");
+        assertThat(pool.select()).isEqualTo("http://localhost:8000");
+    }
+
+    @Test
+    @DisplayName("진행 중 요청이 가장 적은 인스턴스를 선택한다")
+    void selectsLeastOutstanding() {
+        FastApiEndpointPool pool = pool(3, 30);
+
+        String selectedWhileABusy = pool.execute(A, pool::select);
+        String selectedWhileBBusy = pool.execute(B + "/", pool::select);
+
+        assertThat(selectedWhileABusy).isEqualTo(B);
+        assertThat(selectedWhileBBusy).isEqualTo(A);
+        assertThat(meterRegistry.get("fastapi.endpoint.outstanding").tag("endpoint", A).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("진행 중 요청 수가 같으면 두 인스턴스 모두 선택된다")
+    void spreadsTies() {
+        FastApiEndpointPool pool = pool(3, 30);
+
+        Set<String> selected = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            selected.add(pool.select());
+        }
+
+        assertThat(selected).containsExactlyInAnyOrder(A, B);
+    }
+
+    @Test
+    @DisplayName("연속 실패가 기준에 도달하면 제외하고 선택 대상에서 뺀다")
+    void ejectsAfterConsecutiveFailures() {
+        FastApiEndpointPool pool = pool(3, 30);
+
+        fail(pool, A, 2);
+        assertThat(pool.isEjected(A)).isFalse();
+
+        fail(pool, A, 1);
+        assertThat(pool.isEjected(A)).isTrue();
+        assertThat(pool.isAvailable(A)).isFalse();
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.select()).isEqualTo(B);
+        }
+        assertThat(meterRegistry.get("fastapi.endpoint.ejections").tag("endpoint", A).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("fastapi.endpoint.healthy").tag("endpoint", A).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("성공하면 연속 실패 횟수를 초기화한다")
+    void successResetsFailures() {
+        FastApiEndpointPool pool = pool(3, 30);
+
+        fail(pool, A, 2);
+        pool.execute(A, () -> "ok");
+        fail(pool, A, 2);
+
+        assertThat(pool.isEjected(A)).isFalse();
+    }
+
+    @Test
+    @DisplayName("4xx 응답은 인스턴스 장애로 보지 않는다")
+    void ignoresClientErrors() {
+        FastApiEndpointPool pool = pool(1, 30);
+
+        assertThatThrownBy(() -> pool.execute(A, () -> {
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+        })).isInstanceOf(HttpClientErrorException.class);
+
+        assertThat(pool.isEjected(A)).isFalse();
+    }
+
+    @Test
+    @DisplayName("비동기 호출의 5xx 응답도 연속 실패로 집계한다")
+    void countsAsyncServerErrors() {
+        FastApiEndpointPool pool = pool(1, 30);
+
+        Mono<String> call = Mono.error(WebClientResponseException.create(
+            HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", null, null, null));
+        pool.execute(A, call).onErrorResume(e -> Mono.empty()).block();
+
+        assertThat(pool.isEjected(A)).isTrue();
+        assertThat(meterRegistry.get("fastapi.endpoint.outstanding").tag("endpoint", A).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("모든 인스턴스가 제외되면 전체를 대상으로 선택한다")
+    void selectsFromAllWhenAllEjected() {
+        FastApiEndpointPool pool = pool(1, 30);
+
+        fail(pool, A, 1);
+        fail(pool, B, 1);
+
+        assertThat(pool.select()).isIn(A, B);
+    }
+
+    @Test
+    @DisplayName("제외 기간이 지나면 다시 선택 대상이 된다")
+    void readmitsAfterEjectionPeriod() {
+        FastApiEndpointPool pool = pool(1, 0);
+
+        fail(pool, A, 1);
+
+        assertThat(pool.isEjected(A)).isFalse();
+        assertThat(pool.isAvailable(A)).isTrue();
+    }
+
+    @Test
+    @DisplayName("설정에서 빠진 인스턴스도 호출은 가능하지만 선택 대상은 아니다")
+    void callsUnknownEndpointWithoutSelectingIt() {
+        FastApiEndpointPool pool = pool(3, 30);
+        String removed = "http://fastapi-old:8000";
+
+        assertThat(pool.execute(removed, () -> "ok")).isEqualTo("ok");
+
+        assertThat(pool.isAvailable(removed)).isFalse();
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.select()).isIn(A, B);
+        }
+    }
+
+    private FastApiEndpointPool pool(int consecutiveFailures, long ejectionSeconds) {
+        return new FastApiEndpointPool(meterRegistry, "http://localhost:8000", A + ", " + B + "/",
+            consecutiveFailures, ejectionSeconds);
+    }
+
+    private static void fail(FastApiEndpointPool pool, String url, int times) {
+        for (int i = 0; i < times; i++) {
+            assertThatThrownBy(() -> pool.execute(url, () -> {
+                throw new ResourceAccessException("connection refused");
+            })).isInstanceOf(ResourceAccessException.class);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.ddorang.presentation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 청크 파이프라인 전송 - 로컬 가짜 /analysis 서버에 1MB 청크 6개를 보내
+ * 도착 순서, 동시 전송 수(pipeline-window), 중간 청크의 job_id, 전체 전송 시간을 확인
+ */
+class VideoChunkServiceTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final int TOTAL_CHUNKS = 6;
+    private static final int WINDOW = 3;
+    private static final String FASTAPI_JOB_ID = "fastapi-job-1";
+
+    // 청크별 응답 지연 (1번 청크를 가장 늦게 끝내 ack가 순서와 다르게 돌아오도록 함)
+    private static final Map<Integer, Long> DELAY_MILLIS = Map.of(0, 50L, 1, 400L, 2, 200L, 3, 200L, 4, 200L, 5, 50L);
+    private static final long SEQUENTIAL_MILLIS = DELAY_MILLIS.values().stream().mapToLong(Long::longValue).sum();
+
+    private static final Pattern FIELD = Pattern.compile(
+        "name=\"([a-z_]+)\"\\r\\n(?:[^\\r\\n]+\\r\\n)*\\r\\n([^\\r\\n]*)\\r\\n");
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private File video;
+
+    private final List<Integer> arrivals = new CopyOnWriteArrayList<>();
+    private final List<Integer> completions = new CopyOnWriteArrayList<>();
+    private final Map<Integer, String> jobIds = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile List<Integer> completedBeforeLast;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws IOException {
+        video = tempDir.resolve("lecture.mp4").toFile();
+        try (RandomAccessFile file = new RandomAccessFile(video, "rw")) {
+            file.setLength(TOTAL_CHUNKS * MB - MB / 2);
+        }
+
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/analysis", this::handleChunk);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("첫 청크 뒤 중간 청크를 window 개까지 동시에 보내고, 마지막 청크는 모든 ack 이후에 보낸다")
+    void pipelinesMiddleChunksWithinWindow() {
+        contextRunner(WINDOW).run(context -> {
+            Map<String, String> videoPath = new HashMap<>();
+
+            long started = System.nanoTime();
+            String jobId = context.getBean(VideoChunkService.class).uploadVideoInChunks(video, Map.of(), videoPath);
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+            assertThat(jobId).isEqualTo(FASTAPI_JOB_ID);
+            assertThat(videoPath).containsEntry("video_path", "stored_videos/lecture.mp4");
+
+            // 도착 순서: 0번이 먼저, 마지막 청크는 중간 청크가 모두 끝난 뒤
+            assertThat(arrivals).hasSize(TOTAL_CHUNKS);
+            assertThat(arrivals.get(0)).isZero();
+            assertThat(arrivals.get(TOTAL_CHUNKS - 1)).isEqualTo(TOTAL_CHUNKS - 1);
+            assertThat(completedBeforeLast).containsExactlyInAnyOrder(0, 1, 2, 3, 4);
+
+            // 1번이 가장 늦게 끝나도 다른 중간 청크는 기다리지 않음
+            assertThat(completions.indexOf(1)).isGreaterThan(completions.indexOf(2));
+            assertThat(maxInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(WINDOW);
+
+            // 중간/마지막 청크는 첫 청크가 연 업로드 세션의 job_id와 함께 전송
+            assertThat(jobIds).doesNotContainKey(0);
+            for (int i = 1; i < TOTAL_CHUNKS; i++) {
+                assertThat(jobIds).containsEntry(i, FASTAPI_JOB_ID);
+            }
+
+            assertThat(elapsedMillis).isLessThan(SEQUENTIAL_MILLIS);
+        });
+    }
+
+    @Test
+    @DisplayName("window가 1이면 순서대로 하나씩 보내며 응답 지연의 합 이상 걸린다")
+    void sendsSequentiallyWithWindowOfOne() {
+        contextRunner(1).run(context -> {
+            long started = System.nanoTime();
+            String jobId = context.getBean(VideoChunkService.class).uploadVideoInChunks(video, Map.of(), null);
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+            assertThat(jobId).isEqualTo(FASTAPI_JOB_ID);
+            assertThat(arrivals).containsExactly(0, 1, 2, 3, 4, 5);
+            assertThat(maxInFlight.get()).isEqualTo(1);
+            assertThat(elapsedMillis).isGreaterThanOrEqualTo(SEQUENTIAL_MILLIS);
+        });
+    }
+
+    private ApplicationContextRunner contextRunner(int window) {
+        return new ApplicationContextRunner()
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withBean(ObjectMapper.class)
+            .withBean("fastApiUploadRestTemplate", RestTemplate.class, RestTemplate::new)
+            .withBean("chunkUploadExecutor", ThreadPoolTaskExecutor.class, () -> {
+                ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+                executor.setCorePoolSize(WINDOW);
+                return executor;
+            })
+            .withBean(ChunkUploadLedgerService.class, () -> mock(ChunkUploadLedgerService.class))
+            .withBean(AnalysisProgressTracker.class, () -> mock(AnalysisProgressTracker.class))
+            .withBean(AnalysisCancellationService.class, () -> mock(AnalysisCancellationService.class))
+            .withUserConfiguration(VideoChunkService.class, ChunkSizePolicy.class, MemoryPressureGate.class,
+                FastApiCircuitBreakers.class, FastApiEndpointPool.class)
+            .withPropertyValues(
+                "fastapi.endpoints=http://localhost:" + server.getAddress().getPort(),
+                "fastapi.upload.pipeline-window=" + window,
+                // 1MB 청크로 고정
+                "fastapi.upload.chunk.single-chunk-max-mb=0",
+                "fastapi.upload.chunk.default-size-mb=1",
+                "fastapi.upload.chunk.min-size-mb=1",
+                "fastapi.upload.chunk.max-size-mb=1",
+                "fastapi.upload.memory.min-headroom-mb=0");
+    }
+
+    // 가짜 FastAPI /analysis: 본문을 끝까지 읽고 청크별 지연 후 ack
+    private void handleChunk(HttpExchange exchange) throws IOException {
+        Map<String, String> fields;
+        try (InputStream body = exchange.getRequestBody()) {
+            fields = formFields(body.readAllBytes());
+        }
+        int chunkIndex = Integer.parseInt(fields.get("chunk_index"));
+        arrivals.add(chunkIndex);
+        if (fields.containsKey("job_id")) {
+            jobIds.put(chunkIndex, fields.get("job_id"));
+        }
+        if (chunkIndex == TOTAL_CHUNKS - 1) {
+            completedBeforeLast = List.copyOf(completions);
+        }
+
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            Thread.sleep(DELAY_MILLIS.get(chunkIndex));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+
+        String ack = chunkIndex == TOTAL_CHUNKS - 1
+            ? "{\"job_id\":\"" + FASTAPI_JOB_ID + "\",\"save_path\":\"/app/uploads/stored_videos/lecture.mp4\"}"
+            : chunkIndex == 0
+                ? "{\"job_id\":\"" + FASTAPI_JOB_ID + "\",\"status\":\"receiving\"}"
+                : "{\"status\":\"received\",\"chunk_index\":" + chunkIndex + "}";
+        completions.add(chunkIndex);
+
+        byte[] response = ack.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    // 파일 파트를 제외한 한 줄짜리 폼 필드만 추출
+    private static Map<String, String> formFields(byte[] body) {
+        Map<String, String> fields = new HashMap<>();
+        Matcher matcher = FIELD.matcher(new String(body, StandardCharsets.ISO_8859_1));
+        while (matcher.find()) {
+            if (!"video".equals(matcher.group(1))) {
+                fields.put(matcher.group(1), matcher.group(2).replace("\"", ""));
+            }
+        }
+        return fields;
+    }
+}